@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Compare startup time and resident memory of the JVM build and the native image.
+#
+#   ./gradlew bootJar nativeCompile
+#   scripts/compare-startup.sh [runs]
+#
+# For each build, starts the application <runs> times (default 5) on port 18080
+# and records:
+#   - startup: wall time from exec until /actuator/health reports UP
+#   - rss_idle: VmRSS right after startup
+#   - rss_load: VmRSS after registering a user and creating/listing 200 todos
+# Rate limiting is switched off for the run so the exercise is not throttled.
+# Linux only (reads /proc/<pid>/status). Prints medians per build.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT"/build/libs/*-SNAPSHOT.jar 2>/dev/null | grep -v plain | head -n 1 || true)"
+NATIVE="$ROOT/build/native/nativeCompile/todoapi"
+PORT=18080
+
+if [[ -z "$JAR" || ! -x "$NATIVE" ]]; then
+    echo "Build both artifacts first: ./gradlew bootJar nativeCompile" >&2
+    exit 1
+fi
+
+now_ms() { date +%s%3N; }
+
+rss_kb() { awk '/^VmRSS:/ { print $2 }' "/proc/$1/status"; }
+
+median() { sort -n | awk '{ a[NR] = $1 } END { print (NR % 2) ? a[(NR + 1) / 2] : int((a[NR / 2] + a[NR / 2 + 1]) / 2) }'; }
+
+exercise() {
+    local base="http://localhost:$PORT" user="bench$RANDOM" token
+    curl -sf -o /dev/null -H 'Content-Type: application/json' \
+        -d "{\"username\":\"$user\",\"email\":\"$user@example.com\",\"password\":\"password123\"}" "$base/auth/register"
+    token=$(curl -sf -H 'Content-Type: application/json' \
+        -d "{\"username\":\"$user\",\"password\":\"password123\"}" "$base/auth/login" \
+        | sed -E 's/.*"token":"([^"]+)".*/\1/')
+    for i in $(seq 1 200); do
+        curl -sf -o /dev/null -H "Authorization: Bearer $token" -H 'Content-Type: application/json' \
+            -d "{\"title\":\"todo $i\"}" "$base/todos"
+    done
+    curl -sf -o /dev/null -H "Authorization: Bearer $token" "$base/todos"
+}
+
+measure() {
+    local name="$1"; shift
+    local startup=() idle=() load=()
+    for run in $(seq 1 "$RUNS"); do
+        local dir; dir=$(mktemp -d)
+        local start; start=$(now_ms)
+        "$@" --server.port=$PORT --todo.archive.dir="$dir" --ratelimit.enabled=false >"$dir/out.log" 2>&1 &
+        local pid=$!
+        until curl -sf "http://localhost:$PORT/actuator/health" | grep -q '"UP"'; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$name exited during startup, see $dir/out.log" >&2
+                exit 1
+            fi
+            sleep 0.01
+        done
+        startup+=($(( $(now_ms) - start )))
+        idle+=($(rss_kb "$pid"))
+        exercise
+        load+=($(rss_kb "$pid"))
+        kill "$pid"; wait "$pid" 2>/dev/null || true
+        rm -rf "$dir"
+    done
+    printf '%-8s %12s %14s %14s\n' "$name" \
+        "$(printf '%s\n' "${startup[@]}" | median)" \
+        "$(( $(printf '%s\n' "${idle[@]}" | median) / 1024 ))" \
+        "$(( $(printf '%s\n' "${load[@]}" | median) / 1024 ))"
+}
+
+printf '%-8s %12s %14s %14s\n' build startup_ms rss_idle_mb rss_load_mb
+measure jvm java -jar "$JAR"
+measure native "$NATIVE"
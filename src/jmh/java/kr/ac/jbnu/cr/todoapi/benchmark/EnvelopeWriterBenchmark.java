@@ -0,0 +1,93 @@
+package kr.ac.jbnu.cr.todoapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kr.ac.jbnu.cr.todoapi.config.EnvelopeHttpMessageConverter;
+import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.Links;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-response cost of building and writing the success and error envelopes:
+ * the previous path (HashMap links, Instant.now().toString(), reflective
+ * ObjectMapper serialization) against the streaming EnvelopeHttpMessageConverter.
+ * Compare gc.alloc.rate.norm (bytes per operation) between the pairs.
+ *
+ * ./gradlew jmh -Pjmh.includes=EnvelopeWriterBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnvelopeWriterBenchmark {
+
+    private static final String REQUEST_ID = "3f1c2a9e-7d4b-4e55-9a61-0c8d2f6b1e77";
+
+    private ObjectMapper objectMapper;
+    private EnvelopeHttpMessageConverter converter;
+    private Todo todo;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        converter = new EnvelopeHttpMessageConverter(objectMapper);
+        LocalDateTime now = LocalDateTime.now();
+        todo = new Todo(42L, "Write the report", "Quarterly numbers", LocalDate.now(), false, now, now, 7L,
+                List.of("work"));
+    }
+
+    @Benchmark
+    public void successReflective() throws Exception {
+        Map<String, String> links = new HashMap<>();
+        links.put("self", "/todos/" + todo.getId());
+        ApiResponse<Todo> response = new ApiResponse<>(todo,
+                new ApiResponse.Meta(REQUEST_ID, Instant.now().toString()), links);
+        objectMapper.writeValue(sink, response);
+    }
+
+    @Benchmark
+    public void successStreaming() throws Exception {
+        converter.write(ApiResponse.success(todo, REQUEST_ID, Links.todo(todo.getId())), sink);
+    }
+
+    @Benchmark
+    public void errorReflective() throws Exception {
+        objectMapper.writeValue(sink, notFound());
+    }
+
+    @Benchmark
+    public void errorStreaming() throws Exception {
+        converter.write(notFound(), sink);
+    }
+
+    private ErrorResponse notFound() {
+        return ErrorResponse.builder()
+                .type("about:blank")
+                .title("Not Found")
+                .status(404)
+                .detail("Todo with id 42 not found.")
+                .instance("/todos/42")
+                .requestId(REQUEST_ID)
+                .build();
+    }
+}
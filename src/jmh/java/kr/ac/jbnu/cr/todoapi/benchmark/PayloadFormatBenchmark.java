@@ -0,0 +1,83 @@
+package kr.ac.jbnu.cr.todoapi.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding cost of a GET /todos response in JSON, CBOR and Smile.
+ * The encoded size of each format is printed once per trial.
+ *
+ * ./gradlew jmh -Pjmh.includes=PayloadFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<ApiResponse<List<Todo>>> RESPONSE_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"100"})
+    public int todoCount;
+
+    private ObjectMapper mapper;
+    private ApiResponse<List<Todo>> response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same mapper configuration as the HTTP message converters
+        mapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor()
+                    .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile()
+                    .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+            default -> Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        };
+
+        List<Todo> todos = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (long i = 1; i <= todoCount; i++) {
+            todos.add(new Todo(i, "Todo number " + i, "Description of todo " + i,
+                    LocalDate.now().plusDays(i % 30), i % 3 == 0, now.minusHours(i), now, i % 10,
+                    List.of("tag" + i % 5)));
+        }
+        response = ApiResponse.success(todos, "3f1c2a9e-7d4b-4e55-9a61-0c8d2f6b1e77", Map.of("self", "/todos"));
+        encoded = mapper.writeValueAsBytes(response);
+
+        System.out.printf("%n[%s] encoded size for %d todos: %d bytes%n", format, todoCount, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Todo>> deserialize() throws Exception {
+        return mapper.readValue(encoded, RESPONSE_TYPE);
+    }
+}
@@ -0,0 +1,55 @@
+package kr.ac.jbnu.cr.todoapi.benchmark;
+
+import kr.ac.jbnu.cr.todoapi.security.TokenRevocationList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost added to each authenticated request by the revocation check, with
+ * the filter holding its expected number of revoked tokens.
+ *
+ * ./gradlew jmh -Pjmh.includes=RevocationCheckBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RevocationCheckBenchmark {
+
+    private static final long LIFETIME = TimeUnit.HOURS.toMillis(1);
+
+    private TokenRevocationList revocations;
+    private String validJti;
+    private String revokedJti;
+    private long issuedAt;
+
+    @Setup
+    public void setUp() {
+        revocations = new TokenRevocationList(LIFETIME, 100_000, 0.001);
+        long expiresAt = System.currentTimeMillis() + LIFETIME;
+        for (int i = 0; i < 100_000; i++) {
+            revocations.revoke(UUID.randomUUID().toString(), expiresAt);
+        }
+        revokedJti = UUID.randomUUID().toString();
+        revocations.revoke(revokedJti, expiresAt);
+        validJti = UUID.randomUUID().toString();
+        issuedAt = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public boolean validToken() {
+        return revocations.isRevoked(validJti, 42L, issuedAt);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return revocations.isRevoked(revokedJti, 42L, issuedAt);
+    }
+}
@@ -0,0 +1,91 @@
+package kr.ac.jbnu.cr.todoapi.benchmark;
+
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.repository.InMemoryTodoRepository;
+import kr.ac.jbnu.cr.todoapi.repository.TagIndex;
+import kr.ac.jbnu.cr.todoapi.repository.TodoFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tag-filtered listings of the in-memory store: bitmap index against a scan
+ * of every todo with the same conditions. Also prints the heap taken by the
+ * bitmaps.
+ *
+ * ./gradlew jmh -Pjmh.includes=TagFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TagFilterBenchmark {
+
+    private static final int TAG_COUNT = 50;
+
+    @Param({"10000", "100000"})
+    public int todoCount;
+
+    private InMemoryTodoRepository repository;
+    private TodoFilter allOfTwo;
+    private TodoFilter anyOfTwo;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryTodoRepository();
+        TagIndex sizing = new TagIndex();
+        LocalDateTime now = LocalDateTime.now();
+        List<Todo> todos = new ArrayList<>(todoCount);
+        for (long i = 1; i <= todoCount; i++) {
+            // Two or three tags per todo, a few of them much more common than the rest
+            List<String> tags = new ArrayList<>();
+            tags.add("tag" + i % 5);
+            tags.add("tag" + i % TAG_COUNT);
+            if (i % 7 == 0) {
+                tags.add("tag" + (i * 31) % TAG_COUNT);
+            }
+            Todo todo = new Todo(i, "Todo number " + i, null, null, i % 3 == 0, now, now, i % 10,
+                    Todo.normalizeTags(tags));
+            todos.add(todo);
+            sizing.add(null, todo);
+        }
+        repository.insertAll(todos);
+        allOfTwo = TodoFilter.parse("tag1,tag11", "all", "false");
+        anyOfTwo = TodoFilter.parse("tag17,tag23", "any", null);
+
+        System.out.printf("%nTag index for %d todos: %d bytes%n", todoCount, sizing.sizeInBytes());
+    }
+
+    @Benchmark
+    public List<Todo> allOfTwoTagsIndexed() {
+        return repository.findAll(null, allOfTwo);
+    }
+
+    @Benchmark
+    public List<Todo> allOfTwoTagsScan() {
+        return scan(allOfTwo);
+    }
+
+    @Benchmark
+    public List<Todo> anyOfTwoTagsIndexed() {
+        return repository.findAll(null, anyOfTwo);
+    }
+
+    @Benchmark
+    public List<Todo> anyOfTwoTagsScan() {
+        return scan(anyOfTwo);
+    }
+
+    private List<Todo> scan(TodoFilter filter) {
+        return repository.findAll(null).stream().filter(filter::matches).toList();
+    }
+}
@@ -0,0 +1,7 @@
+package kr.ac.jbnu.cr.todoapi.loadtest;
+
+/**
+ * A user registered before the run, for the logins in the load mix
+ */
+public record Credentials(String username, String password) {
+}
@@ -0,0 +1,149 @@
+package kr.ac.jbnu.cr.todoapi.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mostly idle clients held open next to the measured load, like long polls or
+ * slow mobile uploads: each one sends the headers of a login request, then
+ * trickles the body one byte per interval, so the request stays in flight
+ * without costing the server any CPU.
+ *
+ * A thread-per-request server parks one worker per connection in a blocking
+ * read; an event-loop server only keeps the socket. On close the rest of each
+ * body is sent and the response status read, to count the requests that
+ * survived the run.
+ */
+final class IdleConnections implements AutoCloseable {
+
+    private static final byte[] BODY = padded(
+            "{\"username\":\"idle-connection\",\"password\":\"idle-connection-password\"}", 1_024);
+
+    private final List<Socket> sockets = new ArrayList<>();
+    private final List<Integer> sent = new ArrayList<>();
+    private final ScheduledExecutorService trickler;
+    private int openFailures;
+
+    private IdleConnections(int port, int count, Duration trickleInterval) {
+        byte[] headers = ("POST /auth/login HTTP/1.1\r\n"
+                + "Host: localhost:" + port + "\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + BODY.length + "\r\n"
+                + "\r\n").getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < count; i++) {
+            try {
+                Socket socket = new Socket();
+                socket.connect(new InetSocketAddress("localhost", port), 5_000);
+                socket.getOutputStream().write(headers);
+                socket.getOutputStream().write(BODY, 0, 1);
+                sockets.add(socket);
+                sent.add(1);
+            } catch (IOException e) {
+                openFailures++;
+            }
+        }
+        trickler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idle-connection-trickler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        trickler.scheduleAtFixedRate(this::trickle, trickleInterval.toMillis(), trickleInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open the connections; returns once all of them have sent their headers
+     */
+    static IdleConnections open(int port, int count, Duration trickleInterval) {
+        return new IdleConnections(port, count, trickleInterval);
+    }
+
+    int opened() {
+        return sockets.size();
+    }
+
+    int openFailures() {
+        return openFailures;
+    }
+
+    /**
+     * Finish every request and count the ones that got an HTTP response
+     * @return number of connections answered with a status line
+     */
+    int finish() {
+        trickler.shutdownNow();
+        try {
+            trickler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int answered = 0;
+        for (int i = 0; i < sockets.size(); i++) {
+            Socket socket = sockets.get(i);
+            try {
+                socket.setSoTimeout(10_000);
+                OutputStream out = socket.getOutputStream();
+                out.write(BODY, sent.get(i), BODY.length - sent.get(i));
+                out.flush();
+                if (readStatusLine(socket.getInputStream()).startsWith("HTTP/1.1 ")) {
+                    answered++;
+                }
+            } catch (IOException e) {
+                // Dropped by the server during the run
+            }
+        }
+        return answered;
+    }
+
+    @Override
+    public void close() {
+        trickler.shutdownNow();
+        for (Socket socket : sockets) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already gone
+            }
+        }
+    }
+
+    private void trickle() {
+        for (int i = 0; i < sockets.size(); i++) {
+            int offset = sent.get(i);
+            // Keep the last byte back so the request never completes on its own
+            if (offset >= BODY.length - 1) {
+                continue;
+            }
+            try {
+                sockets.get(i).getOutputStream().write(BODY, offset, 1);
+                sent.set(i, offset + 1);
+            } catch (IOException e) {
+                // Reported by finish()
+            }
+        }
+    }
+
+    private static String readStatusLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            line.append((char) c);
+        }
+        return line.toString();
+    }
+
+    private static byte[] padded(String json, int length) {
+        // Trailing whitespace after the JSON document is ignored by the parser
+        return (json + " ".repeat(length - json.length())).getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,99 @@
+package kr.ac.jbnu.cr.todoapi.loadtest;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the Todo API events of a flight recording: latency percentiles
+ * per store operation, token verification split by cache hit and miss, and
+ * password checks.
+ *
+ * Run through Gradle: ./gradlew loadTestJfr (records the load test, then summarizes)
+ */
+public class JfrSummary {
+
+    private static final String STORE = "kr.ac.jbnu.cr.todoapi.TodoStore";
+    private static final String TOKEN = "kr.ac.jbnu.cr.todoapi.TokenVerification";
+    private static final String PASSWORD = "kr.ac.jbnu.cr.todoapi.PasswordCheck";
+
+    private static final class Stats {
+        final Histogram micros = new Histogram(3);
+        long items;
+        long flagged;
+
+        void add(RecordedEvent event, long items, boolean flagged) {
+            micros.recordValue(Math.max(0, event.getDuration().toNanos() / 1000));
+            this.items += items;
+            if (flagged) {
+                this.flagged++;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: JfrSummary <recording.jfr>");
+        }
+        Path recording = Path.of(args[0]);
+
+        Map<String, Stats> store = new TreeMap<>();
+        Map<String, Stats> tokens = new TreeMap<>();
+        Stats passwords = new Stats();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                switch (event.getEventType().getName()) {
+                    case STORE -> store.computeIfAbsent(event.getString("operation"), key -> new Stats())
+                            .add(event, event.getInt("resultSize"), false);
+                    case TOKEN -> tokens.computeIfAbsent(event.getBoolean("cacheHit") ? "cache hit" : "cache miss",
+                                    key -> new Stats())
+                            .add(event, 0, !event.getBoolean("valid"));
+                    case PASSWORD -> passwords.add(event, 0, !event.getBoolean("matched"));
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        PrintStream out = System.out;
+        out.printf(Locale.ROOT, "%nTodo API events in %s%n", recording.toAbsolutePath());
+
+        out.printf(Locale.ROOT, "%nStore operations%n%-18s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "p50 us", "p99 us", "max us", "avg size");
+        store.forEach((operation, stats) -> {
+            long count = stats.micros.getTotalCount();
+            out.printf(Locale.ROOT, "%-18s %9d %9d %9d %9d %9.1f%n", operation, count,
+                    stats.micros.getValueAtPercentile(50), stats.micros.getValueAtPercentile(99),
+                    stats.micros.getMaxValue(), count == 0 ? 0.0 : (double) stats.items / count);
+        });
+
+        out.printf(Locale.ROOT, "%nToken verification%n%-18s %9s %9s %9s %9s %9s%n",
+                "path", "count", "p50 us", "p99 us", "max us", "rejected");
+        long verified = 0;
+        for (Map.Entry<String, Stats> entry : tokens.entrySet()) {
+            printRow(out, entry.getKey(), entry.getValue());
+            verified += entry.getValue().micros.getTotalCount();
+        }
+        Stats hits = tokens.get("cache hit");
+        out.printf(Locale.ROOT, "cache hit rate %.1f%%%n",
+                verified == 0 || hits == null ? 0.0 : 100.0 * hits.micros.getTotalCount() / verified);
+
+        out.printf(Locale.ROOT, "%nPassword checks%n%-18s %9s %9s %9s %9s %9s%n",
+                "", "count", "p50 us", "p99 us", "max us", "mismatch");
+        printRow(out, "bcrypt", passwords);
+    }
+
+    private static void printRow(PrintStream out, String label, Stats stats) {
+        out.printf(Locale.ROOT, "%-18s %9d %9d %9d %9d %9d%n", label, stats.micros.getTotalCount(),
+                stats.micros.getValueAtPercentile(50), stats.micros.getValueAtPercentile(99),
+                stats.micros.getMaxValue(), stats.flagged);
+    }
+}
@@ -0,0 +1,170 @@
+package kr.ac.jbnu.cr.todoapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator.
+ *
+ * Arrivals follow a Poisson process at the target rate and are scheduled
+ * independently of response times, so a slow server does not slow the
+ * generator down. Latency is measured from the intended start time of each
+ * request, which keeps the histograms free of coordinated omission.
+ */
+public class LoadGenerator {
+
+    private final TodoApiClient client;
+    private final LoadTestSettings settings;
+    private final List<String> tokens;
+    private final List<Credentials> credentials;
+
+    // Ring of recently created todo ids that reads and updates pick from
+    private final AtomicLongArray knownTodoIds = new AtomicLongArray(8_192);
+    private final AtomicLong knownTodoCount = new AtomicLong();
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final AtomicLong dropped = new AtomicLong();
+
+    public LoadGenerator(TodoApiClient client, LoadTestSettings settings, List<String> tokens,
+                         List<Credentials> credentials, List<Long> seededTodoIds) {
+        this.client = client;
+        this.settings = settings;
+        this.tokens = List.copyOf(tokens);
+        this.credentials = List.copyOf(credentials);
+        seededTodoIds.forEach(this::rememberTodoId);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    /**
+     * Run the warm-up phase, then the measured phase
+     * @return the results of the measured phase only
+     */
+    public LoadTestResult run() throws InterruptedException {
+        drive(settings.warmup().toNanos());
+        resetCounters();
+
+        long startedAt = System.nanoTime();
+        drive(settings.duration().toNanos());
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, recorders.get(operation).getIntervalHistogram());
+            errorCounts.put(operation, errors.get(operation).get());
+        }
+        return new LoadTestResult(settings, histograms, errorCounts, dropped.get(), elapsedNanos);
+    }
+
+    private void drive(long phaseNanos) throws InterruptedException {
+        if (phaseNanos <= 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom();
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.ratePerSecond();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            long end = System.nanoTime() + phaseNanos;
+            long next = System.nanoTime();
+            while (next < end) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                long intendedStart = next;
+                Operation operation = pick(random);
+                if (inFlight.tryAcquire()) {
+                    workers.execute(() -> {
+                        try {
+                            execute(operation, intendedStart);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } else {
+                    // The server is so far behind that the client would have to queue: count it as a failure
+                    dropped.incrementAndGet();
+                }
+
+                next += (long) (-Math.log(1.0 - random.nextDouble()) * meanIntervalNanos);
+            }
+        }
+    }
+
+    private Operation pick(SplittableRandom random) {
+        if (random.nextDouble() < settings.loginRatio()) {
+            return Operation.LOGIN;
+        }
+        boolean read = random.nextDouble() < settings.readRatio();
+        if (read) {
+            return random.nextBoolean() ? Operation.GET_TODO : Operation.LIST_TODOS;
+        }
+        return random.nextInt(4) == 0 ? Operation.UPDATE_TODO : Operation.CREATE_TODO;
+    }
+
+    private void execute(Operation operation, long intendedStart) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = tokens.get(random.nextInt(tokens.size()));
+        boolean ok;
+        try {
+            HttpResponse<String> response = switch (operation) {
+                case LIST_TODOS -> client.listTodos(token);
+                case GET_TODO -> client.getTodo(token, randomTodoId(random));
+                case CREATE_TODO -> client.createTodo(token, "load " + random.nextInt(1_000_000));
+                case UPDATE_TODO -> client.updateTodo(token, randomTodoId(random), "updated " + random.nextInt(1_000_000));
+                case LOGIN -> {
+                    Credentials user = credentials.get(random.nextInt(credentials.size()));
+                    yield client.login(user.username(), user.password());
+                }
+            };
+            ok = response.statusCode() < 400;
+            if (ok && operation == Operation.CREATE_TODO) {
+                rememberTodoId(client.todoId(response));
+            }
+        } catch (Exception e) {
+            ok = false;
+        }
+
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+        recorders.get(operation).recordValue(Math.max(1, latencyMicros));
+        if (!ok) {
+            errors.get(operation).incrementAndGet();
+        }
+    }
+
+    private void rememberTodoId(long id) {
+        long slot = knownTodoCount.getAndIncrement();
+        knownTodoIds.set((int) (slot % knownTodoIds.length()), id);
+    }
+
+    private long randomTodoId(ThreadLocalRandom random) {
+        int filled = (int) Math.min(knownTodoCount.get(), knownTodoIds.length());
+        return knownTodoIds.get(random.nextInt(filled));
+    }
+
+    private void resetCounters() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(counter -> counter.set(0));
+        dropped.set(0);
+    }
+}
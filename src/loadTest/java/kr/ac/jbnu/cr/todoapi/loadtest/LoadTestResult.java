@@ -0,0 +1,100 @@
+package kr.ac.jbnu.cr.todoapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Latency histograms and counters of the measured phase, plus the report output
+ */
+public record LoadTestResult(
+        LoadTestSettings settings,
+        Map<Operation, Histogram> histograms,
+        Map<Operation, Long> errors,
+        long dropped,
+        long elapsedNanos) {
+
+    /**
+     * Merge of all per-operation histograms
+     */
+    public Histogram total() {
+        Histogram total = new Histogram(3);
+        histograms.values().forEach(total::add);
+        return total;
+    }
+
+    public long completed() {
+        return total().getTotalCount();
+    }
+
+    public long errorResponses() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Successful requests per second over the measured phase
+     */
+    public double throughput() {
+        return (completed() - errorResponses()) / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Share of attempted requests that failed or could not be sent
+     */
+    public double errorRate() {
+        long attempted = completed() + dropped;
+        return attempted == 0 ? 0 : (double) (errorResponses() + dropped) / attempted;
+    }
+
+    public double p99Millis() {
+        return total().getValueAtPercentile(99.0) / 1000.0;
+    }
+
+    /**
+     * Print a summary table and write one .hgrm percentile file per operation
+     */
+    public void report(PrintStream out) throws IOException {
+        out.printf(Locale.ROOT, "%nLoad test: target %.0f req/s for %ds, %d users, read ratio %.2f%n",
+                settings.ratePerSecond(), settings.duration().toSeconds(), settings.users(), settings.readRatio());
+        out.printf(Locale.ROOT, "%-18s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Files.createDirectories(settings.reportDir());
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            printRow(out, entry.getKey().label(), entry.getValue(), errors.get(entry.getKey()));
+            writePercentiles(entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue());
+        }
+        Histogram total = total();
+        printRow(out, "total", total, errorResponses());
+        writePercentiles("total", total);
+
+        out.printf(Locale.ROOT, "throughput %.1f req/s, error rate %.4f, dropped %d%n",
+                throughput(), errorRate(), dropped);
+        out.println("Percentile distributions written to " + settings.reportDir().toAbsolutePath());
+    }
+
+    private void printRow(PrintStream out, String label, Histogram histogram, long errorCount) {
+        out.printf(Locale.ROOT, "%-18s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                label,
+                histogram.getTotalCount(),
+                errorCount,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private void writePercentiles(String name, Histogram histogram) throws IOException {
+        Path file = settings.reportDir().resolve(name + ".hgrm");
+        try (PrintStream stream = new PrintStream(Files.newOutputStream(file))) {
+            // Values are recorded in microseconds; scale the output to milliseconds
+            histogram.outputPercentileDistribution(stream, 1000.0);
+        }
+    }
+}
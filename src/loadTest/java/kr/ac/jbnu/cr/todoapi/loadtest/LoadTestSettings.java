@@ -0,0 +1,54 @@
+package kr.ac.jbnu.cr.todoapi.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test parameters, read from "loadtest.*" system properties.
+ * Pass them to Gradle with -D, e.g. ./gradlew loadTest -Dloadtest.rate=500
+ */
+public record LoadTestSettings(
+        int users,
+        int seedTodosPerUser,
+        double ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        double readRatio,
+        double loginRatio,
+        int maxInFlight,
+        double maxP99Millis,
+        double minThroughput,
+        double maxErrorRate,
+        int idleConnections,
+        Duration idleTrickleInterval,
+        Path reportDir) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        double rate = doubleProperty("loadtest.rate", 200);
+        return new LoadTestSettings(
+                intProperty("loadtest.users", 20),
+                intProperty("loadtest.seedTodosPerUser", 5),
+                rate,
+                Duration.ofSeconds(intProperty("loadtest.warmupSeconds", 5)),
+                Duration.ofSeconds(intProperty("loadtest.durationSeconds", 20)),
+                doubleProperty("loadtest.readRatio", 0.8),
+                doubleProperty("loadtest.loginRatio", 0),
+                intProperty("loadtest.maxInFlight", 2_000),
+                doubleProperty("loadtest.maxP99Millis", 100),
+                doubleProperty("loadtest.minThroughput", rate * 0.95),
+                doubleProperty("loadtest.maxErrorRate", 0.01),
+                intProperty("loadtest.idleConnections", 0),
+                Duration.ofSeconds(intProperty("loadtest.idleTrickleSeconds", 5)),
+                Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest")));
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+}
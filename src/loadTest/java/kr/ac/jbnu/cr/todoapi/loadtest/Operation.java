@@ -0,0 +1,26 @@
+package kr.ac.jbnu.cr.todoapi.loadtest;
+
+/**
+ * Request types issued by the load generator
+ */
+public enum Operation {
+    LIST_TODOS("GET /todos"),
+    GET_TODO("GET /todos/{id}"),
+    CREATE_TODO("POST /todos"),
+    UPDATE_TODO("PUT /todos/{id}"),
+    LOGIN("POST /auth/login");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public boolean isRead() {
+        return this == LIST_TODOS || this == GET_TODO;
+    }
+}
@@ -0,0 +1,15 @@
+package kr.ac.jbnu.cr.todoapi.loadtest;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The same load test against the reactive runtime (WebFlux on Netty), for a
+ * side-by-side comparison with the servlet stack:
+ * ./gradlew loadTest loadTestReactive -Dloadtest.idleConnections=1000
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive", "ratelimit.auth.capacity=100000"})
+@ActiveProfiles("reactive")
+class ReactiveTodoApiLoadTest extends TodoApiLoadTest {
+}
@@ -0,0 +1,206 @@
+package kr.ac.jbnu.cr.todoapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts the packaged application in a child JVM and measures how quickly it
+ * becomes useful:
+ * <ul>
+ *   <li>time to ready: until /actuator/health/readiness reports UP</li>
+ *   <li>time to first request: until the first GET /todos/{id} succeeds
+ *       (includes registering and logging in one user)</li>
+ *   <li>time to steady state: start of the first one-second window from which
+ *       p99 stays within the tolerance of the final p99</li>
+ * </ul>
+ * Closed-loop clients read (80%) and update (20%) their own todos from the
+ * first successful request on. All times are measured from process launch.
+ *
+ * Run through Gradle: ./gradlew startupProfile [-Pstartup.cds] [-Pstartup.warmup]
+ */
+public class StartupProfile {
+
+    private static final HttpClient PROBE = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(required("startup.jar"));
+        List<String> jvmArgs = split(System.getProperty("startup.jvmArgs", ""));
+        List<String> appArgs = split(System.getProperty("startup.appArgs", ""));
+        int clients = Integer.getInteger("startup.clients", 8);
+        int durationSeconds = Integer.getInteger("startup.durationSeconds", 30);
+        double tolerance = Double.parseDouble(System.getProperty("startup.tolerance", "0.25"));
+
+        int port = freePort();
+        Path archiveDir = Files.createTempDirectory("todoapi-startup");
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--todo.archive.dir=" + archiveDir);
+        // Every client registers from the same address
+        command.add("--ratelimit.auth.capacity=100000");
+        command.addAll(appArgs);
+
+        String baseUrl = "http://localhost:" + port;
+        long launched = System.nanoTime();
+        Process app = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(archiveDir.resolve("app.log").toFile())
+                .start();
+        try {
+            awaitReady(app, baseUrl + "/actuator/health/readiness");
+            long readyNanos = System.nanoTime() - launched;
+
+            Recorder recorder = new Recorder(3);
+            AtomicLong firstRequestNanos = new AtomicLong(-1);
+            AtomicLong errors = new AtomicLong();
+            AtomicBoolean running = new AtomicBoolean(true);
+            CountDownLatch done = new CountDownLatch(clients);
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                Thread.ofPlatform().name("startup-client-" + i).daemon().start(() -> {
+                    try {
+                        drive(new TodoApiClient(baseUrl), "sp" + launched % 100_000 + "c" + client,
+                                recorder, errors, running, firstRequestNanos, launched);
+                    } catch (Exception e) {
+                        System.err.println("Client " + client + " stopped: " + e);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            // One p99 sample per second, starting when the application became ready
+            List<Double> windowP99 = new ArrayList<>();
+            List<Long> windowCounts = new ArrayList<>();
+            long windowStartMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launched);
+            Histogram interval = null;
+            for (int second = 0; second < durationSeconds; second++) {
+                Thread.sleep(1000);
+                interval = recorder.getIntervalHistogram(interval);
+                windowP99.add(interval.getValueAtPercentile(99.0) / 1000.0);
+                windowCounts.add(interval.getTotalCount());
+            }
+            running.set(false);
+            done.await(15, TimeUnit.SECONDS);
+
+            report(readyNanos, firstRequestNanos.get(), windowStartMillis, windowP99, windowCounts,
+                    errors.get(), tolerance, jvmArgs, appArgs);
+        } finally {
+            app.destroy();
+            if (!app.waitFor(10, TimeUnit.SECONDS)) {
+                app.destroyForcibly();
+            }
+        }
+    }
+
+    private static void drive(TodoApiClient client, String username, Recorder recorder, AtomicLong errors,
+                              AtomicBoolean running, AtomicLong firstRequestNanos, long launched) throws Exception {
+        String token = client.registerAndLogin(username, "password-" + username);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(client.todoId(client.createTodo(token, "startup " + i)));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running.get()) {
+            long id = ids.get(random.nextInt(ids.size()));
+            long start = System.nanoTime();
+            HttpResponse<String> response = random.nextDouble() < 0.8
+                    ? client.getTodo(token, id)
+                    : client.updateTodo(token, id, "updated " + start);
+            long end = System.nanoTime();
+            if (response.statusCode() >= 400) {
+                errors.incrementAndGet();
+                continue;
+            }
+            recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(end - start));
+            firstRequestNanos.compareAndSet(-1, end - launched);
+        }
+    }
+
+    private static void report(long readyNanos, long firstRequestNanos, long windowStartMillis,
+                               List<Double> windowP99, List<Long> windowCounts, long errors,
+                               double tolerance, List<String> jvmArgs, List<String> appArgs) {
+        // Final p99: median of the last five windows
+        List<Double> tail = new ArrayList<>(windowP99.subList(Math.max(0, windowP99.size() - 5), windowP99.size()));
+        tail.sort(null);
+        double finalP99 = tail.get(tail.size() / 2);
+
+        int steadyWindow = windowP99.size() - 1;
+        while (steadyWindow > 0 && windowCounts.get(steadyWindow - 1) > 0
+                && windowP99.get(steadyWindow - 1) <= finalP99 * (1 + tolerance)) {
+            steadyWindow--;
+        }
+
+        System.out.printf(Locale.ROOT, "%nStartup profile (jvm args: %s, app args: %s)%n", jvmArgs, appArgs);
+        System.out.printf(Locale.ROOT, "time to ready          %8d ms%n", TimeUnit.NANOSECONDS.toMillis(readyNanos));
+        System.out.printf(Locale.ROOT, "time to first request  %8d ms%n", TimeUnit.NANOSECONDS.toMillis(firstRequestNanos));
+        System.out.printf(Locale.ROOT, "time to steady p99     %8d ms  (p99 within %.0f%% of %.2f ms)%n",
+                windowStartMillis + steadyWindow * 1000L, tolerance * 100, finalP99);
+        System.out.printf(Locale.ROOT, "errors                 %8d%n", errors);
+        System.out.println("p99 per one-second window, by window end since launch (ms):");
+        for (int i = 0; i < windowP99.size(); i++) {
+            System.out.printf(Locale.ROOT, "  %7d %9.2f  (%d requests)%n",
+                    windowStartMillis + (i + 1) * 1000L, windowP99.get(i), windowCounts.get(i));
+        }
+    }
+
+    private static void awaitReady(Process app, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(1)).GET().build();
+        while (true) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("Application exited with " + app.exitValue() + " during startup");
+            }
+            try {
+                HttpResponse<String> response = PROBE.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s+"));
+    }
+
+    private static String required(String name) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing system property " + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,128 @@
+package kr.ac.jbnu.cr.todoapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Minimal blocking HTTP client for the Todo API, used by the load generator.
+ */
+public class TodoApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    public TodoApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Register a user and log in
+     * @return the bearer token
+     */
+    public String registerAndLogin(String username, String password) throws IOException, InterruptedException {
+        String registerBody = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("password", password)
+                .put("email", username + "@loadtest.local")
+                .toString();
+        HttpResponse<String> registered = send(post("/auth/register", null, registerBody));
+        if (registered.statusCode() != 201) {
+            throw new IllegalStateException("Registration failed with " + registered.statusCode() + ": " + registered.body());
+        }
+
+        HttpResponse<String> loggedIn = login(username, password);
+        if (loggedIn.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with " + loggedIn.statusCode() + ": " + loggedIn.body());
+        }
+        return objectMapper.readTree(loggedIn.body()).path("data").path("token").asText();
+    }
+
+    /**
+     * Log in; the body of a 200 response carries the token
+     */
+    public HttpResponse<String> login(String username, String password) throws IOException, InterruptedException {
+        String body = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("password", password)
+                .toString();
+        return send(post("/auth/login", null, body));
+    }
+
+    /**
+     * Create a todo
+     * @return the response, whose body carries the created todo
+     */
+    public HttpResponse<String> createTodo(String token, String title) throws IOException, InterruptedException {
+        String body = objectMapper.createObjectNode()
+                .put("title", title)
+                .put("description", "generated by the load test")
+                .toString();
+        return send(post("/todos", token, body));
+    }
+
+    public HttpResponse<String> listTodos(String token) throws IOException, InterruptedException {
+        return send(request("/todos", token).GET().build());
+    }
+
+    public HttpResponse<String> getTodo(String token, long id) throws IOException, InterruptedException {
+        return send(request("/todos/" + id, token).GET().build());
+    }
+
+    public HttpResponse<String> updateTodo(String token, long id, String title) throws IOException, InterruptedException {
+        String body = objectMapper.createObjectNode()
+                .put("title", title)
+                .put("done", false)
+                .toString();
+        return send(request("/todos/" + id, token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    /**
+     * Extract data.id from a successful single-todo response
+     */
+    public long todoId(HttpResponse<String> response) throws IOException {
+        // Ids are sent as strings
+        JsonNode id = objectMapper.readTree(response.body()).path("data").path("id");
+        if (!id.isTextual()) {
+            throw new IllegalStateException("Response has no todo id: " + response.body());
+        }
+        return Long.parseLong(id.asText());
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
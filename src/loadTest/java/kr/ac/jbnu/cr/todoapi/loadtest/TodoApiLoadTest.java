@@ -0,0 +1,78 @@
+package kr.ac.jbnu.cr.todoapi.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: boots the application on a random port, provisions
+ * users through /auth, then drives the configured read/write mix against /todos.
+ * Fails when the p99, throughput or error-rate thresholds are breached.
+ * All users are provisioned from one address, so the login limit is lifted.
+ * With loadtest.idleConnections, that many slow clients stay in flight for
+ * the whole run (see IdleConnections). With loadtest.loginRatio, that share
+ * of requests are logins, which cost a BCrypt check each.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "ratelimit.auth.capacity=100000")
+class TodoApiLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void sustainsTargetRateWithinLatencyThresholds() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        TodoApiClient client = new TodoApiClient("http://localhost:" + port);
+
+        List<String> tokens = new ArrayList<>();
+        List<Credentials> credentials = new ArrayList<>();
+        List<Long> seededTodoIds = new ArrayList<>();
+        String runId = UUID.randomUUID().toString().substring(0, 6);
+        for (int i = 0; i < settings.users(); i++) {
+            Credentials user = new Credentials("lt" + runId + i, "password-" + i);
+            String token = client.registerAndLogin(user.username(), user.password());
+            tokens.add(token);
+            credentials.add(user);
+            for (int j = 0; j < Math.max(1, settings.seedTodosPerUser()); j++) {
+                HttpResponse<String> created = client.createTodo(token, "seed " + i + "-" + j);
+                seededTodoIds.add(client.todoId(created));
+            }
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        LoadTestResult result;
+        try (IdleConnections idle = IdleConnections.open(port, settings.idleConnections(),
+                settings.idleTrickleInterval())) {
+            result = new LoadGenerator(client, settings, tokens, credentials, seededTodoIds).run();
+            int peakThreads = threads.getPeakThreadCount();
+            int answered = idle.finish();
+            result.report(System.out);
+            // The server and the load generator share the JVM; only the difference between runs is meaningful
+            System.out.printf(Locale.ROOT, "idle connections %d opened (%d failed), %d answered at the end; "
+                            + "peak live threads %d%n",
+                    idle.opened(), idle.openFailures(), answered, peakThreads);
+        }
+
+        assertThat(result.p99Millis())
+                .as("p99 latency (ms)")
+                .isLessThanOrEqualTo(settings.maxP99Millis());
+        assertThat(result.throughput())
+                .as("successful requests per second")
+                .isGreaterThanOrEqualTo(settings.minThroughput());
+        assertThat(result.errorRate())
+                .as("error rate")
+                .isLessThanOrEqualTo(settings.maxErrorRate());
+    }
+}
@@ -0,0 +1,13 @@
+package kr.ac.jbnu.cr.todoapi.loadtest;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * The same load test with servlet requests on virtual threads, for a
+ * side-by-side comparison with the Tomcat worker pool:
+ * ./gradlew loadTest loadTestVirtual -Dloadtest.loginRatio=0.05 -Dloadtest.idleConnections=500
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=true", "ratelimit.auth.capacity=100000"})
+class VirtualThreadTodoApiLoadTest extends TodoApiLoadTest {
+}
@@ -2,8 +2,11 @@ package kr.ac.jbnu.cr.todoapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 
-@SpringBootApplication
+// The only DataSource is the one of the JDBC storage (JdbcStorageConfig):
+// without it, Boot would start an embedded H2 database for nothing
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
 public class TodoapiApplication {
 
 	public static void main(String[] args) {
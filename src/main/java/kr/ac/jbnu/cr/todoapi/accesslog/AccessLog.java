@@ -0,0 +1,224 @@
+package kr.ac.jbnu.cr.todoapi.accesslog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Access log written as JSON lines by a single background thread.
+ *
+ * Request threads only call {@link #record}, which copies the entry into a
+ * preallocated ring buffer and, if the writer is asleep, wakes it. The
+ * writer formats entries into a buffered file, flushes whenever the buffer
+ * runs empty, and rotates the file by size (access.log, access.log.1, ...).
+ */
+@Component
+@ConditionalOnProperty(name = "accesslog.enabled", havingValue = "true")
+public class AccessLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessLog.class);
+    private static final int DRAIN_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AccessLogRingBuffer buffer;
+    private final Path file;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final AtomicLong written = new AtomicLong();
+    private final StringBuilder line = new StringBuilder(256);
+
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+    private Thread writerThread;
+    private BufferedWriter out;
+    private long fileBytes;
+    private boolean failing;
+
+    public AccessLog(@Value("${accesslog.file}") String file,
+                     @Value("${accesslog.buffer-size}") int bufferSize,
+                     @Value("${accesslog.max-file-size-mb}") long maxFileSizeMb,
+                     @Value("${accesslog.max-files}") int maxFiles) {
+        this.buffer = new AccessLogRingBuffer(bufferSize);
+        this.file = Path.of(file);
+        this.maxFileBytes = maxFileSizeMb * 1024 * 1024;
+        this.maxFiles = maxFiles;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        open();
+        writerThread = new Thread(this::run, "access-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queue one entry. Never blocks; when the buffer is full the entry is dropped and counted.
+     * @param userId the authenticated user, 0 for anonymous requests
+     */
+    public void record(long timestampMillis, String method, String path, long userId, int status,
+                       long latencyNanos, long bytes, String requestId) {
+        if (buffer.offer(timestampMillis, method, path, userId, status, latencyNanos, bytes, requestId)
+                && writerParked) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return buffer.dropped();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        while (running) {
+            if (buffer.drain(this::write, DRAIN_BATCH) > 0) {
+                continue;
+            }
+            try {
+                out.flush();
+            } catch (IOException e) {
+                failed(e);
+            }
+            writerParked = true;
+            // Re-check after announcing the park: a producer that missed the flag has published already
+            if (buffer.isEmpty() && running) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+        // Write what was queued before shutdown
+        while (buffer.drain(this::write, DRAIN_BATCH) > 0) {
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    private void write(AccessLogRingBuffer.Entry entry) {
+        line.setLength(0);
+        line.append("{\"ts\":\"").append(DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(entry.timestampMillis())))
+                .append("\",\"method\":\"").append(entry.method())
+                .append("\",\"path\":");
+        appendJsonString(entry.path());
+        line.append(",\"userId\":");
+        if (entry.userId() == 0) {
+            line.append("null");
+        } else {
+            line.append(entry.userId());
+        }
+        line.append(",\"status\":").append(entry.status())
+                .append(",\"latencyMs\":").append(String.format(Locale.ROOT, "%.3f", entry.latencyNanos() / 1_000_000.0))
+                .append(",\"bytes\":").append(entry.bytes())
+                .append(",\"requestId\":");
+        appendJsonString(entry.requestId());
+        line.append("}\n");
+
+        try {
+            if (fileBytes + line.length() > maxFileBytes) {
+                rotate();
+            }
+            out.append(line);
+            // Entries are ASCII except for unusual paths; close enough for rotation
+            fileBytes += line.length();
+            written.incrementAndGet();
+            failing = false;
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    /**
+     * Entries are lost while the file cannot be written; log once per outage, not per entry
+     */
+    private void failed(IOException e) {
+        if (!failing) {
+            failing = true;
+            logger.error("Cannot write access log {}: {}", file, e.getMessage(), e);
+        }
+    }
+
+    private void appendJsonString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), StandardCharsets.UTF_8), 64 * 1024);
+        fileBytes = Files.size(file);
+    }
+
+    /**
+     * access.log -> access.log.1 -> ... -> access.log.(maxFiles - 1), the oldest is deleted
+     */
+    private void rotate() throws IOException {
+        out.close();
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path source = i == 1 ? file : rotated(i - 1);
+            if (Files.exists(source)) {
+                Files.move(source, rotated(i), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles <= 1) {
+            Files.deleteIfExists(file);
+        }
+        open();
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
@@ -0,0 +1,188 @@
+package kr.ac.jbnu.cr.todoapi.accesslog;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import kr.ac.jbnu.cr.todoapi.filter.LongLivedRequests;
+import kr.ac.jbnu.cr.todoapi.security.JwtAuthenticationFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Records one access log entry per request: method, path, user, status,
+ * latency, response bytes and request id.
+ *
+ * The request id is taken from an incoming X-Request-Id header when it looks
+ * sane, generated otherwise, and echoed in the response. Runs right after
+ * ServerTimingFilter, so requests shed by the concurrency limiter are logged too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(name = "accesslog.enabled", havingValue = "true")
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_ATTRIBUTE = AccessLogFilter.class.getName() + ".requestId";
+
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final AccessLog accessLog;
+
+    public AccessLogFilter(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Polled back to back by followers, or held open: would flood the log and skew its latencies
+        return LongLivedRequests.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        request.setAttribute(REQUEST_ID_ATTRIBUTE, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+
+        CountingResponse counting = new CountingResponse(response);
+        try {
+            filterChain.doFilter(request, counting);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Async responses are logged once they complete
+                String id = requestId;
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, counting, startMillis, startNanos, id);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, counting, startMillis, startNanos, requestId);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response,
+                        long startMillis, long startNanos, String requestId) {
+        Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        accessLog.record(startMillis, request.getMethod(), request.getRequestURI(),
+                userId instanceof Long id ? id : 0, response.getStatus(),
+                System.nanoTime() - startNanos, response.bytes, requestId);
+    }
+
+    /**
+     * Counts the body bytes written through the response
+     */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private long bytes;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        bytes += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                // Characters, not encoded bytes; the same for the ASCII bodies this API writes
+                writer = new PrintWriter(super.getWriter()) {
+                    @Override
+                    public void write(int c) {
+                        super.write(c);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(char[] buf, int off, int len) {
+                        super.write(buf, off, len);
+                        bytes += len;
+                    }
+
+                    @Override
+                    public void write(String str, int off, int len) {
+                        super.write(str, off, len);
+                        bytes += len;
+                    }
+                };
+            }
+            return writer;
+        }
+    }
+}
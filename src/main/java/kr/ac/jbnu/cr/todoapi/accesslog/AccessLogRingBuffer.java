@@ -0,0 +1,170 @@
+package kr.ac.jbnu.cr.todoapi.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer queue of access log entries.
+ *
+ * All entries are allocated up front and reused. Each slot carries a sequence
+ * number that says whose turn it is: a producer claims the next position
+ * with one CAS and publishes by advancing the slot's sequence; the consumer
+ * reads slots in order and hands them back the same way. When the consumer
+ * lags a full lap behind, offer() fails at once and the entry is counted as
+ * dropped; request threads never wait for the writer.
+ */
+public class AccessLogRingBuffer {
+
+    /**
+     * One request, as recorded by the filter. Only valid inside drain().
+     */
+    public static final class Entry {
+        long timestampMillis;
+        String method;
+        String path;
+        long userId;
+        int status;
+        long latencyNanos;
+        long bytes;
+        String requestId;
+
+        public long timestampMillis() {
+            return timestampMillis;
+        }
+
+        public String method() {
+            return method;
+        }
+
+        public String path() {
+            return path;
+        }
+
+        /**
+         * @return the authenticated user, 0 for anonymous requests
+         */
+        public long userId() {
+            return userId;
+        }
+
+        public int status() {
+            return status;
+        }
+
+        public long latencyNanos() {
+            return latencyNanos;
+        }
+
+        public long bytes() {
+            return bytes;
+        }
+
+        public String requestId() {
+            return requestId;
+        }
+    }
+
+    private final Entry[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    // Only touched by the consumer thread
+    private long head;
+
+    /**
+     * @param capacity number of slots, rounded up to a power of two
+     */
+    public AccessLogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.entries = new Entry[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            entries[i] = new Entry();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publish an entry without blocking
+     * @return false if the buffer is full and the entry was dropped
+     */
+    public boolean offer(long timestampMillis, String method, String path, long userId, int status,
+                         long latencyNanos, long bytes, String requestId) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    Entry entry = entries[index];
+                    entry.timestampMillis = timestampMillis;
+                    entry.method = method;
+                    entry.path = path;
+                    entry.userId = userId;
+                    entry.status = status;
+                    entry.latencyNanos = latencyNanos;
+                    entry.bytes = bytes;
+                    entry.requestId = requestId;
+                    // Volatile, not just release: ordered before the caller's check of a parked consumer
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds an entry from the previous lap: full
+                dropped.increment();
+                return false;
+            } else {
+                // Another producer took this position
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hand published entries to the sink, in order. Single consumer only.
+     * @param sink receives each entry; it must not keep a reference to it
+     * @param max maximum number of entries to drain
+     * @return number of entries drained
+     */
+    public int drain(Consumer<Entry> sink, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (head & mask);
+            if (sequences.getAcquire(index) != head + 1) {
+                break;
+            }
+            Entry entry = entries[index];
+            sink.accept(entry);
+            entry.method = null;
+            entry.path = null;
+            entry.requestId = null;
+            sequences.setRelease(index, head + entries.length);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Whether no published entry is waiting. Consumer thread only.
+     */
+    public boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Entries rejected because the buffer was full
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,45 @@
+package kr.ac.jbnu.cr.todoapi.accesslog;
+
+import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Puts the access log's request id into response envelopes, so the
+ * requestId a client reports can be looked up in the access log.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "accesslog.enabled", havingValue = "true")
+public class RequestIdAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        Object requestId = servletRequest.getServletRequest().getAttribute(AccessLogFilter.REQUEST_ID_ATTRIBUTE);
+        if (requestId instanceof String id) {
+            if (body instanceof ApiResponse<?> envelope && envelope.getMeta() != null) {
+                envelope.getMeta().setRequestId(id);
+            } else if (body instanceof ErrorResponse error) {
+                error.setRequestId(id);
+            }
+        }
+        return body;
+    }
+}
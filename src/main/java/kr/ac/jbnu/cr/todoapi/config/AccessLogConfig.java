@@ -0,0 +1,27 @@
+package kr.ac.jbnu.cr.todoapi.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kr.ac.jbnu.cr.todoapi.accesslog.AccessLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "accesslog.enabled", havingValue = "true")
+public class AccessLogConfig {
+
+    /**
+     * Publish written and dropped access log entries as Micrometer meters
+     */
+    @Bean
+    public MeterBinder accessLogMetrics(AccessLog accessLog) {
+        return registry -> {
+            FunctionCounter.builder("accesslog.entries.written", accessLog, AccessLog::getWritten)
+                    .register(registry);
+            FunctionCounter.builder("accesslog.entries.dropped", accessLog, AccessLog::getDropped)
+                    .description("Entries discarded because the ring buffer was full")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package kr.ac.jbnu.cr.todoapi.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kr.ac.jbnu.cr.todoapi.filter.AdaptiveConcurrencyLimiter;
+import kr.ac.jbnu.cr.todoapi.filter.RequestPriority;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${concurrency.initial-limit}") int initialLimit,
+            @Value("${concurrency.min-limit}") int minLimit,
+            @Value("${concurrency.max-limit}") int maxLimit,
+            @Value("${concurrency.rtt-tolerance}") double rttTolerance,
+            @Value("${concurrency.low-priority-share}") double lowPriorityShare,
+            @Value("${concurrency.max-queue}") int maxQueue) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, rttTolerance, lowPriorityShare, maxQueue);
+    }
+
+    /**
+     * Publish the limiter state as Micrometer meters
+     */
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(AdaptiveConcurrencyLimiter limiter) {
+        return registry -> {
+            Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive in-flight request limit")
+                    .register(registry);
+            Gauge.builder("http.server.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .register(registry);
+            Gauge.builder("http.server.concurrency.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                    .register(registry);
+            for (RequestPriority priority : RequestPriority.values()) {
+                FunctionCounter.builder("http.server.concurrency.rejected", limiter, l -> l.getRejected(priority))
+                        .description("Requests shed with 503")
+                        .tag("priority", priority.name().toLowerCase())
+                        .register(registry);
+            }
+        };
+    }
+}
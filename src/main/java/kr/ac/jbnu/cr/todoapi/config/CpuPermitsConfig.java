@@ -0,0 +1,49 @@
+package kr.ac.jbnu.cr.todoapi.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kr.ac.jbnu.cr.todoapi.util.CpuPermits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class CpuPermitsConfig {
+
+    /**
+     * BCrypt hashes and checks (register, login)
+     */
+    @Bean
+    public CpuPermits passwordPermits(@Value("${cpu-permits.password}") int size) {
+        return new CpuPermits("password", size);
+    }
+
+    /**
+     * Token signing and signature verification (cache hits are not limited)
+     */
+    @Bean
+    public CpuPermits jwtPermits(@Value("${cpu-permits.jwt}") int size) {
+        return new CpuPermits("jwt", size);
+    }
+
+    /**
+     * Publish permit usage as Micrometer meters
+     */
+    @Bean
+    public MeterBinder cpuPermitsMetrics(List<CpuPermits> sections) {
+        return registry -> {
+            for (CpuPermits section : sections) {
+                Gauge.builder("cpu.permits.in-use", section, CpuPermits::getInUse)
+                        .description("Threads inside a CPU-bound section")
+                        .tag("section", section.getName())
+                        .register(registry);
+                Gauge.builder("cpu.permits.waiting", section, CpuPermits::getWaiting)
+                        .description("Threads waiting to enter a CPU-bound section")
+                        .tag("section", section.getName())
+                        .register(registry);
+            }
+        };
+    }
+}
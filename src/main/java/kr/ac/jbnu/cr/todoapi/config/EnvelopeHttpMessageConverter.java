@@ -0,0 +1,139 @@
+package kr.ac.jbnu.cr.todoapi.config;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Writes ApiResponse and ErrorResponse as JSON by streaming their fields
+ * straight into a JsonGenerator. Only the payload inside "data" goes through
+ * ObjectMapper; the envelope itself needs no reflection or bean introspection.
+ * Null envelope fields are left out, as Jackson does for these classes
+ * (@JsonInclude NON_NULL), so both paths write the same JSON.
+ *
+ * Spring Boot places HttpMessageConverter beans ahead of its default converters.
+ * Binary formats (CBOR, Smile) are left to the Jackson converters.
+ */
+@Component
+public class EnvelopeHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType PROBLEM_JSON = MediaType.parseMediaType("application/problem+json");
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter payloadWriter;
+
+    public EnvelopeHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, PROBLEM_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+        // Nested payloads must not flush the response stream halfway through the envelope
+        this.payloadWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiResponse.class == clazz || ErrorResponse.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Envelopes are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof ErrorResponse error) {
+            write(error, outputMessage.getBody());
+        } else {
+            write((ApiResponse<?>) body, outputMessage.getBody());
+        }
+    }
+
+    /**
+     * Stream a success envelope
+     */
+    public void write(ApiResponse<?> response, OutputStream out) throws IOException {
+        try (JsonGenerator gen = createGenerator(out)) {
+            gen.writeStartObject();
+
+            if (response.getData() != null) {
+                gen.writeFieldName("data");
+                payloadWriter.writeValue(gen, response.getData());
+            }
+
+            ApiResponse.Meta meta = response.getMeta();
+            if (meta != null) {
+                gen.writeObjectFieldStart("meta");
+                writeStringField(gen, "requestId", meta.getRequestId());
+                writeStringField(gen, "servedAt", meta.getServedAt());
+                gen.writeEndObject();
+            }
+
+            writeStringMap(gen, "links", response.getLinks());
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Stream an RFC 9457 problem details body.
+     * Also used outside Spring MVC (security entry point, filters).
+     */
+    public void write(ErrorResponse error, OutputStream out) throws IOException {
+        try (JsonGenerator gen = createGenerator(out)) {
+            gen.writeStartObject();
+            writeStringField(gen, "type", error.getType());
+            writeStringField(gen, "title", error.getTitle());
+            gen.writeNumberField("status", error.getStatus());
+            writeStringField(gen, "detail", error.getDetail());
+            writeStringField(gen, "instance", error.getInstance());
+            if (error.getErrors() != null) {
+                gen.writeFieldName("errors");
+                payloadWriter.writeValue(gen, error.getErrors());
+            }
+            writeStringField(gen, "requestId", error.getRequestId());
+            gen.writeEndObject();
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        // The servlet container owns the response stream
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return gen;
+    }
+
+    private static void writeStringField(JsonGenerator gen, String name, String value) throws IOException {
+        if (value != null) {
+            gen.writeStringField(name, value);
+        }
+    }
+
+    private void writeStringMap(JsonGenerator gen, String name, Map<String, String> map) throws IOException {
+        if (map == null) {
+            return;
+        }
+        gen.writeObjectFieldStart(name);
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            gen.writeStringField(entry.getKey(), entry.getValue());
+        }
+        gen.writeEndObject();
+    }
+}
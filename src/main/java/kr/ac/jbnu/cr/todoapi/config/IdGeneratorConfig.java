@@ -0,0 +1,20 @@
+package kr.ac.jbnu.cr.todoapi.config;
+
+import kr.ac.jbnu.cr.todoapi.util.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    /**
+     * Shared by todos and users: one sequence per instance is enough
+     */
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(
+            @Value("${ids.node-id}") long nodeId,
+            @Value("${ids.max-clock-lead-ms}") long maxClockLeadMillis) {
+        return new SnowflakeIdGenerator(nodeId, maxClockLeadMillis);
+    }
+}
@@ -0,0 +1,39 @@
+package kr.ac.jbnu.cr.todoapi.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Connection pool of the JDBC storage (storage.type=jdbc). The schema is
+ * applied before the pool is handed out, so the repositories can use it as
+ * soon as they are created.
+ */
+@Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "jdbc")
+public class JdbcStorageConfig {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource dataSource(
+            @Value("${storage.jdbc.url}") String url,
+            @Value("${storage.jdbc.username}") String username,
+            @Value("${storage.jdbc.password}") String password,
+            @Value("${storage.jdbc.pool-size}") int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("todo-store");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+
+        HikariDataSource dataSource = new HikariDataSource(config);
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")), dataSource);
+        return dataSource;
+    }
+}
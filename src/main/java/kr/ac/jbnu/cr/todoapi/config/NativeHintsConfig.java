@@ -0,0 +1,92 @@
+package kr.ac.jbnu.cr.todoapi.config;
+
+import kr.ac.jbnu.cr.todoapi.dto.request.CreateTodoRequest;
+import kr.ac.jbnu.cr.todoapi.dto.request.LoginRequest;
+import kr.ac.jbnu.cr.todoapi.dto.request.RegisterRequest;
+import kr.ac.jbnu.cr.todoapi.dto.request.UpdateTodoRequest;
+import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.model.Job;
+import kr.ac.jbnu.cr.todoapi.model.JobStatus;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.model.User;
+import kr.ac.jbnu.cr.todoapi.replication.LogBatch;
+import kr.ac.jbnu.cr.todoapi.replication.Mutation;
+import kr.ac.jbnu.cr.todoapi.sharding.ShardNode;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reachability metadata for the GraalVM native image (./gradlew nativeCompile).
+ *
+ * Spring AOT already covers beans and the declared types of controller
+ * parameters and return values. What it cannot see is listed here: payloads
+ * behind ApiResponse's untyped data field, bodies written outside Spring MVC,
+ * and the classes jjwt loads by name at runtime.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.TodoApiRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class TodoApiRuntimeHints implements RuntimeHintsRegistrar {
+
+        // Serialized with Jackson: getters, setters and constructors of the type and its properties
+        private static final Class<?>[] JSON_TYPES = {
+                Todo.class, User.class, Job.class, JobStatus.class,
+                ApiResponse.class, ApiResponse.Meta.class, ErrorResponse.class,
+                CreateTodoRequest.class, UpdateTodoRequest.class, LoginRequest.class, RegisterRequest.class,
+                Mutation.class, LogBatch.class, ShardNode.class
+        };
+
+        // jjwt-api finds its implementation reflectively (io.jsonwebtoken.lang.Classes)
+        private static final String[] JJWT_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+                "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyOperations",
+                "io.jsonwebtoken.impl.security.StandardCurves",
+                "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+                "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+                "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+                "io.jsonwebtoken.impl.security.JwksBridge",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            bindings.registerReflectionHints(hints.reflection(), JSON_TYPES);
+
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            // jjwt discovers its JSON serializer through ServiceLoader
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+            // Swagger UI static files served by springdoc
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*");
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+
+            // Schema of the JDBC storage, read by JdbcStorageConfig
+            hints.resources().registerPattern("db/schema.sql");
+        }
+    }
+}
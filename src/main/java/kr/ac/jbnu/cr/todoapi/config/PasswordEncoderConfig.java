@@ -0,0 +1,25 @@
+package kr.ac.jbnu.cr.todoapi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Password hashing, shared by the servlet and the reactive runtime
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder() throws NoSuchAlgorithmException {
+        // The default NativePRNG refills its buffer from /dev/urandom inside a
+        // synchronized block, so a salt can pin a virtual thread to its carrier
+        // during file I/O. DRBG only holds its monitor to compute the bytes.
+        return new BCryptPasswordEncoder(BCryptPasswordEncoder.BCryptVersion.$2A, -1,
+                SecureRandom.getInstance("DRBG"));
+    }
+}
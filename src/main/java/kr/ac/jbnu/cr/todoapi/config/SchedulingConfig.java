@@ -0,0 +1,12 @@
+package kr.ac.jbnu.cr.todoapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background tasks (rate limit bucket eviction, ...)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,25 +1,56 @@
 package kr.ac.jbnu.cr.todoapi.config;
 
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.idempotency.IdempotencyFilter;
+import kr.ac.jbnu.cr.todoapi.security.BatchRegistrationFilter;
 import kr.ac.jbnu.cr.todoapi.security.JwtAuthenticationFilter;
+import kr.ac.jbnu.cr.todoapi.security.RateLimitFilter;
+import kr.ac.jbnu.cr.todoapi.sharding.ClusterTokenFilter;
+import kr.ac.jbnu.cr.todoapi.sharding.ShardRoutingFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.util.UUID;
+
+/**
+ * Security of the servlet stack. The reactive profile uses ReactiveSecurityConfig instead.
+ */
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final IdempotencyFilter idempotencyFilter;
+    private final EnvelopeHttpMessageConverter envelopeConverter;
+    private final BatchRegistrationFilter batchRegistrationFilter;
+    // Only present in a sharded cluster
+    private final ShardRoutingFilter shardRoutingFilter;
+    private final ClusterTokenFilter clusterTokenFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          RateLimitFilter rateLimitFilter,
+                          IdempotencyFilter idempotencyFilter,
+                          EnvelopeHttpMessageConverter envelopeConverter,
+                          BatchRegistrationFilter batchRegistrationFilter,
+                          ObjectProvider<ShardRoutingFilter> shardRoutingFilter,
+                          ObjectProvider<ClusterTokenFilter> clusterTokenFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.idempotencyFilter = idempotencyFilter;
+        this.envelopeConverter = envelopeConverter;
+        this.batchRegistrationFilter = batchRegistrationFilter;
+        this.shardRoutingFilter = shardRoutingFilter.getIfAvailable();
+        this.clusterTokenFilter = clusterTokenFilter.getIfAvailable();
     }
 
     @Bean
@@ -30,30 +61,44 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/register", "/auth/login").permitAll()
+                        // Operators authenticate with the operator token (BatchRegistrationFilter)
+                        .requestMatchers("/auth/register/batch").permitAll()
                         .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        // Followers authenticate with the replication token
+                        .requestMatchers("/replication/**").permitAll()
+                        // Shard nodes authenticate with the cluster token (ClusterTokenFilter)
+                        .requestMatchers("/cluster/**").permitAll()
                         .requestMatchers("/todos/**").authenticated()
                         .anyRequest().authenticated())
                 .exceptionHandling(exception -> exception
                         .authenticationEntryPoint((request, response, authException) -> {
+                            ErrorResponse error = ErrorResponse.builder()
+                                    .type("about:blank")
+                                    .title("Unauthorized")
+                                    .status(401)
+                                    .detail("Authentication is required to access this resource.")
+                                    .instance(request.getRequestURI())
+                                    .requestId(UUID.randomUUID().toString())
+                                    .build();
+
                             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                            response.setContentType("application/problem+json");
-                            response.getWriter().write("""
-                                {
-                                    "type": "about:blank",
-                                    "title": "Unauthorized",
-                                    "status": 401,
-                                    "detail": "Authentication is required to access this resource.",
-                                    "instance": "%s"
-                                }
-                                """.formatted(request.getRequestURI()));
+                            response.setContentType(EnvelopeHttpMessageConverter.PROBLEM_JSON.toString());
+                            envelopeConverter.write(error, response.getOutputStream());
                         }))
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(batchRegistrationFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
-        return http.build();
-    }
+        // Idempotency keys are kept on the node that runs the request, after any forwarding
+        if (shardRoutingFilter != null) {
+            http.addFilterBefore(clusterTokenFilter, JwtAuthenticationFilter.class);
+            http.addFilterAfter(shardRoutingFilter, RateLimitFilter.class);
+            http.addFilterAfter(idempotencyFilter, ShardRoutingFilter.class);
+        } else {
+            http.addFilterAfter(idempotencyFilter, RateLimitFilter.class);
+        }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return http.build();
     }
 }
\ No newline at end of file
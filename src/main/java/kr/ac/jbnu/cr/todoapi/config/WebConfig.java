@@ -0,0 +1,55 @@
+package kr.ac.jbnu.cr.todoapi.config;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Binary content negotiation: request and response bodies may be sent as
+ * CBOR (application/cbor) or Smile (application/x-jackson-smile) instead of JSON,
+ * selected by the Content-Type and Accept headers.
+ *
+ * Spring MVC already registers CBOR and Smile converters when the formats are
+ * on the classpath, and converters added after them would never be picked.
+ * They are replaced in place, keeping their position.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Binary clients decode with Jackson as well, so dates travel as numbers instead of ISO strings
+        HttpMessageConverter<?> cbor = new MappingJackson2CborHttpMessageConverter(Jackson2ObjectMapperBuilder.cbor()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        HttpMessageConverter<?> smile = new MappingJackson2SmileHttpMessageConverter(Jackson2ObjectMapperBuilder.smile()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+
+        boolean cborReplaced = false;
+        boolean smileReplaced = false;
+        for (ListIterator<HttpMessageConverter<?>> iterator = converters.listIterator(); iterator.hasNext(); ) {
+            HttpMessageConverter<?> converter = iterator.next();
+            if (converter instanceof MappingJackson2CborHttpMessageConverter) {
+                iterator.set(cbor);
+                cborReplaced = true;
+            } else if (converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                iterator.set(smile);
+                smileReplaced = true;
+            }
+        }
+        if (!cborReplaced) {
+            converters.add(cbor);
+        }
+        if (!smileReplaced) {
+            converters.add(smile);
+        }
+    }
+}
@@ -7,30 +7,42 @@ import kr.ac.jbnu.cr.todoapi.dto.request.LoginRequest;
 import kr.ac.jbnu.cr.todoapi.dto.request.RegisterRequest;
 import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
 import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.Links;
 import kr.ac.jbnu.cr.todoapi.model.User;
 import kr.ac.jbnu.cr.todoapi.security.JwtAuthentication;
 import kr.ac.jbnu.cr.todoapi.security.JwtService;
+import kr.ac.jbnu.cr.todoapi.security.TokenClaims;
 import kr.ac.jbnu.cr.todoapi.service.UserService;
+import kr.ac.jbnu.cr.todoapi.validation.BatchValidator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/auth")
 @Tag(name = "Authentication", description = "Authentication APIs")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthController {
 
+    private static final int MAX_BATCH_REGISTRATIONS = 100;
+
     private final UserService userService;
     private final JwtService jwtService;
+    private final BatchValidator batchValidator;
 
-    public AuthController(UserService userService, JwtService jwtService) {
+    public AuthController(UserService userService, JwtService jwtService, BatchValidator batchValidator) {
         this.userService = userService;
         this.jwtService = jwtService;
+        this.batchValidator = batchValidator;
     }
 
     @Operation(summary = "Register a new user")
@@ -38,7 +50,8 @@ public class AuthController {
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
         String requestId = UUID.randomUUID().toString();
 
-        if (userService.existsByUsername(request.getUsername())) {
+        Optional<User> registered = userService.register(request);
+        if (registered.isEmpty()) {
             ErrorResponse error = ErrorResponse.builder()
                     .type("about:blank")
                     .title("Conflict")
@@ -50,18 +63,60 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         }
 
-        User user = userService.register(request);
+        User user = registered.get();
 
         Map<String, Object> data = new HashMap<>();
-        data.put("id", user.getId());
+        data.put("id", String.valueOf(user.getId()));
         data.put("username", user.getUsername());
         data.put("email", user.getEmail());
 
-        Map<String, String> links = new HashMap<>();
-        links.put("login", "/auth/login");
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(data, requestId, Links.REGISTER));
+    }
+
+    @Operation(summary = "Register several users at once (requires the operator token)",
+            description = "Each entry is created or reported as a conflict; the batch is never rejected as a whole.")
+    @PostMapping("/register/batch")
+    public ResponseEntity<?> registerBatch(@RequestBody List<RegisterRequest> requests) {
+        String requestId = UUID.randomUUID().toString();
+
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_REGISTRATIONS) {
+            ErrorResponse error = ErrorResponse.builder()
+                    .type("about:blank")
+                    .title("Invalid Request")
+                    .status(400)
+                    .detail("Request body must contain between 1 and " + MAX_BATCH_REGISTRATIONS + " users.")
+                    .instance("/auth/register/batch")
+                    .requestId(requestId)
+                    .build();
+            return ResponseEntity.badRequest().body(error);
+        }
+        batchValidator.requireValid(requests);
+
+        List<Optional<User>> registered = userService.registerAll(requests);
+
+        List<Map<String, Object>> results = new ArrayList<>(requests.size());
+        int created = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("username", requests.get(i).getUsername());
+            if (registered.get(i).isPresent()) {
+                result.put("status", "created");
+                result.put("id", String.valueOf(registered.get(i).get().getId()));
+                created++;
+            } else {
+                result.put("status", "conflict");
+            }
+            results.add(result);
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("created", created);
+        data.put("conflicts", requests.size() - created);
+        data.put("results", results);
 
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success(data, requestId, links));
+                .body(ApiResponse.success(data, requestId, Links.REGISTER));
     }
 
     @Operation(summary = "Login and get JWT token")
@@ -104,14 +159,10 @@ public class AuthController {
         Map<String, Object> data = new HashMap<>();
         data.put("token", token);
         data.put("tokenType", "Bearer");
-        data.put("userId", user.getId());
+        data.put("userId", String.valueOf(user.getId()));
         data.put("username", user.getUsername());
 
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/auth/login");
-        links.put("me", "/auth/me");
-
-        return ResponseEntity.ok(ApiResponse.success(data, requestId, links));
+        return ResponseEntity.ok(ApiResponse.success(data, requestId, Links.LOGIN));
     }
 
     @Operation(summary = "Get current user info (requires authentication)")
@@ -119,34 +170,38 @@ public class AuthController {
     public ResponseEntity<?> me() {
         String requestId = UUID.randomUUID().toString();
 
-        // Get authenticated user from SecurityContext
+        // Answered from the verified token: no user store lookup
         JwtAuthentication authentication =
                 (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
-        Long userId = authentication.getUserId();
+        TokenClaims claims = authentication.getClaims();
 
-        var userOptional = userService.findById(userId);
-        if (userOptional.isEmpty()) {
-            ErrorResponse error = ErrorResponse.builder()
-                    .type("about:blank")
-                    .title("Not Found")
-                    .status(404)
-                    .detail("User not found.")
-                    .instance("/auth/me")
-                    .requestId(requestId)
-                    .build();
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
-        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", String.valueOf(claims.userId()));
+        data.put("username", claims.username());
+        data.put("email", claims.email());
 
-        User user = userOptional.get();
+        return ResponseEntity.ok(ApiResponse.success(data, requestId, Links.ME));
+    }
 
-        Map<String, Object> data = new HashMap<>();
-        data.put("id", user.getId());
-        data.put("username", user.getUsername());
-        data.put("email", user.getEmail());
+    @Operation(summary = "Logout: revoke the current token (requires authentication)")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout() {
+        JwtAuthentication authentication =
+                (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
+
+        jwtService.revoke(authentication.getClaims());
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Logout everywhere: revoke every token of the current user (requires authentication)")
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll() {
+        JwtAuthentication authentication =
+                (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
 
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/auth/me");
+        jwtService.revokeAll(authentication.getUserId());
 
-        return ResponseEntity.ok(ApiResponse.success(data, requestId, links));
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package kr.ac.jbnu.cr.todoapi.controller;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.security.Revocation;
+import kr.ac.jbnu.cr.todoapi.security.TokenRevocationList;
+import kr.ac.jbnu.cr.todoapi.service.TodoService;
+import kr.ac.jbnu.cr.todoapi.sharding.ShardManager;
+import kr.ac.jbnu.cr.todoapi.sharding.ShardNode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cluster membership and rebalancing protocol between shard nodes.
+ * Every call must carry the shared cluster token, checked by ClusterTokenFilter.
+ */
+@Hidden
+@RestController
+@RequestMapping("/cluster")
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ClusterController {
+
+    private final ShardManager shardManager;
+    private final TodoService todoService;
+    private final TokenRevocationList revocationList;
+
+    public ClusterController(ShardManager shardManager,
+                             TodoService todoService,
+                             TokenRevocationList revocationList) {
+        this.shardManager = shardManager;
+        this.todoService = todoService;
+        this.revocationList = revocationList;
+    }
+
+    @GetMapping("/ring")
+    public ResponseEntity<?> getRing() {
+        return ResponseEntity.ok(Map.of(
+                "nodes", shardManager.getNodes(),
+                "rebalancing", shardManager.isRebalancing(),
+                "pendingSources", shardManager.getPendingSources()));
+    }
+
+    /**
+     * Add a node and rebalance the cluster (operator entry point)
+     */
+    @PostMapping("/nodes")
+    public ResponseEntity<?> addNode(@RequestBody ShardNode node) throws InterruptedException {
+        try {
+            return ResponseEntity.ok(shardManager.addNode(node));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("detail", e.getMessage()));
+        } catch (IOException e) {
+            // The members that had switched rings are back on the previous one
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(Map.of("detail", e.getMessage()));
+        }
+    }
+
+    @PutMapping("/ring")
+    public ResponseEntity<?> installRing(@RequestBody List<ShardNode> nodes) {
+        try {
+            shardManager.installRing(nodes);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("detail", e.getMessage()));
+        }
+    }
+
+    /**
+     * Undo installRing, when the node adding a member could not reach every member
+     */
+    @PostMapping("/ring/abort")
+    public ResponseEntity<?> abortRing(@RequestBody List<ShardNode> nodes) {
+        shardManager.abortRing(nodes);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/migrate")
+    public ResponseEntity<?> migrate() {
+        shardManager.startMigration();
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/handoff")
+    public ResponseEntity<List<Todo>> handOff(@RequestParam long userId) {
+        return ResponseEntity.ok(shardManager.handOff(userId));
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<?> importTodos(@RequestBody List<Todo> todos) {
+        todoService.importTodos(todos);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/handoff-complete")
+    public ResponseEntity<?> handoffComplete(@RequestParam String from) {
+        shardManager.handoffComplete(from);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/revocations")
+    public ResponseEntity<List<Revocation>> getRevocations() {
+        return ResponseEntity.ok(revocationList.revocations());
+    }
+
+    /**
+     * Logouts handled by another node (see RevocationBroadcaster)
+     */
+    @PostMapping("/revocations")
+    public ResponseEntity<?> addRevocations(@RequestBody List<Revocation> revocations) {
+        revocations.forEach(revocationList::apply);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,69 @@
+package kr.ac.jbnu.cr.todoapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.Links;
+import kr.ac.jbnu.cr.todoapi.exception.JobNotFoundException;
+import kr.ac.jbnu.cr.todoapi.model.Job;
+import kr.ac.jbnu.cr.todoapi.security.JwtAuthentication;
+import kr.ac.jbnu.cr.todoapi.service.JobService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/jobs")
+@Tag(name = "Job", description = "Background job APIs")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class JobController {
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @Operation(summary = "Get job status", description = "Poll the status and progress of a background job")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved the job"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Job not found, expired or submitted by another user",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<Job>> getJob(
+            @Parameter(description = "ID of the job") @PathVariable String id) {
+        String requestId = UUID.randomUUID().toString();
+        Job job = jobService.findById(id, currentUserId()).orElseThrow(() -> new JobNotFoundException(id));
+
+        return ResponseEntity.ok(ApiResponse.success(job, requestId, Links.job(id)));
+    }
+
+    @Operation(summary = "Subscribe to job events",
+            description = "Server-Sent Events stream of 'progress' events, ending with a 'finished' event")
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @Parameter(description = "ID of the job") @PathVariable String id) {
+        return jobService.subscribe(id, currentUserId());
+    }
+
+    private Long currentUserId() {
+        if (SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthentication authentication) {
+            return authentication.getUserId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+package kr.ac.jbnu.cr.todoapi.controller;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.model.User;
+import kr.ac.jbnu.cr.todoapi.replication.LogBatch;
+import kr.ac.jbnu.cr.todoapi.replication.MutationLog;
+import kr.ac.jbnu.cr.todoapi.replication.Snapshot;
+import kr.ac.jbnu.cr.todoapi.security.TokenRevocationList;
+import kr.ac.jbnu.cr.todoapi.service.TodoService;
+import kr.ac.jbnu.cr.todoapi.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Streams the mutation log to followers. Only exposed on the leader and
+ * guarded by a shared token instead of user JWTs; the leader does not start
+ * with the token of the default configuration.
+ */
+@Hidden
+@RestController
+@RequestMapping("/replication")
+@ConditionalOnProperty(name = "replication.role", havingValue = "leader")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ReplicationController {
+
+    private static final int MAX_BATCH = 1000;
+    private static final long MAX_WAIT_MS = 10_000;
+    // Value of replication.token in application.properties, known to anyone
+    private static final String PLACEHOLDER_TOKEN = "change-this-replication-token";
+
+    private final MutationLog mutationLog;
+    private final TodoService todoService;
+    private final UserService userService;
+    private final TokenRevocationList revocationList;
+    private final byte[] token;
+
+    public ReplicationController(MutationLog mutationLog,
+                                 TodoService todoService,
+                                 UserService userService,
+                                 TokenRevocationList revocationList,
+                                 @Value("${replication.token}") String token) {
+        if (token.isBlank() || PLACEHOLDER_TOKEN.equals(token)) {
+            throw new IllegalStateException("Set replication.token to a secret value before running as leader");
+        }
+        this.mutationLog = mutationLog;
+        this.todoService = todoService;
+        this.userService = userService;
+        this.revocationList = revocationList;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read log entries after a sequence number (long poll)
+     * @param after last sequence number the follower has applied
+     * @param limit maximum number of entries
+     * @param waitMs how long to hold the request when there is nothing new
+     */
+    @GetMapping("/log")
+    public ResponseEntity<LogBatch> readLog(
+            @RequestHeader(value = "X-Replication-Token", required = false) String presentedToken,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(defaultValue = "0") long waitMs) throws InterruptedException {
+        if (!isAuthorized(presentedToken)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (after < 0 || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        LogBatch batch = mutationLog.readAfter(after, Math.min(limit, MAX_BATCH),
+                Math.min(Math.max(waitMs, 0), MAX_WAIT_MS));
+        return ResponseEntity.ok(batch);
+    }
+
+    /**
+     * Read the leader's state, for a follower that is too far behind to
+     * replay the log (the entries it needs are no longer kept)
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<Snapshot> readSnapshot(
+            @RequestHeader(value = "X-Replication-Token", required = false) String presentedToken) {
+        if (!isAuthorized(presentedToken)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        // Taken before the state is read: an entry is appended moments before its write
+        // becomes visible, so replay starts from the oldest kept entry, not the newest
+        long seq = mutationLog.firstRetainedSeq() - 1;
+        List<Todo> todos = todoService.findAll(false, null);
+        List<Long> archivedIds = List.copyOf(todoService.findArchivedIds());
+        List<User> users = userService.findAll().stream().map(MutationLog::withoutPassword).toList();
+        return ResponseEntity.ok(new Snapshot(mutationLog.runId(), seq, todos, archivedIds, users, revocationList.revocations()));
+    }
+
+    private boolean isAuthorized(String presentedToken) {
+        return presentedToken != null
+                && MessageDigest.isEqual(token, presentedToken.getBytes(StandardCharsets.UTF_8));
+    }
+}
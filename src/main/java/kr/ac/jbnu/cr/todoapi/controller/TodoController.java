@@ -11,14 +11,27 @@ import kr.ac.jbnu.cr.todoapi.dto.request.CreateTodoRequest;
 import kr.ac.jbnu.cr.todoapi.dto.request.UpdateTodoRequest;
 import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
 import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.Links;
+import kr.ac.jbnu.cr.todoapi.dto.response.TodoField;
+import kr.ac.jbnu.cr.todoapi.dto.response.TodoView;
+import kr.ac.jbnu.cr.todoapi.model.Job;
 import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.repository.TodoFilter;
+import kr.ac.jbnu.cr.todoapi.security.JwtAuthentication;
+import kr.ac.jbnu.cr.todoapi.service.JobService;
 import kr.ac.jbnu.cr.todoapi.service.TodoService;
+import kr.ac.jbnu.cr.todoapi.validation.BatchValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,50 +40,114 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/todos")
 @Tag(name = "Todo", description = "Todo management APIs")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TodoController {
 
     private final TodoService todoService;
+    private final JobService jobService;
+    private final BatchValidator batchValidator;
 
-    public TodoController(TodoService todoService) {
+    // In a sharded cluster todos are private to the user who created them
+    private final boolean sharded;
+
+    public TodoController(TodoService todoService,
+                          JobService jobService,
+                          BatchValidator batchValidator,
+                          @Value("${sharding.enabled:false}") boolean sharded) {
         this.todoService = todoService;
+        this.jobService = jobService;
+        this.batchValidator = batchValidator;
+        this.sharded = sharded;
     }
 
     // ========== GET ENDPOINTS ==========
 
-    @Operation(summary = "Get all todos", description = "Retrieve a list of all todos")
-    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved all todos")
+    @Operation(summary = "Get all todos",
+            description = "Retrieve a list of all todos. Use fields to return only some properties, "
+                    + "envelope=false to get the bare list without data/meta/links, "
+                    + "includeArchived=true to add archived completed todos, "
+                    + "tags with match=all|any to keep todos carrying all or any of the tags, "
+                    + "and done=true|false to keep only completed or open todos.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved all todos"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unknown field requested or invalid filter",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Todo>>> getAllTodos() {
+    public ResponseEntity<?> getAllTodos(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title,done")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Wrap the result in the data/meta/links envelope")
+            @RequestParam(defaultValue = "true") boolean envelope,
+            @Parameter(description = "Also list completed todos moved to the archive")
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @Parameter(description = "Comma-separated tags, e.g. work,urgent")
+            @RequestParam(required = false) String tags,
+            @Parameter(description = "all (default) to require every tag, any to require one of them")
+            @RequestParam(required = false) String match,
+            @Parameter(description = "true for completed todos only, false for open todos only")
+            @RequestParam(required = false) String done) {
+        TodoField[] selectedFields = fields == null ? null : TodoView.parseFields(fields);
+        TodoFilter filter = TodoFilter.parse(tags, match, done);
+        List<Todo> todos = todoService.findAll(includeArchived, ownerScope(), filter);
+        Object data = selectedFields == null ? todos : TodoView.of(todos, selectedFields);
+
+        if (!envelope) {
+            return ResponseEntity.ok(data);
+        }
+
         String requestId = UUID.randomUUID().toString();
-        List<Todo> todos = todoService.findAll();
+        return ResponseEntity.ok(ApiResponse.success(data, requestId, Links.TODOS));
+    }
 
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/todos");
+    @Operation(summary = "Get overdue todos", description = "Retrieve open todos whose due date has passed")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved overdue todos")
+    @GetMapping("/overdue")
+    public ResponseEntity<ApiResponse<List<Todo>>> getOverdueTodos() {
+        String requestId = UUID.randomUUID().toString();
+        Long owner = ownerScope();
+        List<Todo> todos = todoService.findOverdue();
+        if (owner != null) {
+            todos = todos.stream().filter(todo -> owner.equals(todo.getOwnerId())).toList();
+        }
 
-        return ResponseEntity.ok(ApiResponse.success(todos, requestId, links));
+        return ResponseEntity.ok(ApiResponse.success(todos, requestId, Links.TODOS_OVERDUE));
     }
 
-    @Operation(summary = "Get todo by ID", description = "Retrieve a single todo by its ID")
+    @Operation(summary = "Get todo by ID",
+            description = "Retrieve a single todo by its ID. Supports the same fields and envelope options as the list.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved the todo"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unknown field requested",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Todo not found",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Todo>> getTodoById(
-            @Parameter(description = "ID of the todo to retrieve") @PathVariable Long id) {
-        String requestId = UUID.randomUUID().toString();
-        Optional<Todo> todoOptional = todoService.findById(id);
+    public ResponseEntity<?> getTodoById(
+            @Parameter(description = "ID of the todo to retrieve") @PathVariable Long id,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title,done")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Wrap the result in the data/meta/links envelope")
+            @RequestParam(defaultValue = "true") boolean envelope) {
+        TodoField[] selectedFields = fields == null ? null : TodoView.parseFields(fields);
+        Long owner = ownerScope();
+        Optional<Todo> todoOptional = todoService.findById(id)
+                .filter(todo -> owner == null || owner.equals(todo.getOwnerId()));
 
         if (todoOptional.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
         Todo todo = todoOptional.get();
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/todos/" + id);
+        Object data = selectedFields == null ? todo : TodoView.of(todo, selectedFields);
 
-        return ResponseEntity.ok(ApiResponse.success(todo, requestId, links));
+        if (!envelope) {
+            return ResponseEntity.ok(data);
+        }
+
+        String requestId = UUID.randomUUID().toString();
+        return ResponseEntity.ok(ApiResponse.success(data, requestId, Links.todo(id)));
     }
 
     // ========== POST ENDPOINTS ==========
@@ -84,26 +161,29 @@ public class TodoController {
     @PostMapping
     public ResponseEntity<ApiResponse<Todo>> createTodo(@Valid @RequestBody CreateTodoRequest request) {
         String requestId = UUID.randomUUID().toString();
-        Todo createdTodo = todoService.create(request);
-
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/todos/" + createdTodo.getId());
+        Todo createdTodo = todoService.create(request, currentUserId());
 
         URI location = URI.create("/todos/" + createdTodo.getId());
 
         return ResponseEntity
                 .created(location)
-                .body(ApiResponse.success(createdTodo, requestId, links));
+                .body(ApiResponse.success(createdTodo, requestId, Links.todo(createdTodo.getId())));
     }
 
-    @Operation(summary = "Create multiple todos", description = "Create multiple todo items at once")
+    @Operation(summary = "Create multiple todos",
+            description = "Create multiple todo items at once. By default one invalid todo rejects the batch; "
+                    + "with partial=true the valid todos are created and the invalid ones reported by index.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Todos created successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "207", description = "Some todos created, others invalid (partial=true)"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request body",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/batch")
-    public ResponseEntity<?> createTodosBatch(@Valid @RequestBody List<CreateTodoRequest> requests) {
+    public ResponseEntity<?> createTodosBatch(
+            @RequestBody List<CreateTodoRequest> requests,
+            @Parameter(description = "Create the valid todos and report the invalid ones instead of rejecting the batch")
+            @RequestParam(defaultValue = "false") boolean partial) {
         String requestId = UUID.randomUUID().toString();
 
         if (requests == null || requests.isEmpty()) {
@@ -118,14 +198,53 @@ public class TodoController {
             return ResponseEntity.badRequest().body(error);
         }
 
-        List<Todo> createdTodos = todoService.createBatch(requests);
+        if (partial) {
+            return createValidTodos(requests, requestId);
+        }
 
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/todos/batch");
+        batchValidator.requireValid(requests);
+        List<Todo> createdTodos = todoService.createBatch(requests, currentUserId());
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(ApiResponse.success(createdTodos, requestId, links));
+                .body(ApiResponse.success(createdTodos, requestId, Links.TODOS_BATCH));
+    }
+
+    /**
+     * Create the valid todos of a batch in one store pass and report each item by index
+     */
+    private ResponseEntity<?> createValidTodos(List<CreateTodoRequest> requests, String requestId) {
+        Map<Integer, Map<String, String>> invalid = batchValidator.validateAll(requests);
+        List<CreateTodoRequest> valid = new ArrayList<>(requests.size() - invalid.size());
+        for (int i = 0; i < requests.size(); i++) {
+            if (!invalid.containsKey(i)) {
+                valid.add(requests.get(i));
+            }
+        }
+
+        Iterator<Todo> created = todoService.createBatch(valid, currentUserId()).iterator();
+        List<Map<String, Object>> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("index", i);
+            if (invalid.containsKey(i)) {
+                result.put("status", "invalid");
+                result.put("errors", invalid.get(i));
+            } else {
+                result.put("status", "created");
+                result.put("id", String.valueOf(created.next().getId()));
+            }
+            results.add(result);
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("created", valid.size());
+        data.put("invalid", invalid.size());
+        data.put("results", results);
+
+        return ResponseEntity
+                .status(invalid.isEmpty() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(ApiResponse.success(data, requestId, Links.TODOS_BATCH));
     }
 
     // ========== PUT ENDPOINTS ==========
@@ -144,24 +263,17 @@ public class TodoController {
             @Valid @RequestBody UpdateTodoRequest request) {
         String requestId = UUID.randomUUID().toString();
 
-        if (!todoService.existsById(id)) {
-            ErrorResponse error = ErrorResponse.builder()
-                    .type("about:blank")
-                    .title("Not Found")
-                    .status(404)
-                    .detail("Todo with id " + id + " not found.")
-                    .instance("/todos/" + id)
-                    .requestId(requestId)
-                    .build();
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        if (!todoService.existsById(id, ownerScope())) {
+            return notFound(id, "/todos/" + id, requestId);
         }
 
         Optional<Todo> updatedTodo = todoService.update(id, request);
+        if (updatedTodo.isEmpty()) {
+            // Deleted since the check above
+            return notFound(id, "/todos/" + id, requestId);
+        }
 
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/todos/" + id);
-
-        return ResponseEntity.ok(ApiResponse.success(updatedTodo.get(), requestId, links));
+        return ResponseEntity.ok(ApiResponse.success(updatedTodo.get(), requestId, Links.todo(id)));
     }
 
     @Operation(summary = "Mark todo as completed", description = "Mark a todo as completed by its ID")
@@ -177,36 +289,19 @@ public class TodoController {
             @Parameter(description = "ID of the todo to complete") @PathVariable Long id) {
         String requestId = UUID.randomUUID().toString();
 
-        if (!todoService.existsById(id)) {
-            ErrorResponse error = ErrorResponse.builder()
-                    .type("about:blank")
-                    .title("Not Found")
-                    .status(404)
-                    .detail("Todo with id " + id + " not found.")
-                    .instance("/todos/" + id + "/complete")
-                    .requestId(requestId)
-                    .build();
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
-        }
-
-        if (todoService.isCompleted(id)) {
-            ErrorResponse error = ErrorResponse.builder()
-                    .type("about:blank")
-                    .title("Conflict")
-                    .status(409)
-                    .detail("Todo with id " + id + " is already completed.")
-                    .instance("/todos/" + id + "/complete")
-                    .requestId(requestId)
-                    .build();
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        if (!todoService.existsById(id, ownerScope())) {
+            return notFound(id, "/todos/" + id + "/complete", requestId);
         }
 
         Optional<Todo> completedTodo = todoService.complete(id);
+        if (completedTodo.isEmpty()) {
+            // Already completed, or deleted since the check above
+            return todoService.existsById(id)
+                    ? alreadyCompleted(id, requestId)
+                    : notFound(id, "/todos/" + id + "/complete", requestId);
+        }
 
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/todos/" + id);
-
-        return ResponseEntity.ok(ApiResponse.success(completedTodo.get(), requestId, links));
+        return ResponseEntity.ok(ApiResponse.success(completedTodo.get(), requestId, Links.todo(id)));
     }
 
     // ========== DELETE ENDPOINTS ==========
@@ -222,16 +317,8 @@ public class TodoController {
             @Parameter(description = "ID of the todo to delete") @PathVariable Long id) {
         String requestId = UUID.randomUUID().toString();
 
-        if (!todoService.existsById(id)) {
-            ErrorResponse error = ErrorResponse.builder()
-                    .type("about:blank")
-                    .title("Not Found")
-                    .status(404)
-                    .detail("Todo with id " + id + " not found.")
-                    .instance("/todos/" + id)
-                    .requestId(requestId)
-                    .build();
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        if (!todoService.existsById(id, ownerScope())) {
+            return notFound(id, "/todos/" + id, requestId);
         }
 
         todoService.delete(id);
@@ -239,22 +326,75 @@ public class TodoController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Delete all completed todos", description = "Delete all todos that are marked as completed")
-    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Completed todos deleted successfully")
+    @Operation(summary = "Delete all completed todos",
+            description = "Delete all todos that are marked as completed. "
+                    + "With async=true the deletion runs as a background job and 202 is returned.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Completed todos deleted successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Deletion job accepted"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Too many pending jobs",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
     @DeleteMapping("/completed")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> deleteCompletedTodos() {
+    public ResponseEntity<?> deleteCompletedTodos(
+            @Parameter(description = "Run the deletion as a background job")
+            @RequestParam(defaultValue = "false") boolean async) {
         String requestId = UUID.randomUUID().toString();
+        Long owner = ownerScope();
+
+        if (async) {
+            Job job = jobService.submit("delete-completed", currentUserId(),
+                    chunkSize -> todoService.deleteCompletedChunk(chunkSize, owner));
+            return ResponseEntity
+                    .accepted()
+                    .location(URI.create("/jobs/" + job.getId()))
+                    .body(ApiResponse.success(job, requestId, Links.job(job.getId())));
+        }
 
-        int deletedCount = todoService.deleteCompleted();
+        int deletedCount = todoService.deleteCompleted(owner);
 
         Map<String, Object> result = new HashMap<>();
         result.put("deletedCount", deletedCount);
         result.put("message", deletedCount + " completed todo(s) deleted.");
 
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/todos/completed");
-        links.put("todos", "/todos");
+        return ResponseEntity.ok(ApiResponse.success(result, requestId, Links.TODOS_COMPLETED));
+    }
+
+    private static ResponseEntity<ErrorResponse> notFound(Long id, String instance, String requestId) {
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Not Found")
+                .status(404)
+                .detail("Todo with id " + id + " not found.")
+                .instance(instance)
+                .requestId(requestId)
+                .build();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    private static ResponseEntity<ErrorResponse> alreadyCompleted(Long id, String requestId) {
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Conflict")
+                .status(409)
+                .detail("Todo with id " + id + " is already completed.")
+                .instance("/todos/" + id + "/complete")
+                .requestId(requestId)
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    private Long currentUserId() {
+        if (SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthentication authentication) {
+            return authentication.getUserId();
+        }
+        return null;
+    }
 
-        return ResponseEntity.ok(ApiResponse.success(result, requestId, links));
+    /**
+     * Owner whose todos the caller may see, or null when todos are shared
+     */
+    private Long ownerScope() {
+        return sharded ? currentUserId() : null;
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,14 @@
 package kr.ac.jbnu.cr.todoapi.dto.request;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -19,4 +22,9 @@ public class CreateTodoRequest {
     private String description;
 
     private LocalDate dueDate;
+
+    @Size(max = 10, message = "A todo can have at most 10 tags")
+    private List<@NotNull(message = "Tags must not be null")
+            @Pattern(regexp = "[\\p{L}\\p{N}_-]{1,30}",
+                    message = "Tags are 1 to 30 letters, digits, '-' or '_'") String> tags;
 }
\ No newline at end of file
@@ -1,15 +1,17 @@
 package kr.ac.jbnu.cr.todoapi.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import kr.ac.jbnu.cr.todoapi.util.CachedClock;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.time.Instant;
 import java.util.Map;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ApiResponse<T> {
 
     private T data;
@@ -19,13 +21,14 @@ public class ApiResponse<T> {
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class Meta {
         private String requestId;
         private String servedAt;
 
         public Meta(String requestId) {
             this.requestId = requestId;
-            this.servedAt = Instant.now().toString();
+            this.servedAt = CachedClock.nowIso();
         }
     }
 
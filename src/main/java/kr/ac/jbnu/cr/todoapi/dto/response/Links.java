@@ -0,0 +1,44 @@
+package kr.ac.jbnu.cr.todoapi.dto.response;
+
+import java.util.Map;
+
+/**
+ * Hypermedia links used in ApiResponse envelopes.
+ * Fixed link sets are shared constants; only per-todo links are built per response.
+ */
+public final class Links {
+
+    public static final Map<String, String> TODOS = Map.of("self", "/todos");
+    public static final Map<String, String> TODOS_OVERDUE = Map.of(
+            "self", "/todos/overdue",
+            "todos", "/todos");
+    public static final Map<String, String> TODOS_BATCH = Map.of("self", "/todos/batch");
+    public static final Map<String, String> TODOS_COMPLETED = Map.of(
+            "self", "/todos/completed",
+            "todos", "/todos");
+
+    public static final Map<String, String> REGISTER = Map.of("login", "/auth/login");
+    public static final Map<String, String> LOGIN = Map.of(
+            "self", "/auth/login",
+            "me", "/auth/me");
+    public static final Map<String, String> ME = Map.of("self", "/auth/me");
+
+    private Links() {
+    }
+
+    /**
+     * Links of a background job
+     */
+    public static Map<String, String> job(String id) {
+        return Map.of(
+                "self", "/jobs/" + id,
+                "events", "/jobs/" + id + "/events");
+    }
+
+    /**
+     * Self link of a single todo
+     */
+    public static Map<String, String> todo(Long id) {
+        return Map.of("self", "/todos/" + id);
+    }
+}
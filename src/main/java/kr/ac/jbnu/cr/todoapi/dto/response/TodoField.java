@@ -0,0 +1,110 @@
+package kr.ac.jbnu.cr.todoapi.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+
+import java.io.IOException;
+
+/**
+ * Selectable todo fields for sparse fieldsets (?fields=id,title,done).
+ * Each constant writes its own property straight from the Todo.
+ */
+public enum TodoField {
+
+    ID("id") {
+        @Override
+        void write(Todo todo, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeFieldName(property);
+            if (todo.getId() == null) {
+                gen.writeNull();
+            } else {
+                // A string, as in a full todo (see Todo.id)
+                gen.writeString(Long.toString(todo.getId()));
+            }
+        }
+    },
+    TITLE("title") {
+        @Override
+        void write(Todo todo, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStringField(property, todo.getTitle());
+        }
+    },
+    DESCRIPTION("description") {
+        @Override
+        void write(Todo todo, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStringField(property, todo.getDescription());
+        }
+    },
+    DUE_DATE("dueDate") {
+        @Override
+        void write(Todo todo, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            provider.defaultSerializeField(property, todo.getDueDate(), gen);
+        }
+    },
+    DONE("done") {
+        @Override
+        void write(Todo todo, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeBooleanField(property, todo.isDone());
+        }
+    },
+    CREATED_AT("createdAt") {
+        @Override
+        void write(Todo todo, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            provider.defaultSerializeField(property, todo.getCreatedAt(), gen);
+        }
+    },
+    UPDATED_AT("updatedAt") {
+        @Override
+        void write(Todo todo, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            provider.defaultSerializeField(property, todo.getUpdatedAt(), gen);
+        }
+    },
+    OWNER_ID("ownerId") {
+        @Override
+        void write(Todo todo, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeFieldName(property);
+            if (todo.getOwnerId() == null) {
+                gen.writeNull();
+            } else {
+                // A string, as in a full todo (see Todo.ownerId)
+                gen.writeString(Long.toString(todo.getOwnerId()));
+            }
+        }
+    },
+    TAGS("tags") {
+        @Override
+        void write(Todo todo, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeArrayFieldStart(property);
+            for (String tag : todo.getTags()) {
+                gen.writeString(tag);
+            }
+            gen.writeEndArray();
+        }
+    };
+
+    final String property;
+
+    TodoField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    abstract void write(Todo todo, JsonGenerator gen, SerializerProvider provider) throws IOException;
+
+    /**
+     * Look up a field by its JSON property name
+     * @return the field, or null if unknown
+     */
+    public static TodoField fromName(String name) {
+        for (TodoField field : values()) {
+            if (field.property.equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,98 @@
+package kr.ac.jbnu.cr.todoapi.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import kr.ac.jbnu.cr.todoapi.exception.InvalidFieldSelectionException;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Projection of one todo or a list of todos onto a sparse fieldset.
+ * Serialized field by field from the Todo objects, without intermediate maps.
+ */
+@JsonSerialize(using = TodoView.Serializer.class)
+public class TodoView {
+
+    private final Todo todo;
+    private final List<Todo> todos;
+    private final TodoField[] fields;
+
+    private TodoView(Todo todo, List<Todo> todos, TodoField[] fields) {
+        this.todo = todo;
+        this.todos = todos;
+        this.fields = fields;
+    }
+
+    public static TodoView of(Todo todo, TodoField[] fields) {
+        return new TodoView(todo, null, fields);
+    }
+
+    public static TodoView of(List<Todo> todos, TodoField[] fields) {
+        return new TodoView(null, todos, fields);
+    }
+
+    /**
+     * Parse a ?fields= parameter
+     * @param fields comma-separated field names, or null/blank for all fields
+     * @return the selected fields in declaration order
+     * @throws InvalidFieldSelectionException if a name is not a todo field
+     */
+    public static TodoField[] parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return TodoField.values();
+        }
+        EnumSet<TodoField> selected = EnumSet.noneOf(TodoField.class);
+        List<String> unknown = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            TodoField field = TodoField.fromName(trimmed);
+            if (field == null) {
+                unknown.add(trimmed);
+            } else {
+                selected.add(field);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new InvalidFieldSelectionException(unknown);
+        }
+        return selected.toArray(new TodoField[0]);
+    }
+
+    static class Serializer extends StdSerializer<TodoView> {
+
+        Serializer() {
+            super(TodoView.class);
+        }
+
+        @Override
+        public void serialize(TodoView view, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (view.todos == null) {
+                writeTodo(view.todo, view.fields, gen, provider);
+                return;
+            }
+            gen.writeStartArray(view.todos, view.todos.size());
+            for (Todo todo : view.todos) {
+                writeTodo(todo, view.fields, gen, provider);
+            }
+            gen.writeEndArray();
+        }
+
+        private void writeTodo(Todo todo, TodoField[] fields, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(todo);
+            for (TodoField field : fields) {
+                field.write(todo, gen, provider);
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package kr.ac.jbnu.cr.todoapi.event;
+
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+
+/**
+ * Published once when an open todo passes its due date
+ * @param todo the todo that became overdue
+ */
+public record TodoOverdueEvent(Todo todo) {
+}
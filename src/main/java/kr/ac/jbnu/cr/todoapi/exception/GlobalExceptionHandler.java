@@ -4,7 +4,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -14,7 +17,10 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -23,10 +29,12 @@ import java.util.UUID;
  * Returns responses following RFC 9457 (Problem Details for HTTP APIs).
  */
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     private static final MediaType PROBLEM_JSON = MediaType.parseMediaType("application/problem+json");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
 
     /**
      * Handle 404 Not Found - Todo not found
@@ -49,7 +57,7 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
-                .contentType(PROBLEM_JSON)
+                .contentType(problemContentType(request))
                 .body(error);
     }
 
@@ -74,7 +82,58 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity
                 .status(HttpStatus.CONFLICT)
-                .contentType(PROBLEM_JSON)
+                .contentType(problemContentType(request))
+                .body(error);
+    }
+
+    /**
+     * Handle 404 Not Found - Job not found or expired
+     */
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotFound(JobNotFoundException ex,
+                                                           HttpServletRequest request) {
+        String requestId = UUID.randomUUID().toString();
+
+        logger.warn("[{}] Job not found: {}", requestId, ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Not Found")
+                .status(404)
+                .detail(ex.getMessage())
+                .instance(request.getRequestURI())
+                .requestId(requestId)
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .contentType(problemContentType(request))
+                .body(error);
+    }
+
+    /**
+     * Handle 503 Service Unavailable - Job queue full
+     */
+    @ExceptionHandler(JobRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleJobRejected(JobRejectedException ex,
+                                                           HttpServletRequest request) {
+        String requestId = UUID.randomUUID().toString();
+
+        logger.warn("[{}] Job rejected: {}", requestId, ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Service Unavailable")
+                .status(503)
+                .detail(ex.getMessage())
+                .instance(request.getRequestURI())
+                .requestId(requestId)
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .contentType(problemContentType(request))
                 .body(error);
     }
 
@@ -105,7 +164,93 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
-                .contentType(PROBLEM_JSON)
+                .contentType(problemContentType(request))
+                .body(error);
+    }
+
+    /**
+     * Handle 400 Bad Request - Unknown field in a sparse fieldset
+     */
+    @ExceptionHandler(InvalidFieldSelectionException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFieldSelection(InvalidFieldSelectionException ex,
+                                                                     HttpServletRequest request) {
+        String requestId = UUID.randomUUID().toString();
+
+        logger.warn("[{}] Invalid field selection: {}", requestId, ex.getUnknownFields());
+
+        Map<String, Object> fieldErrors = new HashMap<>();
+        fieldErrors.put("fields", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Invalid Request")
+                .status(400)
+                .detail(ex.getMessage())
+                .instance(request.getRequestURI())
+                .errors(fieldErrors)
+                .requestId(requestId)
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(problemContentType(request))
+                .body(error);
+    }
+
+    /**
+     * Handle 400 Bad Request - Invalid item in a batch request body
+     */
+    @ExceptionHandler(InvalidBatchItemException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBatchItem(InvalidBatchItemException ex,
+                                                                HttpServletRequest request) {
+        String requestId = UUID.randomUUID().toString();
+
+        Map<String, Object> fieldErrors = ex.getIndexedErrors();
+
+        logger.warn("[{}] Validation error in batch: {}", requestId, fieldErrors);
+
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Invalid Request")
+                .status(400)
+                .detail(ex.getMessage())
+                .instance(request.getRequestURI())
+                .errors(fieldErrors)
+                .requestId(requestId)
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(problemContentType(request))
+                .body(error);
+    }
+
+    /**
+     * Handle 400 Bad Request - Invalid value of a list filter (?match=, ?done=)
+     */
+    @ExceptionHandler(InvalidFilterException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFilter(InvalidFilterException ex,
+                                                             HttpServletRequest request) {
+        String requestId = UUID.randomUUID().toString();
+
+        logger.warn("[{}] Invalid filter: {}", requestId, ex.getMessage());
+
+        Map<String, Object> fieldErrors = new HashMap<>();
+        fieldErrors.put(ex.getParameter(), ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Invalid Request")
+                .status(400)
+                .detail(ex.getMessage())
+                .instance(request.getRequestURI())
+                .errors(fieldErrors)
+                .requestId(requestId)
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(problemContentType(request))
                 .body(error);
     }
 
@@ -130,7 +275,7 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
-                .contentType(PROBLEM_JSON)
+                .contentType(problemContentType(request))
                 .body(error);
     }
 
@@ -155,7 +300,7 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity
                 .status(HttpStatus.METHOD_NOT_ALLOWED)
-                .contentType(PROBLEM_JSON)
+                .contentType(problemContentType(request))
                 .body(error);
     }
 
@@ -163,7 +308,8 @@ public class GlobalExceptionHandler {
      * Handle 404 Not Found - No handler found
      */
     @ExceptionHandler(NoHandlerFoundException.class)
-    public ResponseEntity<ErrorResponse> handleNoHandlerFound(NoHandlerFoundException ex) {
+    public ResponseEntity<ErrorResponse> handleNoHandlerFound(NoHandlerFoundException ex,
+                                                              HttpServletRequest request) {
         String requestId = UUID.randomUUID().toString();
 
         logger.warn("[{}] No handler found: {} {}", requestId, ex.getHttpMethod(), ex.getRequestURL());
@@ -179,7 +325,7 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
-                .contentType(PROBLEM_JSON)
+                .contentType(problemContentType(request))
                 .body(error);
     }
 
@@ -204,7 +350,38 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .contentType(PROBLEM_JSON)
+                .contentType(problemContentType(request))
                 .body(error);
     }
+
+    /**
+     * Problem details in the format the client prefers: the accepted type
+     * with the highest quality, JSON when it accepts any, or when it names
+     * none we can write
+     */
+    private MediaType problemContentType(HttpServletRequest request) {
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT)));
+        } catch (InvalidMediaTypeException e) {
+            return PROBLEM_JSON;
+        }
+        // Stable: equal qualities keep the client's order
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                break;
+            }
+            if (type.includes(PROBLEM_JSON) || type.includes(MediaType.APPLICATION_JSON)) {
+                return PROBLEM_JSON;
+            }
+            if (type.includes(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (type.includes(SMILE)) {
+                return SMILE;
+            }
+        }
+        return PROBLEM_JSON;
+    }
 }
\ No newline at end of file
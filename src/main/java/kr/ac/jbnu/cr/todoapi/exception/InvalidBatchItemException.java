@@ -0,0 +1,33 @@
+package kr.ac.jbnu.cr.todoapi.exception;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exception thrown when an item of a batch request body fails validation
+ */
+public class InvalidBatchItemException extends RuntimeException {
+
+    private final int index;
+    private final Map<String, String> errors;
+
+    public InvalidBatchItemException(int index, Map<String, String> errors) {
+        super("Batch item " + index + " is invalid.");
+        this.index = index;
+        this.errors = Map.copyOf(errors);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Messages keyed by field path within the batch, e.g. "[3].title"
+     */
+    public Map<String, Object> getIndexedErrors() {
+        Map<String, Object> indexed = new HashMap<>();
+        errors.forEach((field, message) ->
+                indexed.put(field.isEmpty() ? "[" + index + "]" : "[" + index + "]." + field, message));
+        return indexed;
+    }
+}
@@ -0,0 +1,20 @@
+package kr.ac.jbnu.cr.todoapi.exception;
+
+import java.util.List;
+
+/**
+ * Exception thrown when a ?fields= selection names unknown fields
+ */
+public class InvalidFieldSelectionException extends RuntimeException {
+
+    private final List<String> unknownFields;
+
+    public InvalidFieldSelectionException(List<String> unknownFields) {
+        super("Unknown field(s): " + String.join(", ", unknownFields) + ".");
+        this.unknownFields = List.copyOf(unknownFields);
+    }
+
+    public List<String> getUnknownFields() {
+        return unknownFields;
+    }
+}
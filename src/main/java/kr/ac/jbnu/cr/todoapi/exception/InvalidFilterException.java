@@ -0,0 +1,18 @@
+package kr.ac.jbnu.cr.todoapi.exception;
+
+/**
+ * Exception thrown when a list filter parameter (?match=, ?done=) has an invalid value
+ */
+public class InvalidFilterException extends RuntimeException {
+
+    private final String parameter;
+
+    public InvalidFilterException(String parameter, String message) {
+        super(message);
+        this.parameter = parameter;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+}
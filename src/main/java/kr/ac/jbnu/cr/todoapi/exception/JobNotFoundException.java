@@ -0,0 +1,18 @@
+package kr.ac.jbnu.cr.todoapi.exception;
+
+/**
+ * Exception thrown when a job is not found (or has expired)
+ */
+public class JobNotFoundException extends RuntimeException {
+
+    private final String jobId;
+
+    public JobNotFoundException(String jobId) {
+        super("Job with id " + jobId + " not found.");
+        this.jobId = jobId;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+}
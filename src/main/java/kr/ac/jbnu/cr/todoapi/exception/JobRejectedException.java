@@ -0,0 +1,11 @@
+package kr.ac.jbnu.cr.todoapi.exception;
+
+/**
+ * Exception thrown when the job queue is full
+ */
+public class JobRejectedException extends RuntimeException {
+
+    public JobRejectedException(String type) {
+        super("Too many pending jobs, cannot start '" + type + "' now.");
+    }
+}
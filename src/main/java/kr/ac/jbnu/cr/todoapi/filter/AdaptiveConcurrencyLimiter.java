@@ -0,0 +1,220 @@
+package kr.ac.jbnu.cr.todoapi.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limiter whose limit follows observed latency (gradient algorithm).
+ *
+ * Request round-trip times are averaged over short windows. Each window is
+ * compared with a long-term average: while latency stays within the tolerance
+ * the limit grows by about sqrt(limit), once requests start queueing inside the
+ * server latency rises and the limit shrinks proportionally.
+ * Requests that find no free slot may wait briefly in a bounded queue.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double LONG_RTT_DECAY = 1.0 / 600;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double lowPriorityShare;
+    private final int maxQueue;
+    private final LongSupplier nanoClock;
+
+    private volatile double estimatedLimit;
+    private volatile int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private volatile long windowStart;
+    private volatile int windowMaxInFlight;
+    private double longRtt;
+
+    private final LongAdder rejectedHigh = new LongAdder();
+    private final LongAdder rejectedLow = new LongAdder();
+
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final Condition slotReleased = queueLock.newCondition();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double rttTolerance, double lowPriorityShare, int maxQueue) {
+        this(initialLimit, minLimit, maxLimit, rttTolerance, lowPriorityShare, maxQueue, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                               double rttTolerance, double lowPriorityShare, int maxQueue,
+                               LongSupplier nanoClock) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.lowPriorityShare = lowPriorityShare;
+        this.maxQueue = maxQueue;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+        this.nanoClock = nanoClock;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * Take an in-flight slot, waiting up to the given time if none is free
+     * @return true if the request may proceed and must call {@link #release(long)}
+     */
+    public boolean acquire(RequestPriority priority, long maxWaitNanos) throws InterruptedException {
+        if (tryAcquire(priority)) {
+            return true;
+        }
+        if (maxWaitNanos <= 0) {
+            countRejection(priority);
+            return false;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            countRejection(priority);
+            return false;
+        }
+
+        try {
+            long remaining = maxWaitNanos;
+            queueLock.lock();
+            try {
+                while (!tryAcquire(priority)) {
+                    if (remaining <= 0) {
+                        countRejection(priority);
+                        return false;
+                    }
+                    remaining = slotReleased.awaitNanos(remaining);
+                }
+                return true;
+            } finally {
+                queueLock.unlock();
+            }
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Give back a slot and record the request's round-trip time
+     * @param startNanos System.nanoTime() when the slot was acquired
+     */
+    public void release(long startNanos) {
+        long now = nanoClock.getAsLong();
+        inFlight.decrementAndGet();
+        windowRttSum.add(now - startNanos);
+        windowSamples.increment();
+
+        if (queued.get() > 0) {
+            queueLock.lock();
+            try {
+                // Waiters have different thresholds, so wake them all and let them re-check
+                slotReleased.signalAll();
+            } finally {
+                queueLock.unlock();
+            }
+        }
+
+        if (now - windowStart >= WINDOW_NANOS && updateLock.tryLock()) {
+            try {
+                closeWindow(now);
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getRejected(RequestPriority priority) {
+        return priority == RequestPriority.HIGH ? rejectedHigh.sum() : rejectedLow.sum();
+    }
+
+    private boolean tryAcquire(RequestPriority priority) {
+        int threshold = priority == RequestPriority.HIGH
+                ? limit
+                : Math.max(1, (int) (limit * lowPriorityShare));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= threshold) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                if (current + 1 > windowMaxInFlight) {
+                    windowMaxInFlight = current + 1;
+                }
+                return true;
+            }
+        }
+    }
+
+    private void countRejection(RequestPriority priority) {
+        if (priority == RequestPriority.HIGH) {
+            rejectedHigh.increment();
+        } else {
+            rejectedLow.increment();
+        }
+    }
+
+    /**
+     * Fold the current window into the limit estimate. Called by one thread at a time.
+     */
+    private void closeWindow(long now) {
+        if (now - windowStart < WINDOW_NANOS) {
+            return;
+        }
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttSum.sumThenReset();
+        int maxInFlight = windowMaxInFlight;
+        windowMaxInFlight = 0;
+        windowStart = now;
+        if (samples < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+
+        double shortRtt = (double) rttSum / samples;
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) * LONG_RTT_DECAY;
+        }
+        // Latency dropped well below the baseline (load went away): let the baseline catch up faster
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double current = estimatedLimit;
+        // The server was not the bottleneck: no evidence to grow on
+        if (maxInFlight < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double next = current * gradient + Math.sqrt(current);
+        next = current * (1 - SMOOTHING) + next * SMOOTHING;
+        next = Math.max(minLimit, Math.min(maxLimit, next));
+
+        estimatedLimit = next;
+        limit = (int) next;
+    }
+}
@@ -0,0 +1,36 @@
+package kr.ac.jbnu.cr.todoapi.filter;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint (/actuator/concurrency) exposing the adaptive limit and shedding counters
+ */
+@Component
+@Endpoint(id = "concurrency")
+public class ConcurrencyLimitEndpoint {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitEndpoint(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> concurrency() {
+        Map<String, Object> rejected = new LinkedHashMap<>();
+        rejected.put("high", limiter.getRejected(RequestPriority.HIGH));
+        rejected.put("low", limiter.getRejected(RequestPriority.LOW));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("limit", limiter.getLimit());
+        result.put("inFlight", limiter.getInFlight());
+        result.put("queued", limiter.getQueued());
+        result.put("rejected", rejected);
+        return result;
+    }
+}
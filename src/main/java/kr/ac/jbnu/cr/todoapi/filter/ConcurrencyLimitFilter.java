@@ -0,0 +1,112 @@
+package kr.ac.jbnu.cr.todoapi.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.ac.jbnu.cr.todoapi.config.EnvelopeHttpMessageConverter;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-wide load shedding. Runs before the security chain so that an
+ * overloaded server rejects excess requests with a fast 503 before spending
+ * any work on them.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    // Collection reads: the most expensive requests and the first ones to shed
+    private static final Set<String> LIST_PATHS = Set.of("/todos", "/todos/overdue");
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final long highPriorityQueueNanos;
+    private final long lowPriorityQueueNanos;
+    private final EnvelopeHttpMessageConverter envelopeConverter;
+
+    public ConcurrencyLimitFilter(
+            @Value("${concurrency.enabled:true}") boolean enabled,
+            @Value("${concurrency.high-priority-queue-timeout-ms}") long highPriorityQueueMillis,
+            @Value("${concurrency.low-priority-queue-timeout-ms}") long lowPriorityQueueMillis,
+            AdaptiveConcurrencyLimiter limiter,
+            EnvelopeHttpMessageConverter envelopeConverter) {
+        this.enabled = enabled;
+        this.limiter = limiter;
+        this.highPriorityQueueNanos = TimeUnit.MILLISECONDS.toNanos(highPriorityQueueMillis);
+        this.lowPriorityQueueNanos = TimeUnit.MILLISECONDS.toNanos(lowPriorityQueueMillis);
+        this.envelopeConverter = envelopeConverter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // A stream would hold its permit for minutes and feed its duration to the limiter
+        return !enabled || LongLivedRequests.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        RequestPriority priority = classify(request);
+        long maxWait = priority == RequestPriority.HIGH ? highPriorityQueueNanos : lowPriorityQueueNanos;
+
+        boolean admitted;
+        try {
+            admitted = limiter.acquire(priority, maxWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(start);
+        }
+    }
+
+    /**
+     * Writes and health checks are HIGH, list reads are LOW
+     */
+    private RequestPriority classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        if (read && LIST_PATHS.contains(request.getRequestURI())) {
+            return RequestPriority.LOW;
+        }
+        return RequestPriority.HIGH;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Service Unavailable")
+                .status(503)
+                .detail("The server is overloaded. Please retry shortly.")
+                .instance(request.getRequestURI())
+                .requestId(UUID.randomUUID().toString())
+                .build();
+
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", "1");
+        response.setContentType(EnvelopeHttpMessageConverter.PROBLEM_JSON.toString());
+        envelopeConverter.write(error, response.getOutputStream());
+    }
+}
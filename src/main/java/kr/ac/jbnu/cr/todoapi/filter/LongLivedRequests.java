@@ -0,0 +1,20 @@
+package kr.ac.jbnu.cr.todoapi.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Requests that stay open by design: the replication long poll and job event
+ * streams. Their duration says nothing about server load or latency, so the
+ * concurrency limiter, timing and access log filters leave them alone.
+ */
+public final class LongLivedRequests {
+
+    private LongLivedRequests() {
+    }
+
+    public static boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/replication/")
+                || path.startsWith("/jobs/") && path.endsWith("/events");
+    }
+}
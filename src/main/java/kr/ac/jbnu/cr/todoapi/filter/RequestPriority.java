@@ -0,0 +1,11 @@
+package kr.ac.jbnu.cr.todoapi.filter;
+
+/**
+ * Admission priority of a request under load.
+ * HIGH requests may use the whole concurrency limit, LOW ones only a share of it,
+ * so list reads are shed before writes and health checks.
+ */
+public enum RequestPriority {
+    HIGH,
+    LOW
+}
@@ -0,0 +1,269 @@
+package kr.ac.jbnu.cr.todoapi.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.ac.jbnu.cr.todoapi.config.EnvelopeHttpMessageConverter;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.security.JwtAuthentication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Honors the Idempotency-Key header on POST /todos and /todos/batch, placed
+ * after RateLimitFilter (and ShardRoutingFilter, so it runs on the node that
+ * owns the caller's todos).
+ *
+ * The first request with a key runs and its response (status, body,
+ * Location) is kept per user and key; retries get it back with an
+ * Idempotent-Replayed header instead of creating the todos again. Server
+ * errors are not kept, so a retry after one runs the request again.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final boolean enabled;
+    private final IdempotencyStore store;
+    private final long waitTimeoutMillis;
+    private final EnvelopeHttpMessageConverter envelopeConverter;
+
+    public IdempotencyFilter(
+            @Value("${idempotency.enabled:true}") boolean enabled,
+            @Value("${idempotency.ttl-ms}") long ttlMillis,
+            @Value("${idempotency.max-entries}") int maxEntries,
+            @Value("${idempotency.wait-timeout-ms}") long waitTimeoutMillis,
+            EnvelopeHttpMessageConverter envelopeConverter) {
+        this.enabled = enabled;
+        this.store = new IdempotencyStore(ttlMillis, maxEntries);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.envelopeConverter = envelopeConverter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod()) || request.getHeader(KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !path.equals("/todos") && !path.equals("/todos/batch");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(authentication instanceof JwtAuthentication jwtAuthentication)) {
+            // Answered with a 401 further down the chain
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long userId = jwtAuthentication.getUserId();
+
+        String key = request.getHeader(KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            problem(request, response, 400, "Invalid Request",
+                    KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        byte[] fingerprint = fingerprint(request, body);
+        HttpServletRequest replayable = new CachedBodyRequest(request, body);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(userId, key, fingerprint, System.nanoTime());
+            IdempotencyStore.Entry entry = claim.entry();
+            if (!entry.matches(fingerprint)) {
+                problem(request, response, 422, "Unprocessable Content",
+                        KEY_HEADER + " was already used for a different request.");
+                return;
+            }
+            if (claim.claimed()) {
+                execute(replayable, response, filterChain, userId, key, entry);
+                return;
+            }
+
+            IdempotencyStore.StoredResponse stored;
+            try {
+                long remainingMillis = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+                stored = entry.await(remainingMillis);
+            } catch (TimeoutException e) {
+                problem(request, response, 409, "Conflict",
+                        "A request with this " + KEY_HEADER + " is still being processed. Please retry shortly.");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            }
+            if (stored != null) {
+                replay(stored, response);
+                return;
+            }
+            // The first request failed and freed the key: claim it for this one
+        }
+    }
+
+    /**
+     * Drop responses past their time to live
+     */
+    @Scheduled(fixedDelayString = "${idempotency.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        int evicted = store.evictExpired(System.nanoTime());
+        if (evicted > 0) {
+            logger.debug("Evicted {} expired idempotency keys ({} remaining)", evicted, store.size());
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         long userId, String key, IdempotencyStore.Entry entry) throws ServletException, IOException {
+        ContentCachingResponseWrapper capturing = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, capturing);
+            if (capturing.getStatus() < 500) {
+                store.complete(entry, new IdempotencyStore.StoredResponse(capturing.getStatus(),
+                        capturing.getContentType(), capturing.getHeader("Location"),
+                        capturing.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.abandon(userId, key, entry);
+            }
+            capturing.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader("Location", stored.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static byte[] fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '\n').getBytes(StandardCharsets.UTF_8));
+            return digest.digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void problem(HttpServletRequest request, HttpServletResponse response,
+                         int status, String title, String detail) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title(title)
+                .status(status)
+                .detail(detail)
+                .instance(request.getRequestURI())
+                .requestId(UUID.randomUUID().toString())
+                .build();
+
+        response.setStatus(status);
+        response.setContentType(EnvelopeHttpMessageConverter.PROBLEM_JSON.toString());
+        envelopeConverter.write(error, response.getOutputStream());
+    }
+
+    /**
+     * The request with its body already read, served again from memory
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Body already read");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package kr.ac.jbnu.cr.todoapi.idempotency;
+
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Responses to requests sent with an Idempotency-Key, per user and key.
+ *
+ * The first request with a key claims it and runs; its response is kept for
+ * the time to live and replayed to retries. A retry arriving while the first
+ * request still runs waits for that response instead of running twice.
+ *
+ * Entries are kept in claim order, which is also expiry order, so expiry and
+ * eviction both take from the head. When full, the oldest completed entry
+ * makes room; in-flight claims are never dropped, so the store may exceed its
+ * bound by the number of requests in flight (itself capped by the
+ * concurrency limiter).
+ */
+public class IdempotencyStore {
+
+    /**
+     * A response as sent to the first request
+     */
+    public record StoredResponse(int status, String contentType, String location, byte[] body) {
+    }
+
+    /**
+     * Outcome of a claim
+     * @param entry the entry of the key, new or existing
+     * @param claimed true if the caller created the entry and must run the request
+     */
+    public record Claim(Entry entry, boolean claimed) {
+    }
+
+    public static final class Entry {
+
+        private final byte[] fingerprint;
+        private final long expiresAtNanos;
+        // Completed with null when the first request fails and leaves the key to a retry
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        private Entry(byte[] fingerprint, long expiresAtNanos) {
+            this.fingerprint = fingerprint;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        /**
+         * Whether a request is the same as the one that claimed the key
+         */
+        public boolean matches(byte[] requestFingerprint) {
+            return MessageDigest.isEqual(fingerprint, requestFingerprint);
+        }
+
+        /**
+         * Wait for the response of the request that claimed the key
+         * @return the response, or null if that request failed and the key is free again
+         * @throws TimeoutException if it is still running after the timeout
+         */
+        public StoredResponse await(long timeoutMillis) throws TimeoutException, InterruptedException {
+            try {
+                return response.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                return null;
+            }
+        }
+    }
+
+    private record Key(long userId, String key) {
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public IdempotencyStore(long ttlMillis, int maxEntries) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Claim a key, or find the live entry of an earlier request with it
+     * @param fingerprint digest of the request, compared on retries
+     * @param now current System.nanoTime()
+     */
+    public Claim claim(long userId, String key, byte[] fingerprint, long now) {
+        Key entryKey = new Key(userId, key);
+        lock.lock();
+        try {
+            Entry existing = entries.get(entryKey);
+            if (existing != null && existing.expiresAtNanos - now > 0) {
+                return new Claim(existing, false);
+            }
+            if (existing != null) {
+                entries.remove(entryKey);
+            }
+            makeRoom(now);
+            Entry entry = new Entry(fingerprint, now + ttlNanos);
+            entries.put(entryKey, entry);
+            return new Claim(entry, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Store the response of a claimed key and release the retries waiting for it
+     */
+    public void complete(Entry entry, StoredResponse response) {
+        entry.response.complete(response);
+    }
+
+    /**
+     * Free a claimed key after its request failed; waiting retries claim it again
+     */
+    public void abandon(long userId, String key, Entry entry) {
+        lock.lock();
+        try {
+            entries.remove(new Key(userId, key), entry);
+        } finally {
+            lock.unlock();
+        }
+        entry.response.complete(null);
+    }
+
+    /**
+     * Drop the entries past their time to live
+     * @return number of dropped entries
+     */
+    public int evictExpired(long now) {
+        lock.lock();
+        try {
+            int evicted = 0;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.expiresAtNanos - now > 0) {
+                    break;
+                }
+                iterator.remove();
+                evicted++;
+            }
+            return evicted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of stored and in-flight keys
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void makeRoom(long now) {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        evictExpired(now);
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() >= maxEntries && iterator.hasNext()) {
+            if (iterator.next().getValue().response.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package kr.ac.jbnu.cr.todoapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One password verification (BCrypt) at login. The event duration is the
+ * hashing cost, which dominates /auth/login latency.
+ */
+@Name("kr.ac.jbnu.cr.todoapi.PasswordCheck")
+@Label("Password Check")
+@Category({"Todo API", "Security"})
+@StackTrace(false)
+public class PasswordCheckEvent extends Event {
+
+    @Label("User ID")
+    long userId;
+
+    @Label("Matched")
+    boolean matched;
+
+    public static PasswordCheckEvent start() {
+        PasswordCheckEvent event = new PasswordCheckEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(Long userId, boolean matched) {
+        end();
+        if (shouldCommit()) {
+            this.userId = userId == null ? 0 : userId;
+            this.matched = matched;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package kr.ac.jbnu.cr.todoapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import kr.ac.jbnu.cr.todoapi.timing.RequestTiming;
+
+/**
+ * One TodoService operation.
+ *
+ * Usage: start() before the operation, finish() after it. When the event is
+ * not enabled in the running recording (or no recording runs), finish() does
+ * not touch the fields and the allocation is removed by escape analysis.
+ * The same bracket reports the call as the "service" phase of the current
+ * request (Server-Timing).
+ */
+@Name("kr.ac.jbnu.cr.todoapi.TodoStore")
+@Label("Todo Store Operation")
+@Category({"Todo API", "Store"})
+@Description("A TodoService operation on the in-memory store")
+@StackTrace(false)
+public class TodoStoreEvent extends Event {
+
+    public static final String FIND_ALL = "findAll";
+    public static final String FIND_BY_ID = "findById";
+    public static final String CREATE = "create";
+    public static final String CREATE_BATCH = "createBatch";
+    public static final String UPDATE = "update";
+    public static final String COMPLETE = "complete";
+    public static final String DELETE = "delete";
+    public static final String DELETE_COMPLETED = "deleteCompleted";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("User ID")
+    @Description("Owner the operation was scoped to, 0 when unscoped or unknown")
+    long userId;
+
+    @Label("Result Size")
+    @Description("Todos returned, created, updated or deleted")
+    int resultSize;
+
+    // Transient fields are not part of the recorded event
+    private transient long timingStart;
+
+    public static TodoStoreEvent start(String operation) {
+        TodoStoreEvent event = new TodoStoreEvent();
+        event.operation = operation;
+        event.timingStart = RequestTiming.start();
+        event.begin();
+        return event;
+    }
+
+    public void finish(Long userId, int resultSize) {
+        end();
+        RequestTiming.stop(RequestTiming.Phase.SERVICE, timingStart);
+        if (shouldCommit()) {
+            this.userId = userId == null ? 0 : userId;
+            this.resultSize = resultSize;
+            commit();
+        }
+    }
+}
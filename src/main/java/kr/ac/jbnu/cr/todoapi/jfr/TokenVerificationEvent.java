@@ -0,0 +1,50 @@
+package kr.ac.jbnu.cr.todoapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Verification of a bearer token by JwtService. The event duration is the
+ * verification time: a cache lookup on a hit, signature check and claim
+ * parsing on a miss, plus the revocation check in both cases.
+ */
+@Name("kr.ac.jbnu.cr.todoapi.TokenVerification")
+@Label("Token Verification")
+@Category({"Todo API", "Security"})
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+
+    @Label("Cache Hit")
+    boolean cacheHit;
+
+    @Label("Valid")
+    @Description("False for bad signatures, expired, malformed and revoked tokens")
+    boolean valid;
+
+    @Label("User ID")
+    long userId;
+
+    public static TokenVerificationEvent start() {
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param cacheHit whether the claims came from the verified-token cache
+     * @param userId the token subject, null if the token was rejected
+     */
+    public void finish(boolean cacheHit, Long userId) {
+        end();
+        if (shouldCommit()) {
+            this.cacheHit = cacheHit;
+            this.valid = userId != null;
+            this.userId = userId == null ? 0 : userId;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package kr.ac.jbnu.cr.todoapi.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Background maintenance job.
+ * Written by a single worker thread and read by request threads, hence the volatile fields.
+ */
+@Getter
+public class Job {
+
+    private final String id;
+    private final String type;
+    // User who submitted the job; only they can see it
+    @JsonIgnore
+    private final Long ownerId;
+    private final Instant createdAt;
+    private volatile JobStatus status = JobStatus.PENDING;
+    private volatile long processed;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public Job(String id, String type, Long ownerId) {
+        this.id = id;
+        this.type = type;
+        this.ownerId = ownerId;
+        this.createdAt = Instant.now();
+    }
+
+    public void markRunning() {
+        this.startedAt = Instant.now();
+        this.status = JobStatus.RUNNING;
+    }
+
+    public void addProcessed(long count) {
+        this.processed += count;
+    }
+
+    public void markSucceeded() {
+        this.finishedAt = Instant.now();
+        this.status = JobStatus.SUCCEEDED;
+    }
+
+    public void markFailed(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = JobStatus.FAILED;
+    }
+}
@@ -0,0 +1,12 @@
+package kr.ac.jbnu.cr.todoapi.model;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
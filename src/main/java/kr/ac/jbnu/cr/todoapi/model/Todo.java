@@ -1,17 +1,23 @@
 package kr.ac.jbnu.cr.todoapi.model;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Todo {
 
+    // Snowflake ids exceed 2^53, the largest integer a JavaScript number holds exactly
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private Long id;
     private String title;
     private String description;
@@ -19,4 +25,38 @@ public class Todo {
     private boolean done;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+    // User who created the todo; decides its shard in a sharded cluster
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Long ownerId;
+    // Normalized (see normalizeTags), never null
+    private List<String> tags = List.of();
+
+    public void setTags(List<String> tags) {
+        // Todos archived or replicated before tags existed have none
+        this.tags = tags == null ? List.of() : tags;
+    }
+
+    /**
+     * Field-by-field copy, to change a todo without touching the stored instance
+     */
+    public Todo copy() {
+        return new Todo(id, title, description, dueDate, done, createdAt, updatedAt, ownerId, tags);
+    }
+
+    /**
+     * Lower-cased, trimmed, distinct and sorted tags, so that "Work" and "work " are one tag
+     * @param tags the tags as given, may be null
+     * @return an immutable list, empty for null
+     */
+    public static List<String> normalizeTags(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        return tags.stream()
+                .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+    }
+}
@@ -1,5 +1,6 @@
 package kr.ac.jbnu.cr.todoapi.model;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +11,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
+    // A string in JSON, like todo ids
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private Long id;
     private String username;
     private String password;
@@ -0,0 +1,233 @@
+package kr.ac.jbnu.cr.todoapi.reactive;
+
+import jakarta.validation.Valid;
+import kr.ac.jbnu.cr.todoapi.dto.request.LoginRequest;
+import kr.ac.jbnu.cr.todoapi.dto.request.RegisterRequest;
+import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.Links;
+import kr.ac.jbnu.cr.todoapi.model.User;
+import kr.ac.jbnu.cr.todoapi.security.JwtAuthentication;
+import kr.ac.jbnu.cr.todoapi.security.JwtService;
+import kr.ac.jbnu.cr.todoapi.security.OperatorToken;
+import kr.ac.jbnu.cr.todoapi.security.TokenClaims;
+import kr.ac.jbnu.cr.todoapi.service.UserService;
+import kr.ac.jbnu.cr.todoapi.validation.BatchValidator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reactive counterpart of AuthController, with the same paths, status codes and bodies.
+ * Every BCrypt hash or check runs on the password scheduler (see ReactiveConfig).
+ */
+@RestController
+@RequestMapping("/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthController {
+
+    private static final int MAX_BATCH_REGISTRATIONS = 100;
+
+    private final UserService userService;
+    private final JwtService jwtService;
+    private final Scheduler passwordScheduler;
+    private final BatchValidator batchValidator;
+    private final OperatorToken operatorToken;
+
+    public ReactiveAuthController(UserService userService, JwtService jwtService, Scheduler passwordScheduler,
+                                  BatchValidator batchValidator, OperatorToken operatorToken) {
+        this.userService = userService;
+        this.jwtService = jwtService;
+        this.passwordScheduler = passwordScheduler;
+        this.batchValidator = batchValidator;
+        this.operatorToken = operatorToken;
+    }
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest request) {
+        String requestId = UUID.randomUUID().toString();
+
+        return Mono.fromCallable(() -> userService.register(request))
+                .subscribeOn(passwordScheduler)
+                .map(registered -> {
+                    if (registered.isEmpty()) {
+                        ErrorResponse error = ErrorResponse.builder()
+                                .type("about:blank")
+                                .title("Conflict")
+                                .status(409)
+                                .detail("Username '" + request.getUsername() + "' is already taken.")
+                                .instance("/auth/register")
+                                .requestId(requestId)
+                                .build();
+                        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+                    }
+
+                    User user = registered.get();
+
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("id", String.valueOf(user.getId()));
+                    data.put("username", user.getUsername());
+                    data.put("email", user.getEmail());
+
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .body(ApiResponse.success(data, requestId, Links.REGISTER));
+                });
+    }
+
+    @PostMapping("/register/batch")
+    public Mono<ResponseEntity<?>> registerBatch(ServerHttpRequest request,
+                                                 @RequestBody Mono<List<RegisterRequest>> body) {
+        String requestId = UUID.randomUUID().toString();
+
+        // Checked before the body is read, as BatchRegistrationFilter does on the servlet stack
+        HttpHeaders headers = request.getHeaders();
+        if (!operatorToken.isOperator(headers.getFirst(OperatorToken.HEADER))) {
+            return Mono.just(reject(requestId, HttpStatus.UNAUTHORIZED, "Unauthorized",
+                    OperatorToken.HEADER + " is missing or invalid."));
+        }
+        if (headers.getContentLength() < 0) {
+            return Mono.just(reject(requestId, HttpStatus.LENGTH_REQUIRED, "Length Required",
+                    "Batch registrations must declare their Content-Length."));
+        }
+        if (!operatorToken.acceptsBatchOf(headers.getContentLength())) {
+            return Mono.just(reject(requestId, HttpStatus.PAYLOAD_TOO_LARGE, "Payload Too Large",
+                    "Batch registrations are limited to " + operatorToken.getMaxBatchBytes() + " bytes."));
+        }
+
+        return body.flatMap(requests -> registerBatch(requests, requestId));
+    }
+
+    private Mono<ResponseEntity<?>> registerBatch(List<RegisterRequest> requests, String requestId) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_REGISTRATIONS) {
+            ErrorResponse error = ErrorResponse.builder()
+                    .type("about:blank")
+                    .title("Invalid Request")
+                    .status(400)
+                    .detail("Request body must contain between 1 and " + MAX_BATCH_REGISTRATIONS + " users.")
+                    .instance("/auth/register/batch")
+                    .requestId(requestId)
+                    .build();
+            return Mono.just(ResponseEntity.badRequest().body(error));
+        }
+        batchValidator.requireValid(requests);
+
+        return Mono.fromCallable(() -> userService.registerAll(requests))
+                .subscribeOn(passwordScheduler)
+                .map(registered -> {
+                    List<Map<String, Object>> results = new ArrayList<>(requests.size());
+                    int created = 0;
+                    for (int i = 0; i < requests.size(); i++) {
+                        Map<String, Object> result = new HashMap<>();
+                        result.put("username", requests.get(i).getUsername());
+                        if (registered.get(i).isPresent()) {
+                            result.put("status", "created");
+                            result.put("id", String.valueOf(registered.get(i).get().getId()));
+                            created++;
+                        } else {
+                            result.put("status", "conflict");
+                        }
+                        results.add(result);
+                    }
+
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("created", created);
+                    data.put("conflicts", requests.size() - created);
+                    data.put("results", results);
+
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .body(ApiResponse.success(data, requestId, Links.REGISTER));
+                });
+    }
+
+    private static ResponseEntity<?> reject(String requestId, HttpStatus status, String title, String detail) {
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title(title)
+                .status(status.value())
+                .detail(detail)
+                .instance("/auth/register/batch")
+                .requestId(requestId)
+                .build();
+        return ResponseEntity.status(status).body(error);
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest request) {
+        String requestId = UUID.randomUUID().toString();
+
+        Optional<User> userOptional = userService.findByUsername(request.getUsername());
+        if (userOptional.isEmpty()) {
+            return Mono.just(invalidCredentials(requestId));
+        }
+        User user = userOptional.get();
+
+        return Mono.fromCallable(() -> userService.checkPassword(user, request.getPassword()))
+                .subscribeOn(passwordScheduler)
+                .map(matched -> {
+                    if (!matched) {
+                        return invalidCredentials(requestId);
+                    }
+
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("token", jwtService.createToken(user));
+                    data.put("tokenType", "Bearer");
+                    data.put("userId", String.valueOf(user.getId()));
+                    data.put("username", user.getUsername());
+
+                    return ResponseEntity.ok(ApiResponse.success(data, requestId, Links.LOGIN));
+                });
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<?> me(JwtAuthentication authentication) {
+        String requestId = UUID.randomUUID().toString();
+
+        // Answered from the verified token: no user store lookup
+        TokenClaims claims = authentication.getClaims();
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", String.valueOf(claims.userId()));
+        data.put("username", claims.username());
+        data.put("email", claims.email());
+
+        return ResponseEntity.ok(ApiResponse.success(data, requestId, Links.ME));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(JwtAuthentication authentication) {
+        jwtService.revoke(authentication.getClaims());
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(JwtAuthentication authentication) {
+        jwtService.revokeAll(authentication.getUserId());
+
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ResponseEntity<?> invalidCredentials(String requestId) {
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Unauthorized")
+                .status(401)
+                .detail("Invalid username or password.")
+                .instance("/auth/login")
+                .requestId(requestId)
+                .build();
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+}
@@ -0,0 +1,39 @@
+package kr.ac.jbnu.cr.todoapi.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Threads of the reactive runtime besides Netty's event loops (one per CPU).
+ *
+ * BCrypt takes tens of milliseconds of CPU per hash; on an event loop it would
+ * stall every connection served by that loop. Hashes run on a pool of their own,
+ * sized to the CPUs so a burst of logins cannot take more than the machine has.
+ *
+ * The controllers call the store on the event loop, so only the in-memory
+ * store is supported: a JDBC call would block the loop for a database round
+ * trip, and the runtime refuses to start with storage.type=jdbc.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    public ReactiveConfig(@Value("${storage.type}") String storageType) {
+        if ("jdbc".equals(storageType)) {
+            throw new IllegalStateException(
+                    "The reactive runtime serves the store on its event loops; use storage.type=memory with it");
+        }
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordScheduler(@Value("${reactive.password-threads}") int threads,
+                                       @Value("${reactive.password-queue}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // Tasks beyond the queue are rejected (RejectedExecutionException, answered 503)
+        return Schedulers.newBoundedElastic(size, queueCapacity, "password-hash");
+    }
+}
@@ -0,0 +1,179 @@
+package kr.ac.jbnu.cr.todoapi.reactive;
+
+import kr.ac.jbnu.cr.todoapi.config.EnvelopeHttpMessageConverter;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.exception.InvalidBatchItemException;
+import kr.ac.jbnu.cr.todoapi.exception.InvalidFieldSelectionException;
+import kr.ac.jbnu.cr.todoapi.exception.InvalidFilterException;
+import kr.ac.jbnu.cr.todoapi.exception.JobNotFoundException;
+import kr.ac.jbnu.cr.todoapi.exception.JobRejectedException;
+import kr.ac.jbnu.cr.todoapi.exception.TodoAlreadyCompletedException;
+import kr.ac.jbnu.cr.todoapi.exception.TodoNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reactive counterpart of GlobalExceptionHandler: the same RFC 9457 bodies,
+ * always as application/problem+json.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    @ExceptionHandler(TodoNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTodoNotFound(TodoNotFoundException ex, ServerHttpRequest request) {
+        return problem(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage(), null, request);
+    }
+
+    @ExceptionHandler(TodoAlreadyCompletedException.class)
+    public ResponseEntity<ErrorResponse> handleTodoAlreadyCompleted(TodoAlreadyCompletedException ex,
+                                                                    ServerHttpRequest request) {
+        return problem(HttpStatus.CONFLICT, "Conflict", ex.getMessage(), null, request);
+    }
+
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotFound(JobNotFoundException ex, ServerHttpRequest request) {
+        return problem(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage(), null, request);
+    }
+
+    @ExceptionHandler(JobRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleJobRejected(JobRejectedException ex, ServerHttpRequest request) {
+        logger.warn("Job rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .contentType(EnvelopeHttpMessageConverter.PROBLEM_JSON)
+                .body(error(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage(), null, request));
+    }
+
+    /**
+     * Handle 503 Service Unavailable - Password hashing queue full
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordQueueFull(RejectedExecutionException ex,
+                                                                 ServerHttpRequest request) {
+        logger.warn("Password check rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .contentType(EnvelopeHttpMessageConverter.PROBLEM_JSON)
+                .body(error(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+                        "Too many concurrent password checks. Please try again later.", null, request));
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationErrors(WebExchangeBindException ex,
+                                                                ServerHttpRequest request) {
+        Map<String, Object> fieldErrors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error -> {
+            fieldErrors.put(error.getField(), error.getDefaultMessage());
+        });
+        return problem(HttpStatus.BAD_REQUEST, "Invalid Request", "One or more fields are invalid.",
+                fieldErrors, request);
+    }
+
+    @ExceptionHandler(InvalidBatchItemException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBatchItem(InvalidBatchItemException ex,
+                                                                ServerHttpRequest request) {
+        return problem(HttpStatus.BAD_REQUEST, "Invalid Request", ex.getMessage(), ex.getIndexedErrors(), request);
+    }
+
+    @ExceptionHandler(InvalidFieldSelectionException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFieldSelection(InvalidFieldSelectionException ex,
+                                                                     ServerHttpRequest request) {
+        Map<String, Object> fieldErrors = new HashMap<>();
+        fieldErrors.put("fields", ex.getMessage());
+        return problem(HttpStatus.BAD_REQUEST, "Invalid Request", ex.getMessage(), fieldErrors, request);
+    }
+
+    @ExceptionHandler(InvalidFilterException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFilter(InvalidFilterException ex, ServerHttpRequest request) {
+        Map<String, Object> fieldErrors = new HashMap<>();
+        fieldErrors.put(ex.getParameter(), ex.getMessage());
+        return problem(HttpStatus.BAD_REQUEST, "Invalid Request", ex.getMessage(), fieldErrors, request);
+    }
+
+    /**
+     * Handle 400 Bad Request - Malformed JSON or unreadable parameters
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleMalformedInput(ServerWebInputException ex,
+                                                              ServerHttpRequest request) {
+        return problem(HttpStatus.BAD_REQUEST, "Bad Request", "Request body is missing or malformed.", null, request);
+    }
+
+    @ExceptionHandler(MethodNotAllowedException.class)
+    public ResponseEntity<ErrorResponse> handleMethodNotAllowed(MethodNotAllowedException ex,
+                                                                ServerHttpRequest request) {
+        return problem(HttpStatus.METHOD_NOT_ALLOWED, "Method Not Allowed",
+                "HTTP method " + ex.getHttpMethod() + " is not supported for this endpoint.", null, request);
+    }
+
+    /**
+     * Handle other framework errors (404 for unknown paths, 406, 415...) with their own status
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatus(ResponseStatusException ex, ServerHttpRequest request) {
+        HttpStatusCode status = ex.getStatusCode();
+        HttpStatus known = HttpStatus.resolve(status.value());
+        return problem(status, known != null ? known.getReasonPhrase() : "Error",
+                ex.getReason() != null ? ex.getReason() : ex.getMessage(), null, request);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, ServerHttpRequest request) {
+        ErrorResponse error = error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                "An unexpected error occurred. Please try again later.", null, request);
+
+        logger.error("[{}] Internal server error: {}", error.getRequestId(), ex.getMessage(), ex);
+
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .contentType(EnvelopeHttpMessageConverter.PROBLEM_JSON)
+                .body(error);
+    }
+
+    private static ResponseEntity<ErrorResponse> problem(HttpStatusCode status, String title, String detail,
+                                                         Map<String, Object> errors, ServerHttpRequest request) {
+        ErrorResponse error = error(status, title, detail, errors, request);
+
+        logger.warn("[{}] {}: {}", error.getRequestId(), title, errors != null ? errors : detail);
+
+        return ResponseEntity
+                .status(status)
+                .contentType(EnvelopeHttpMessageConverter.PROBLEM_JSON)
+                .body(error);
+    }
+
+    private static ErrorResponse error(HttpStatusCode status, String title, String detail,
+                                       Map<String, Object> errors, ServerHttpRequest request) {
+        return ErrorResponse.builder()
+                .type("about:blank")
+                .title(title)
+                .status(status.value())
+                .detail(detail)
+                .instance(request.getPath().value())
+                .errors(errors)
+                .requestId(UUID.randomUUID().toString())
+                .build();
+    }
+}
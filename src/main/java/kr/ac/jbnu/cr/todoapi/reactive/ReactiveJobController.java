@@ -0,0 +1,68 @@
+package kr.ac.jbnu.cr.todoapi.reactive;
+
+import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.Links;
+import kr.ac.jbnu.cr.todoapi.exception.JobNotFoundException;
+import kr.ac.jbnu.cr.todoapi.model.Job;
+import kr.ac.jbnu.cr.todoapi.security.JwtAuthentication;
+import kr.ac.jbnu.cr.todoapi.service.JobService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Reactive counterpart of JobController. An open event stream holds no thread:
+ * events are pushed from the job worker as the job progresses.
+ */
+@RestController
+@RequestMapping("/jobs")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveJobController {
+
+    // Same limit as the servlet SseEmitter
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(10);
+
+    private final JobService jobService;
+
+    public ReactiveJobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<Job>> getJob(@PathVariable String id, JwtAuthentication authentication) {
+        String requestId = UUID.randomUUID().toString();
+        Job job = jobService.findById(id, authentication.getUserId()).orElseThrow(() -> new JobNotFoundException(id));
+
+        return ResponseEntity.ok(ApiResponse.success(job, requestId, Links.job(id)));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Job>> subscribe(@PathVariable String id, JwtAuthentication authentication) {
+        Long userId = authentication.getUserId();
+        // Unknown jobs and jobs of other users are a 404, not an empty stream
+        jobService.findById(id, userId).orElseThrow(() -> new JobNotFoundException(id));
+
+        return Flux.<ServerSentEvent<Job>>create(sink -> {
+                    Runnable unsubscribe = jobService.watch(id, userId, job -> {
+                        boolean finished = job.getStatus().isFinished();
+                        sink.next(ServerSentEvent.builder(job)
+                                .event(finished ? "finished" : "progress")
+                                .build());
+                        if (finished) {
+                            sink.complete();
+                        }
+                    });
+                    sink.onDispose(unsubscribe::run);
+                })
+                .take(STREAM_TIMEOUT);
+    }
+}
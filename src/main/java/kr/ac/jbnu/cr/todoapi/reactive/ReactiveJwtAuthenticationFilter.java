@@ -0,0 +1,42 @@
+package kr.ac.jbnu.cr.todoapi.reactive;
+
+import kr.ac.jbnu.cr.todoapi.security.JwtAuthentication;
+import kr.ac.jbnu.cr.todoapi.security.JwtService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of JwtAuthenticationFilter.
+ *
+ * Token verification is a short HMAC check (or a cache hit) and runs on the
+ * event loop. Not a bean: WebFlux would add every WebFilter bean to the main
+ * chain as well, so ReactiveSecurityConfig places it in the security chain itself.
+ */
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private final JwtService jwtService;
+
+    public ReactiveJwtAuthenticationFilter(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (bearerToken == null || !bearerToken.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        String token = bearerToken.substring(7);
+
+        // parse() also rejects revoked tokens
+        return jwtService.parse(token)
+                .map(claims -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                                new JwtAuthentication(claims, token))))
+                .orElseGet(() -> chain.filter(exchange));
+    }
+}
@@ -0,0 +1,83 @@
+package kr.ac.jbnu.cr.todoapi.reactive;
+
+import kr.ac.jbnu.cr.todoapi.config.EnvelopeHttpMessageConverter;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.security.JwtService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Security of the reactive runtime: same public paths and 401 body as SecurityConfig.
+ * Rate limiting, sharding and replication are servlet filters and are not part of it.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    private final JwtService jwtService;
+    private final EnvelopeHttpMessageConverter envelopeConverter;
+
+    public ReactiveSecurityConfig(JwtService jwtService, EnvelopeHttpMessageConverter envelopeConverter) {
+        this.jwtService = jwtService;
+        this.envelopeConverter = envelopeConverter;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                // Stateless: the token is checked on every request
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/auth/register", "/auth/login").permitAll()
+                        // Operators authenticate with the operator token (ReactiveAuthController)
+                        .pathMatchers("/auth/register/batch").permitAll()
+                        .pathMatchers("/actuator/health/**").permitAll()
+                        .anyExchange().authenticated())
+                .exceptionHandling(exception -> exception
+                        .authenticationEntryPoint((exchange, authException) -> unauthorized(exchange)))
+                .addFilterAt(new ReactiveJwtAuthenticationFilter(jwtService), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    private Mono<Void> unauthorized(ServerWebExchange exchange) {
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Unauthorized")
+                .status(401)
+                .detail("Authentication is required to access this resource.")
+                .instance(exchange.getRequest().getPath().value())
+                .requestId(UUID.randomUUID().toString())
+                .build();
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        try {
+            envelopeConverter.write(error, body);
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(EnvelopeHttpMessageConverter.PROBLEM_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.toByteArray())));
+    }
+}
@@ -0,0 +1,311 @@
+package kr.ac.jbnu.cr.todoapi.reactive;
+
+import jakarta.validation.Valid;
+import kr.ac.jbnu.cr.todoapi.dto.request.CreateTodoRequest;
+import kr.ac.jbnu.cr.todoapi.dto.request.UpdateTodoRequest;
+import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.Links;
+import kr.ac.jbnu.cr.todoapi.dto.response.TodoField;
+import kr.ac.jbnu.cr.todoapi.dto.response.TodoView;
+import kr.ac.jbnu.cr.todoapi.model.Job;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.repository.TodoFilter;
+import kr.ac.jbnu.cr.todoapi.security.JwtAuthentication;
+import kr.ac.jbnu.cr.todoapi.service.JobService;
+import kr.ac.jbnu.cr.todoapi.service.TodoService;
+import kr.ac.jbnu.cr.todoapi.validation.BatchValidator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive counterpart of TodoController, with the same paths, status codes and bodies.
+ *
+ * The active store is in memory and is served on the event loop. Calls that
+ * may open or rewrite archive segments on disk (archived todos, purges of
+ * completed todos) run on the bounded elastic scheduler.
+ * The reactive runtime is a standalone node, so todos are shared between users
+ * as in an unsharded servlet deployment.
+ */
+@RestController
+@RequestMapping("/todos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTodoController {
+
+    private final TodoService todoService;
+    private final JobService jobService;
+    private final BatchValidator batchValidator;
+
+    public ReactiveTodoController(TodoService todoService, JobService jobService, BatchValidator batchValidator) {
+        this.todoService = todoService;
+        this.jobService = jobService;
+        this.batchValidator = batchValidator;
+    }
+
+    // ========== GET ENDPOINTS ==========
+
+    @GetMapping
+    public Mono<ResponseEntity<?>> getAllTodos(
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean envelope,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) String tags,
+            @RequestParam(required = false) String match,
+            @RequestParam(required = false) String done) {
+        TodoField[] selectedFields = fields == null ? null : TodoView.parseFields(fields);
+        TodoFilter filter = TodoFilter.parse(tags, match, done);
+        Mono<List<Todo>> todos = includeArchived
+                ? Mono.fromCallable(() -> todoService.findAll(true, null, filter))
+                        .subscribeOn(Schedulers.boundedElastic())
+                : Mono.fromSupplier(() -> todoService.findAll(false, null, filter));
+
+        return todos.map(list -> {
+            Object data = selectedFields == null ? list : TodoView.of(list, selectedFields);
+            if (!envelope) {
+                return ResponseEntity.ok(data);
+            }
+            String requestId = UUID.randomUUID().toString();
+            return ResponseEntity.ok(ApiResponse.success(data, requestId, Links.TODOS));
+        });
+    }
+
+    @GetMapping("/overdue")
+    public ResponseEntity<ApiResponse<List<Todo>>> getOverdueTodos() {
+        String requestId = UUID.randomUUID().toString();
+        return ResponseEntity.ok(ApiResponse.success(todoService.findOverdue(), requestId, Links.TODOS_OVERDUE));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> getTodoById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean envelope) {
+        TodoField[] selectedFields = fields == null ? null : TodoView.parseFields(fields);
+        return onStoreOf(id, () -> todoService.findById(id)).map(todoOptional -> {
+            if (todoOptional.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            Todo todo = todoOptional.get();
+            Object data = selectedFields == null ? todo : TodoView.of(todo, selectedFields);
+            if (!envelope) {
+                return ResponseEntity.ok(data);
+            }
+            String requestId = UUID.randomUUID().toString();
+            return ResponseEntity.ok(ApiResponse.success(data, requestId, Links.todo(id)));
+        });
+    }
+
+    // ========== POST ENDPOINTS ==========
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<Todo>> createTodo(@Valid @RequestBody CreateTodoRequest request,
+                                                        JwtAuthentication authentication) {
+        String requestId = UUID.randomUUID().toString();
+        Todo createdTodo = todoService.create(request, authentication.getUserId());
+
+        return ResponseEntity
+                .created(URI.create("/todos/" + createdTodo.getId()))
+                .body(ApiResponse.success(createdTodo, requestId, Links.todo(createdTodo.getId())));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTodosBatch(@RequestBody List<CreateTodoRequest> requests,
+                                              @RequestParam(defaultValue = "false") boolean partial,
+                                              JwtAuthentication authentication) {
+        String requestId = UUID.randomUUID().toString();
+
+        if (requests == null || requests.isEmpty()) {
+            return ResponseEntity.badRequest().body(invalid("Request body must contain at least one todo.",
+                    "/todos/batch", requestId));
+        }
+
+        if (partial) {
+            return createValidTodos(requests, authentication.getUserId(), requestId);
+        }
+
+        batchValidator.requireValid(requests);
+        List<Todo> createdTodos = todoService.createBatch(requests, authentication.getUserId());
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(createdTodos, requestId, Links.TODOS_BATCH));
+    }
+
+    private ResponseEntity<?> createValidTodos(List<CreateTodoRequest> requests, Long ownerId, String requestId) {
+        Map<Integer, Map<String, String>> invalid = batchValidator.validateAll(requests);
+        List<CreateTodoRequest> valid = new ArrayList<>(requests.size() - invalid.size());
+        for (int i = 0; i < requests.size(); i++) {
+            if (!invalid.containsKey(i)) {
+                valid.add(requests.get(i));
+            }
+        }
+
+        Iterator<Todo> created = todoService.createBatch(valid, ownerId).iterator();
+        List<Map<String, Object>> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("index", i);
+            if (invalid.containsKey(i)) {
+                result.put("status", "invalid");
+                result.put("errors", invalid.get(i));
+            } else {
+                result.put("status", "created");
+                result.put("id", String.valueOf(created.next().getId()));
+            }
+            results.add(result);
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("created", valid.size());
+        data.put("invalid", invalid.size());
+        data.put("results", results);
+
+        return ResponseEntity
+                .status(invalid.isEmpty() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(ApiResponse.success(data, requestId, Links.TODOS_BATCH));
+    }
+
+    // ========== PUT ENDPOINTS ==========
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updateTodo(@PathVariable Long id, @Valid @RequestBody UpdateTodoRequest request) {
+        String requestId = UUID.randomUUID().toString();
+
+        if (!todoService.existsById(id)) {
+            return Mono.just(notFound(id, "/todos/" + id, requestId));
+        }
+
+        return onStoreOf(id, () -> {
+            Optional<Todo> updatedTodo = todoService.update(id, request);
+            if (updatedTodo.isEmpty()) {
+                // Deleted since the check above
+                return notFound(id, "/todos/" + id, requestId);
+            }
+
+            return ResponseEntity.ok(ApiResponse.success(updatedTodo.get(), requestId, Links.todo(id)));
+        });
+    }
+
+    @PutMapping("/{id}/complete")
+    public Mono<ResponseEntity<?>> completeTodo(@PathVariable Long id) {
+        String requestId = UUID.randomUUID().toString();
+
+        if (!todoService.existsById(id)) {
+            return Mono.just(notFound(id, "/todos/" + id + "/complete", requestId));
+        }
+
+        return onStoreOf(id, () -> {
+            Optional<Todo> completedTodo = todoService.complete(id);
+            if (completedTodo.isEmpty()) {
+                // Already completed, or deleted since the check above
+                return todoService.existsById(id)
+                        ? alreadyCompleted(id, requestId)
+                        : notFound(id, "/todos/" + id + "/complete", requestId);
+            }
+
+            return ResponseEntity.ok(ApiResponse.success(completedTodo.get(), requestId, Links.todo(id)));
+        });
+    }
+
+    // ========== DELETE ENDPOINTS ==========
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<?>> deleteTodo(@PathVariable Long id) {
+        String requestId = UUID.randomUUID().toString();
+
+        if (!todoService.existsById(id)) {
+            return Mono.just(notFound(id, "/todos/" + id, requestId));
+        }
+
+        return onStoreOf(id, () -> {
+            todoService.delete(id);
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    @DeleteMapping("/completed")
+    public Mono<ResponseEntity<?>> deleteCompletedTodos(@RequestParam(defaultValue = "false") boolean async,
+                                                        JwtAuthentication authentication) {
+        String requestId = UUID.randomUUID().toString();
+
+        if (async) {
+            Job job = jobService.submit("delete-completed", authentication.getUserId(),
+                    chunkSize -> todoService.deleteCompletedChunk(chunkSize, null));
+            return Mono.just(ResponseEntity
+                    .accepted()
+                    .location(URI.create("/jobs/" + job.getId()))
+                    .body(ApiResponse.success(job, requestId, Links.job(job.getId()))));
+        }
+
+        // Also purges the archive segments
+        return Mono.fromCallable(() -> todoService.deleteCompleted(null))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(deletedCount -> {
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("deletedCount", deletedCount);
+                    result.put("message", deletedCount + " completed todo(s) deleted.");
+
+                    return ResponseEntity.ok(ApiResponse.success(result, requestId, Links.TODOS_COMPLETED));
+                });
+    }
+
+    /**
+     * Run a store call on the event loop when the todo is in the active set,
+     * else on the bounded elastic scheduler, as the call reads or rewrites its
+     * archive segment
+     */
+    private <T> Mono<T> onStoreOf(Long id, Callable<T> call) {
+        return todoService.isActive(id)
+                ? Mono.fromCallable(call)
+                : Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static ResponseEntity<ErrorResponse> notFound(Long id, String instance, String requestId) {
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Not Found")
+                .status(404)
+                .detail("Todo with id " + id + " not found.")
+                .instance(instance)
+                .requestId(requestId)
+                .build();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    private static ResponseEntity<ErrorResponse> alreadyCompleted(Long id, String requestId) {
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Conflict")
+                .status(409)
+                .detail("Todo with id " + id + " is already completed.")
+                .instance("/todos/" + id + "/complete")
+                .requestId(requestId)
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    private static ErrorResponse invalid(String detail, String instance, String requestId) {
+        return ErrorResponse.builder()
+                .type("about:blank")
+                .title("Invalid Request")
+                .status(400)
+                .detail(detail)
+                .instance(instance)
+                .requestId(requestId)
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package kr.ac.jbnu.cr.todoapi.replication;
+
+import java.util.List;
+
+/**
+ * Response of GET /replication/log
+ * @param runId run of the leader's log the sequence numbers belong to
+ * @param leaderSeq last sequence number on the leader when the batch was read
+ * @param mutations entries after the requested sequence, in order
+ * @param snapshotRequired true if the entries after the requested sequence are
+ *                         no longer kept: the follower must load a snapshot
+ */
+public record LogBatch(String runId, long leaderSeq, List<Mutation> mutations, boolean snapshotRequired) {
+}
@@ -0,0 +1,19 @@
+package kr.ac.jbnu.cr.todoapi.replication;
+
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.model.User;
+import kr.ac.jbnu.cr.todoapi.security.Revocation;
+
+/**
+ * One entry of the leader's mutation log.
+ * Saves carry the full state of the entity, so applying the log in order
+ * converges to the leader's state.
+ * @param seq position in the log, starting at 1
+ * @param type kind of mutation
+ * @param id id of the affected entity
+ * @param todo todo state for TODO_SAVED
+ * @param user user state for USER_SAVED
+ * @param revocation the logout for TOKEN_REVOKED
+ */
+public record Mutation(long seq, MutationType type, Long id, Todo todo, User user, Revocation revocation) {
+}
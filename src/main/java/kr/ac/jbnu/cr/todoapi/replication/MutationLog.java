@@ -0,0 +1,175 @@
+package kr.ac.jbnu.cr.todoapi.replication;
+
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.model.User;
+import kr.ac.jbnu.cr.todoapi.repository.TodoWriteListener;
+import kr.ac.jbnu.cr.todoapi.security.Revocation;
+import kr.ac.jbnu.cr.todoapi.security.RevocationListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ordered log of todo and user mutations and of logouts, streamed to followers.
+ *
+ * Only recorded when this instance is the replication leader. Todo writes
+ * are appended by the repository while the todo is still locked against
+ * other writes (TodoWriteListener), so the sequence numbers of the entries
+ * for one todo follow the order of its writes and the last one is its
+ * current state, even when updates race.
+ *
+ * Only the last replication.log-retention entries are kept, in a ring. A
+ * follower that falls further behind, or starts after the first entries
+ * were dropped, loads a snapshot of the leader's state and replays the
+ * retained entries from there (see ReplicationController).
+ *
+ * Sequence numbers start again from 1 when the leader restarts, so every
+ * position is qualified by a run id drawn at startup. A follower that sees
+ * another run id reloads a snapshot instead of trusting its own position.
+ */
+@Component
+public class MutationLog implements TodoWriteListener, RevocationListener {
+
+    /** Response header carrying a log position, as runId:seq */
+    public static final String SEQ_HEADER = "X-Replication-Seq";
+
+    private final String runId = UUID.randomUUID().toString();
+    private final boolean enabled;
+    // Entry seq is at (seq - 1) % length; allocated on the leader only
+    private final Mutation[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private volatile long lastSeq;
+
+    public MutationLog(@Value("${replication.role:standalone}") String role,
+                       @Value("${replication.log-retention:100000}") int retention) {
+        if (retention < 1) {
+            throw new IllegalArgumentException("replication.log-retention must be positive");
+        }
+        this.enabled = "leader".equals(role);
+        this.ring = enabled ? new Mutation[retention] : new Mutation[0];
+    }
+
+    @Override
+    public void todoSaved(Todo todo) {
+        append(MutationType.TODO_SAVED, todo.getId(), todo, null, null);
+    }
+
+    @Override
+    public void todoDeleted(long id) {
+        append(MutationType.TODO_DELETED, id, null, null, null);
+    }
+
+    public void userSaved(User user) {
+        append(MutationType.USER_SAVED, user.getId(), null, user, null);
+    }
+
+    @Override
+    public void revoked(Revocation revocation) {
+        append(MutationType.TOKEN_REVOKED, revocation.userId(), null, null, revocation);
+    }
+
+    /**
+     * Read entries after a sequence number, waiting for new ones if there are none yet
+     * @param afterSeq last sequence number the reader has
+     * @param max maximum number of entries to return
+     * @param waitMillis how long to wait when no entry is available
+     * @return the next entries, possibly empty, or a batch asking for a
+     *         snapshot if the entry after afterSeq was dropped or was never
+     *         written in this run
+     */
+    public LogBatch readAfter(long afterSeq, int max, long waitMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            // Never written in this run: the reader follows an earlier run of the leader
+            if (afterSeq > lastSeq) {
+                return new LogBatch(runId, lastSeq, List.of(), true);
+            }
+            long remaining = TimeUnit.MILLISECONDS.toNanos(waitMillis);
+            while (lastSeq <= afterSeq && remaining > 0) {
+                remaining = appended.awaitNanos(remaining);
+            }
+            if (afterSeq < firstRetainedSeq() - 1) {
+                return new LogBatch(runId, lastSeq, List.of(), true);
+            }
+            long to = Math.min(lastSeq, afterSeq + max);
+            List<Mutation> mutations = new ArrayList<>((int) Math.max(0, to - afterSeq));
+            for (long seq = afterSeq + 1; seq <= to; seq++) {
+                mutations.add(ring[(int) ((seq - 1) % ring.length)]);
+            }
+            return new LogBatch(runId, lastSeq, mutations, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Id of this run of the log, drawn at startup
+     */
+    public String runId() {
+        return runId;
+    }
+
+    /**
+     * Current position as sent in SEQ_HEADER
+     */
+    public String position() {
+        return position(runId, lastSeq);
+    }
+
+    /**
+     * Format a position for SEQ_HEADER
+     */
+    public static String position(String runId, long seq) {
+        return runId + ":" + seq;
+    }
+
+    /**
+     * Sequence number of the last recorded mutation, 0 if none
+     */
+    public long lastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Sequence number of the oldest entry still kept, lastSeq() + 1 if none
+     */
+    public long firstRetainedSeq() {
+        lock.lock();
+        try {
+            return Math.max(1, lastSeq - ring.length + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A user as sent to followers: without the password hash, since
+     * followers send logins to the leader and never check passwords
+     */
+    public static User withoutPassword(User user) {
+        return new User(user.getId(), user.getUsername(), "", user.getEmail());
+    }
+
+    private void append(MutationType type, Long id, Todo todo, User user, Revocation revocation) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            long seq = lastSeq + 1;
+            ring[(int) ((seq - 1) % ring.length)] = new Mutation(seq, type, id,
+                    todo == null ? null : todo.copy(), user == null ? null : withoutPassword(user), revocation);
+            lastSeq = seq;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package kr.ac.jbnu.cr.todoapi.replication;
+
+public enum MutationType {
+    TODO_SAVED,
+    TODO_DELETED,
+    USER_SAVED,
+    TOKEN_REVOKED
+}
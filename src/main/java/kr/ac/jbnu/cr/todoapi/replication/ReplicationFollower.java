@@ -0,0 +1,253 @@
+package kr.ac.jbnu.cr.todoapi.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import kr.ac.jbnu.cr.todoapi.model.User;
+import kr.ac.jbnu.cr.todoapi.security.Revocation;
+import kr.ac.jbnu.cr.todoapi.security.TokenRevocationList;
+import kr.ac.jbnu.cr.todoapi.service.TodoService;
+import kr.ac.jbnu.cr.todoapi.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pulls the leader's mutation log and applies it to the local services.
+ *
+ * The follower long-polls GET /replication/log from its last applied sequence.
+ * When the leader no longer keeps the entries it needs (a new follower, or
+ * one that fell behind), it loads GET /replication/snapshot and replays the
+ * log from the snapshot's position. It does the same when the batch comes
+ * from another run of the leader's log: after a restart the leader numbers
+ * its entries from 1 again, so the follower's position means nothing there.
+ * Whenever it has applied everything the leader reported, it records the time:
+ * the local state is then known to be no older than that instant, which is
+ * what the read filter compares against the staleness bound.
+ */
+@Component
+@ConditionalOnProperty(name = "replication.role", havingValue = "follower")
+public class ReplicationFollower {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationFollower.class);
+    private static final int BATCH_SIZE = 500;
+    private static final long RETRY_DELAY_MS = 500;
+    private static final long SNAPSHOT_TIMEOUT_MS = 60_000;
+
+    private final TodoService todoService;
+    private final UserService userService;
+    private final TokenRevocationList revocationList;
+    private final ObjectMapper objectMapper;
+    private final String leaderUrl;
+    private final String token;
+    private final long pollWaitMillis;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition applied = lock.newCondition();
+    private volatile String runId;
+    private volatile long appliedSeq;
+    private volatile long caughtUpAtNanos;
+    private volatile boolean caughtUp;
+    private volatile Thread worker;
+
+    public ReplicationFollower(TodoService todoService,
+                               UserService userService,
+                               TokenRevocationList revocationList,
+                               ObjectMapper objectMapper,
+                               @Value("${replication.leader-url}") String leaderUrl,
+                               @Value("${replication.token}") String token,
+                               @Value("${replication.poll-wait-ms}") long pollWaitMillis) {
+        this.todoService = todoService;
+        this.userService = userService;
+        this.revocationList = revocationList;
+        this.objectMapper = objectMapper;
+        this.leaderUrl = leaderUrl;
+        this.token = token;
+        this.pollWaitMillis = pollWaitMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::run, "replication-follower");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+        logger.info("Replicating from {}", leaderUrl);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    public String getLeaderUrl() {
+        return leaderUrl;
+    }
+
+    public long getAppliedSeq() {
+        return appliedSeq;
+    }
+
+    /**
+     * Position applied so far, as sent in X-Replication-Seq; null before the first snapshot
+     */
+    public String position() {
+        String current = runId;
+        return current == null ? null : MutationLog.position(current, appliedSeq);
+    }
+
+    /**
+     * How far behind the leader the local state may be, in milliseconds.
+     * Long.MAX_VALUE until the first catch-up.
+     */
+    public long stalenessMillis() {
+        if (!caughtUp) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - caughtUpAtNanos);
+    }
+
+    /**
+     * Wait until a log position has been applied
+     * @param runId the run of the leader's log the position belongs to
+     * @param seq the position, as returned by the leader in X-Replication-Seq
+     * @param timeoutMillis maximum wait
+     * @return true if the position was reached in time
+     */
+    public boolean awaitSeq(String runId, long seq, long timeoutMillis) throws InterruptedException {
+        if (hasApplied(runId, seq)) {
+            return true;
+        }
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (!hasApplied(runId, seq)) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = applied.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean hasApplied(String runId, long seq) {
+        // Read before appliedSeq: a snapshot clears the run id, sets appliedSeq, then sets the run id
+        return runId.equals(this.runId) && appliedSeq >= seq;
+    }
+
+    private void run() {
+        while (worker == Thread.currentThread()) {
+            try {
+                pollOnce();
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                logger.warn("Replication from {} failed: {}", leaderUrl, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void pollOnce() throws IOException, InterruptedException {
+        byte[] body = get("/replication/log?after=" + appliedSeq + "&limit=" + BATCH_SIZE
+                + "&waitMs=" + pollWaitMillis, pollWaitMillis + 5000);
+        long receivedAt = System.nanoTime();
+        LogBatch batch = objectMapper.readValue(body, LogBatch.class);
+        if (batch.snapshotRequired() || !batch.runId().equals(runId)) {
+            loadSnapshot();
+            signalApplied();
+            return;
+        }
+
+        for (Mutation mutation : batch.mutations()) {
+            if (mutation.seq() != appliedSeq + 1) {
+                throw new IOException("gap in replication log at " + mutation.seq());
+            }
+            apply(mutation);
+            appliedSeq = mutation.seq();
+        }
+        if (appliedSeq >= batch.leaderSeq()) {
+            caughtUpAtNanos = receivedAt;
+            caughtUp = true;
+        }
+        signalApplied();
+    }
+
+    private void signalApplied() {
+        lock.lock();
+        try {
+            applied.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void loadSnapshot() throws IOException, InterruptedException {
+        // Not caught up again until the log is replayed over the snapshot, and
+        // no position is reached while the state is being replaced
+        caughtUp = false;
+        runId = null;
+        Snapshot snapshot = objectMapper.readValue(get("/replication/snapshot", SNAPSHOT_TIMEOUT_MS), Snapshot.class);
+        todoService.applyReplicatedSnapshot(snapshot.todos(), snapshot.archivedIds());
+        for (User user : snapshot.users()) {
+            userService.applyReplicated(user);
+        }
+        for (Revocation revocation : snapshot.revocations()) {
+            revocationList.apply(revocation);
+        }
+        appliedSeq = snapshot.seq();
+        runId = snapshot.runId();
+        logger.info("Loaded a snapshot of {} todo(s) and {} user(s) at position {}",
+                snapshot.todos().size(), snapshot.users().size(), snapshot.seq());
+    }
+
+    private byte[] get(String path, long timeoutMillis) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(leaderUrl + path))
+                .header("X-Replication-Token", token)
+                .header("Accept", "application/json")
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("leader answered " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private void apply(Mutation mutation) {
+        switch (mutation.type()) {
+            case TODO_SAVED -> todoService.applyReplicated(mutation.todo());
+            case TODO_DELETED -> todoService.applyReplicatedDelete(mutation.id());
+            case USER_SAVED -> userService.applyReplicated(mutation.user());
+            case TOKEN_REVOKED -> revocationList.apply(mutation.revocation());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package kr.ac.jbnu.cr.todoapi.replication;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Decides, on a follower, which requests are served from the local replica.
+ *
+ * Todo reads and /auth/me are served locally when the replica is within the
+ * staleness bound and, if the client sent X-Min-Seq, has applied that position.
+ * A position from another run of the leader's log is never reached, so the
+ * request then goes to the leader once the wait times out.
+ * Everything else, including every write, is sent to the leader with a
+ * 307 Temporary Redirect, which keeps the method and the body.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "replication.role", havingValue = "follower")
+public class ReplicationReadFilter extends OncePerRequestFilter {
+
+    public static final String MIN_SEQ_HEADER = "X-Min-Seq";
+
+    private final ReplicationFollower follower;
+    private final long maxStalenessMillis;
+    private final long readYourWritesTimeoutMillis;
+
+    public ReplicationReadFilter(ReplicationFollower follower,
+                                 @Value("${replication.max-staleness-ms}") long maxStalenessMillis,
+                                 @Value("${replication.read-your-writes-timeout-ms}") long readYourWritesTimeoutMillis) {
+        this.follower = follower;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.readYourWritesTimeoutMillis = readYourWritesTimeoutMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Local operational endpoints
+        String path = request.getRequestURI();
+        return path.startsWith("/actuator") || path.startsWith("/swagger-ui") || path.startsWith("/api-docs");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        if (!isReplicatedRead(request) || !isFreshEnough(request)) {
+            redirectToLeader(request, response);
+            return;
+        }
+
+        String position = follower.position();
+        if (position != null) {
+            response.setHeader(MutationLog.SEQ_HEADER, position);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isReplicatedRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+        String path = request.getRequestURI();
+        return path.equals("/todos") || path.startsWith("/todos/") || path.equals("/auth/me");
+    }
+
+    private boolean isFreshEnough(HttpServletRequest request) {
+        String minSeq = request.getHeader(MIN_SEQ_HEADER);
+        if (minSeq != null) {
+            // runId:seq, as sent by the leader in X-Replication-Seq
+            int separator = minSeq.lastIndexOf(':');
+            if (separator < 0) {
+                return false;
+            }
+            try {
+                if (!follower.awaitSeq(minSeq.substring(0, separator).trim(),
+                        Long.parseLong(minSeq.substring(separator + 1).trim()), readYourWritesTimeoutMillis)) {
+                    return false;
+                }
+            } catch (NumberFormatException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return follower.stalenessMillis() <= maxStalenessMillis;
+    }
+
+    private void redirectToLeader(HttpServletRequest request, HttpServletResponse response) {
+        String query = request.getQueryString();
+        String location = follower.getLeaderUrl() + request.getRequestURI() + (query == null ? "" : "?" + query);
+        response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+        response.setHeader("Location", location);
+    }
+}
@@ -0,0 +1,39 @@
+package kr.ac.jbnu.cr.todoapi.replication;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * On the leader, stamps every response body with the current log position.
+ * A client that sends this value back as X-Min-Seq to a follower reads its own writes.
+ * The position is read after the handler ran, so it covers the request's own mutation.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "replication.role", havingValue = "leader")
+public class ReplicationSeqAdvice implements ResponseBodyAdvice<Object> {
+
+    private final MutationLog mutationLog;
+
+    public ReplicationSeqAdvice(MutationLog mutationLog) {
+        this.mutationLog = mutationLog;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        response.getHeaders().set(MutationLog.SEQ_HEADER, mutationLog.position());
+        return body;
+    }
+}
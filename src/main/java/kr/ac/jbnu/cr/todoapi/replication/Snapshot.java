@@ -0,0 +1,25 @@
+package kr.ac.jbnu.cr.todoapi.replication;
+
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.model.User;
+import kr.ac.jbnu.cr.todoapi.security.Revocation;
+
+import java.util.List;
+
+/**
+ * Response of GET /replication/snapshot: the leader's active todos, the ids
+ * of its archived ones, its users (without password hashes) and the logouts
+ * still in effect.
+ *
+ * The state is read while writes go on, so it may already include some
+ * entries after seq. Saves carry full states and deletes are idempotent, so
+ * replaying the log from seq over it still ends at the leader's state.
+ * @param runId run of the leader's log seq belongs to
+ * @param seq log position to replay from
+ * @param todos the active todos
+ * @param archivedIds ids of the archived todos, whose copies a follower may keep
+ * @param users the users
+ * @param revocations the revoked tokens and logged out users
+ */
+public record Snapshot(String runId, long seq, List<Todo> todos, List<Long> archivedIds, List<User> users, List<Revocation> revocations) {
+}
@@ -0,0 +1,58 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Open todos bucketed by due date, kept by the in-memory repository.
+ * Lets overdue queries and the day-boundary scheduler read only the buckets
+ * they need instead of scanning the whole store. Done todos and todos
+ * without a due date are not indexed.
+ */
+public class DueDateIndex {
+
+    private final ConcurrentSkipListMap<LocalDate, Set<Long>> buckets = new ConcurrentSkipListMap<>();
+
+    public void add(Long id, LocalDate dueDate) {
+        if (dueDate == null) {
+            return;
+        }
+        buckets.computeIfAbsent(dueDate, date -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    public void remove(Long id, LocalDate dueDate) {
+        if (dueDate == null) {
+            return;
+        }
+        buckets.computeIfPresent(dueDate, (date, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Ids of open todos due strictly before the given day
+     */
+    public List<Long> dueBefore(LocalDate day) {
+        NavigableMap<LocalDate, Set<Long>> overdue = buckets.headMap(day, false);
+        List<Long> ids = new ArrayList<>();
+        for (Collection<Long> bucket : overdue.values()) {
+            ids.addAll(bucket);
+        }
+        return ids;
+    }
+
+    /**
+     * Ids of open todos due on the given day
+     */
+    public List<Long> dueOn(LocalDate day) {
+        Set<Long> bucket = buckets.get(day);
+        return bucket == null ? List.of() : new ArrayList<>(bucket);
+    }
+}
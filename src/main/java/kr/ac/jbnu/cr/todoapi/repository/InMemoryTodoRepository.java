@@ -0,0 +1,229 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Todos on the heap, the default storage. Open todos are also indexed by
+ * due date, so overdue queries read only the buckets they need, and every
+ * todo by tag and done/open in compressed bitmaps (TagIndex).
+ */
+@Repository
+@ConditionalOnProperty(name = "storage.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTodoRepository implements TodoRepository {
+
+    // Also read by the overdue scheduler thread
+    private final Map<Long, Todo> todos = new ConcurrentHashMap<>();
+    private final DueDateIndex dueDateIndex = new DueDateIndex();
+    private final TagIndex tagIndex = new TagIndex();
+
+    @Override
+    public Optional<Todo> findById(long id) {
+        return Optional.ofNullable(todos.get(id));
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return todos.containsKey(id);
+    }
+
+    @Override
+    public List<Todo> findAll(Long ownerId) {
+        if (ownerId == null) {
+            return new ArrayList<>(todos.values());
+        }
+        List<Todo> owned = new ArrayList<>();
+        for (Todo todo : todos.values()) {
+            if (ownerId.equals(todo.getOwnerId())) {
+                owned.add(todo);
+            }
+        }
+        return owned;
+    }
+
+    @Override
+    public List<Todo> findAll(Long ownerId, TodoFilter filter) {
+        if (filter.isEmpty()) {
+            return findAll(ownerId);
+        }
+        List<Todo> found = new ArrayList<>();
+        for (Long id : tagIndex.find(filter)) {
+            Todo todo = todos.get(id);
+            if (todo != null && filter.matches(todo) && (ownerId == null || ownerId.equals(todo.getOwnerId()))) {
+                found.add(todo);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<Todo> findOpenDueBefore(LocalDate day) {
+        return resolve(dueDateIndex.dueBefore(day));
+    }
+
+    @Override
+    public List<Todo> findOpenDueOn(LocalDate day) {
+        return resolve(dueDateIndex.dueOn(day));
+    }
+
+    @Override
+    public List<Todo> findCompletedBefore(LocalDateTime cutoff) {
+        return todos.values().stream()
+                .filter(todo -> todo.isDone() && todo.getUpdatedAt().isBefore(cutoff))
+                .toList();
+    }
+
+    @Override
+    public Set<Long> findOwners() {
+        Set<Long> owners = new HashSet<>();
+        for (Todo todo : todos.values()) {
+            if (todo.getOwnerId() != null) {
+                owners.add(todo.getOwnerId());
+            }
+        }
+        return owners;
+    }
+
+    @Override
+    public long count() {
+        return todos.size();
+    }
+
+    @Override
+    public void insertAll(List<Todo> newTodos, TodoWriteListener listener) {
+        saveAll(newTodos, listener);
+    }
+
+    @Override
+    public void save(Todo todo, TodoWriteListener listener) {
+        // Writes to one id are serialized by the map, so the indexes and the listener follow its order
+        todos.compute(todo.getId(), (id, previous) -> {
+            index(id, previous, todo);
+            listener.todoSaved(todo);
+            return todo;
+        });
+    }
+
+    @Override
+    public void saveAll(List<Todo> newTodos, TodoWriteListener listener) {
+        for (Todo todo : newTodos) {
+            save(todo, listener);
+        }
+    }
+
+    @Override
+    public Optional<Todo> update(long id, UnaryOperator<Todo> change, TodoWriteListener listener) {
+        AtomicReference<Todo> updated = new AtomicReference<>();
+        todos.computeIfPresent(id, (key, current) -> {
+            Todo next = change.apply(current);
+            if (next == null) {
+                return current;
+            }
+            index(key, current, next);
+            listener.todoSaved(next);
+            updated.set(next);
+            return next;
+        });
+        return Optional.ofNullable(updated.get());
+    }
+
+    @Override
+    public Optional<Todo> deleteById(long id, TodoWriteListener listener) {
+        return Optional.ofNullable(removeIf(id, todo -> true, listener));
+    }
+
+    @Override
+    public boolean deleteIfCompleted(long id) {
+        // A todo reopened meanwhile stays
+        return removeIf(id, Todo::isDone, TodoWriteListener.NONE) != null;
+    }
+
+    @Override
+    public List<Long> deleteCompleted(Long ownerId, int maxCount, TodoWriteListener listener) {
+        List<Long> deleted = new ArrayList<>();
+        for (Todo todo : todos.values()) {
+            if (deleted.size() >= maxCount) {
+                break;
+            }
+            // A todo reopened meanwhile stays
+            if (todo.isDone() && (ownerId == null || ownerId.equals(todo.getOwnerId()))
+                    && removeIf(todo.getId(), Todo::isDone, listener) != null) {
+                deleted.add(todo.getId());
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<Todo> deleteByOwner(long ownerId, TodoWriteListener listener) {
+        List<Todo> deleted = new ArrayList<>();
+        for (Todo todo : todos.values()) {
+            if (todo.getOwnerId() != null && todo.getOwnerId() == ownerId) {
+                Todo removed = removeIf(todo.getId(), current -> current.getOwnerId() == ownerId, listener);
+                if (removed != null) {
+                    deleted.add(removed);
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Move a todo from its previous state to its new one in the indexes
+     */
+    private void index(long id, Todo previous, Todo todo) {
+        if (previous != null && !previous.isDone()) {
+            dueDateIndex.remove(id, previous.getDueDate());
+        }
+        if (!todo.isDone()) {
+            dueDateIndex.add(id, todo.getDueDate());
+        }
+        tagIndex.add(previous, todo);
+    }
+
+    /**
+     * Remove a todo and unindex it, in the same map operation as other writes to its id
+     * @return the removed todo, or null if there was none or it failed the condition
+     */
+    private Todo removeIf(long id, Predicate<Todo> condition, TodoWriteListener listener) {
+        AtomicReference<Todo> removed = new AtomicReference<>();
+        todos.computeIfPresent(id, (key, current) -> {
+            if (!condition.test(current)) {
+                return current;
+            }
+            if (!current.isDone()) {
+                dueDateIndex.remove(key, current.getDueDate());
+            }
+            tagIndex.remove(current);
+            listener.todoDeleted(key);
+            removed.set(current);
+            return null;
+        });
+        return removed.get();
+    }
+
+    private List<Todo> resolve(List<Long> ids) {
+        List<Todo> resolved = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Todo todo = todos.get(id);
+            if (todo != null && !todo.isDone()) {
+                resolved.add(todo);
+            }
+        }
+        return resolved;
+    }
+}
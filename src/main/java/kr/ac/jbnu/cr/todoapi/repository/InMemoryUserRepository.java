@@ -0,0 +1,54 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import kr.ac.jbnu.cr.todoapi.model.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users on the heap, the default storage
+ */
+@Repository
+@ConditionalOnProperty(name = "storage.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryUserRepository implements UserRepository {
+
+    // The index is keyed by the folded name
+    private final Map<Long, User> users = new ConcurrentHashMap<>();
+    private final Map<String, User> usernameIndex = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<User> findById(long id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    @Override
+    public List<User> findAll() {
+        return new ArrayList<>(users.values());
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return Optional.ofNullable(usernameIndex.get(UserRepository.usernameKey(username)));
+    }
+
+    @Override
+    public boolean insertIfAbsent(User user) {
+        // The index entry is the point of no return
+        if (usernameIndex.putIfAbsent(UserRepository.usernameKey(user.getUsername()), user) != null) {
+            return false;
+        }
+        users.put(user.getId(), user);
+        return true;
+    }
+
+    @Override
+    public void save(User user) {
+        users.put(user.getId(), user);
+        usernameIndex.put(UserRepository.usernameKey(user.getUsername()), user);
+    }
+}
@@ -0,0 +1,342 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Todos in the "todos" table (src/main/resources/db/schema.sql).
+ *
+ * Tags are stored twice: joined in the row, so reads need no join, and one
+ * row per tag in "todo_tags", which tag filters query through its index.
+ *
+ * Updates are optimistic: a row is only replaced if its version is still the
+ * one the change was made from, and write listeners run inside the
+ * transaction, while the database holds the written rows locked.
+ *
+ * Multi-row writes go out as JDBC batches in one transaction. Listings are
+ * read by keyset pagination on the primary key, one bounded query per page.
+ * Every statement is a constant string, so the driver's prepared statement
+ * cache (see storage.jdbc.url) parses each one once per connection.
+ */
+@Repository
+@ConditionalOnProperty(name = "storage.type", havingValue = "jdbc")
+public class JdbcTodoRepository implements TodoRepository {
+
+    private static final String COLUMNS = "id, title, description, due_date, done, created_at, updated_at, owner_id, tags";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM todos";
+
+    private static final String FIND_BY_ID = SELECT + " WHERE id = ?";
+    private static final String FIND_VERSIONED = "SELECT " + COLUMNS + ", version FROM todos WHERE id = ?";
+    private static final String EXISTS_BY_ID = "SELECT COUNT(*) FROM todos WHERE id = ?";
+    private static final String PAGE = SELECT + " WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String PAGE_OF_OWNER = SELECT + " WHERE owner_id = ? AND id > ? ORDER BY id LIMIT ?";
+    // Todos with at least ? of the given tags: 1 for any, all of them for all
+    private static final String TAGGED = SELECT + " WHERE id IN (SELECT todo_id FROM todo_tags"
+            + " WHERE tag = ANY(?) GROUP BY todo_id HAVING COUNT(*) >= ?) ORDER BY id";
+    private static final String TAGGED_OF_OWNER = SELECT + " WHERE owner_id = ? AND id IN (SELECT todo_id"
+            + " FROM todo_tags WHERE tag = ANY(?) GROUP BY todo_id HAVING COUNT(*) >= ?) ORDER BY id";
+    private static final String OPEN_DUE_BEFORE = SELECT + " WHERE done = FALSE AND due_date < ?";
+    private static final String OPEN_DUE_ON = SELECT + " WHERE done = FALSE AND due_date = ?";
+    private static final String COMPLETED_BEFORE = SELECT + " WHERE done = TRUE AND updated_at < ?";
+    private static final String OWNERS = "SELECT DISTINCT owner_id FROM todos WHERE owner_id IS NOT NULL";
+    private static final String COUNT = "SELECT COUNT(*) FROM todos";
+    private static final String COMPLETED_IDS = "SELECT id FROM todos WHERE done = TRUE ORDER BY id LIMIT ?";
+    private static final String COMPLETED_IDS_OF_OWNER =
+            "SELECT id FROM todos WHERE owner_id = ? AND done = TRUE ORDER BY id LIMIT ?";
+
+    private static final String INSERT = "INSERT INTO todos (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // H2 upsert on the primary key
+    private static final String MERGE = "MERGE INTO todos (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_IF_VERSION = "UPDATE todos SET title = ?, description = ?, due_date = ?,"
+            + " done = ?, created_at = ?, updated_at = ?, owner_id = ?, tags = ?, version = version + 1"
+            + " WHERE id = ? AND version = ?";
+    // MERGE leaves the version of a replaced row as it was
+    private static final String BUMP_VERSION = "UPDATE todos SET version = version + 1 WHERE id = ?";
+    private static final String DELETE = "DELETE FROM todos WHERE id = ?";
+    private static final String DELETE_IF_COMPLETED = "DELETE FROM todos WHERE id = ? AND done = TRUE";
+    // Tag rows of deleted todos go with them (ON DELETE CASCADE)
+    private static final String INSERT_TAG = "INSERT INTO todo_tags (todo_id, tag) VALUES (?, ?)";
+    private static final String DELETE_TAGS = "DELETE FROM todo_tags WHERE todo_id = ?";
+
+    private static final RowMapper<Todo> TODO = (rs, rowNum) -> new Todo(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getObject("due_date", LocalDate.class),
+            rs.getBoolean("done"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getObject("owner_id", Long.class),
+            splitTags(rs.getString("tags")));
+
+    private static final RowMapper<Versioned> VERSIONED = (rs, rowNum) ->
+            new Versioned(TODO.mapRow(rs, rowNum), rs.getLong("version"));
+
+    private static final ParameterizedPreparedStatementSetter<Todo> TODO_VALUES = (ps, todo) -> {
+        ps.setLong(1, todo.getId());
+        ps.setString(2, todo.getTitle());
+        ps.setString(3, todo.getDescription());
+        ps.setObject(4, todo.getDueDate());
+        ps.setBoolean(5, todo.isDone());
+        ps.setObject(6, todo.getCreatedAt());
+        ps.setObject(7, todo.getUpdatedAt());
+        ps.setObject(8, todo.getOwnerId());
+        ps.setString(9, joinTags(todo.getTags()));
+    };
+
+    private static final ParameterizedPreparedStatementSetter<Long> ID = (ps, id) -> ps.setLong(1, id);
+
+    private static final ParameterizedPreparedStatementSetter<TagRow> TAG_VALUES = (ps, row) -> {
+        ps.setLong(1, row.todoId());
+        ps.setString(2, row.tag());
+    };
+
+    private record TagRow(long todoId, String tag) {
+    }
+
+    private record Versioned(Todo todo, long version) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final int batchSize;
+    private final int pageSize;
+
+    public JdbcTodoRepository(DataSource dataSource,
+                              @Value("${storage.jdbc.batch-size}") int batchSize,
+                              @Value("${storage.jdbc.page-size}") int pageSize) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.batchSize = batchSize;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public Optional<Todo> findById(long id) {
+        return jdbc.query(FIND_BY_ID, TODO, id).stream().findFirst();
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        Integer count = jdbc.queryForObject(EXISTS_BY_ID, Integer.class, id);
+        return count != null && count > 0;
+    }
+
+    @Override
+    public List<Todo> findAll(Long ownerId) {
+        List<Todo> todos = new ArrayList<>();
+        long after = Long.MIN_VALUE;
+        while (true) {
+            List<Todo> page = ownerId == null
+                    ? jdbc.query(PAGE, TODO, after, pageSize)
+                    : jdbc.query(PAGE_OF_OWNER, TODO, ownerId, after, pageSize);
+            todos.addAll(page);
+            if (page.size() < pageSize) {
+                return todos;
+            }
+            after = page.get(page.size() - 1).getId();
+        }
+    }
+
+    @Override
+    public List<Todo> findAll(Long ownerId, TodoFilter filter) {
+        List<Todo> candidates;
+        if (filter.tags().isEmpty()) {
+            candidates = findAll(ownerId);
+        } else {
+            String[] tags = filter.tags().toArray(new String[0]);
+            int required = filter.matchAll() ? tags.length : 1;
+            candidates = ownerId == null
+                    ? jdbc.query(TAGGED, TODO, tags, required)
+                    : jdbc.query(TAGGED_OF_OWNER, TODO, ownerId, tags, required);
+        }
+        return candidates.stream().filter(filter::matches).toList();
+    }
+
+    @Override
+    public List<Todo> findOpenDueBefore(LocalDate day) {
+        return jdbc.query(OPEN_DUE_BEFORE, TODO, day);
+    }
+
+    @Override
+    public List<Todo> findOpenDueOn(LocalDate day) {
+        return jdbc.query(OPEN_DUE_ON, TODO, day);
+    }
+
+    @Override
+    public List<Todo> findCompletedBefore(LocalDateTime cutoff) {
+        return jdbc.query(COMPLETED_BEFORE, TODO, cutoff);
+    }
+
+    @Override
+    public Set<Long> findOwners() {
+        return new HashSet<>(jdbc.queryForList(OWNERS, Long.class));
+    }
+
+    @Override
+    public long count() {
+        Long count = jdbc.queryForObject(COUNT, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public void insertAll(List<Todo> todos, TodoWriteListener listener) {
+        transactions.executeWithoutResult(status -> {
+            batch(INSERT, todos, TODO_VALUES);
+            batch(INSERT_TAG, tagRows(todos), TAG_VALUES);
+            todos.forEach(listener::todoSaved);
+        });
+    }
+
+    @Override
+    public void save(Todo todo, TodoWriteListener listener) {
+        saveAll(List.of(todo), listener);
+    }
+
+    @Override
+    public void saveAll(List<Todo> todos, TodoWriteListener listener) {
+        List<Long> ids = todos.stream().map(Todo::getId).toList();
+        // The tag rows are replaced along with the todo
+        transactions.executeWithoutResult(status -> {
+            batch(MERGE, todos, TODO_VALUES);
+            batch(BUMP_VERSION, ids, ID);
+            batch(DELETE_TAGS, ids, ID);
+            batch(INSERT_TAG, tagRows(todos), TAG_VALUES);
+            todos.forEach(listener::todoSaved);
+        });
+    }
+
+    @Override
+    public Optional<Todo> update(long id, UnaryOperator<Todo> change, TodoWriteListener listener) {
+        while (true) {
+            Versioned current = jdbc.query(FIND_VERSIONED, VERSIONED, id).stream().findFirst().orElse(null);
+            if (current == null) {
+                return Optional.empty();
+            }
+            Todo updated = change.apply(current.todo());
+            if (updated == null) {
+                return Optional.empty();
+            }
+            Boolean written = transactions.execute(status -> {
+                if (jdbc.update(UPDATE_IF_VERSION, updated.getTitle(), updated.getDescription(),
+                        updated.getDueDate(), updated.isDone(), updated.getCreatedAt(), updated.getUpdatedAt(),
+                        updated.getOwnerId(), joinTags(updated.getTags()), id, current.version()) == 0) {
+                    return false;
+                }
+                jdbc.update(DELETE_TAGS, id);
+                batch(INSERT_TAG, tagRows(List.of(updated)), TAG_VALUES);
+                listener.todoSaved(updated);
+                return true;
+            });
+            if (Boolean.TRUE.equals(written)) {
+                return Optional.of(updated);
+            }
+            // Written or deleted since it was read: start over from its current state
+        }
+    }
+
+    @Override
+    public Optional<Todo> deleteById(long id, TodoWriteListener listener) {
+        return transactions.execute(status -> {
+            Optional<Todo> found = findById(id);
+            if (found.isEmpty() || jdbc.update(DELETE, id) == 0) {
+                return Optional.empty();
+            }
+            listener.todoDeleted(id);
+            return found;
+        });
+    }
+
+    @Override
+    public boolean deleteIfCompleted(long id) {
+        return jdbc.update(DELETE_IF_COMPLETED, id) > 0;
+    }
+
+    @Override
+    public List<Long> deleteCompleted(Long ownerId, int maxCount, TodoWriteListener listener) {
+        List<Long> candidates = ownerId == null
+                ? jdbc.queryForList(COMPLETED_IDS, Long.class, maxCount)
+                : jdbc.queryForList(COMPLETED_IDS_OF_OWNER, Long.class, ownerId, maxCount);
+        return transactions.execute(status -> {
+            // A todo reopened since the query is not deleted
+            List<Long> deleted = deleted(candidates, batch(DELETE_IF_COMPLETED, candidates, ID));
+            deleted.forEach(listener::todoDeleted);
+            return deleted;
+        });
+    }
+
+    @Override
+    public List<Todo> deleteByOwner(long ownerId, TodoWriteListener listener) {
+        return transactions.execute(status -> {
+            List<Todo> owned = findAll(ownerId);
+            List<Long> ids = owned.stream().map(Todo::getId).toList();
+            Set<Long> deleted = new HashSet<>(deleted(ids, batch(DELETE, ids, ID)));
+            deleted.forEach(listener::todoDeleted);
+            return owned.stream().filter(todo -> deleted.contains(todo.getId())).toList();
+        });
+    }
+
+    /**
+     * Run a statement once per item, batchSize items per round trip, in one transaction
+     * @return the update count of each item, in order
+     */
+    private <T> int[] batch(String sql, List<T> items, ParameterizedPreparedStatementSetter<T> setter) {
+        if (items.isEmpty()) {
+            return new int[0];
+        }
+        int[][] counts = transactions.execute(status -> jdbc.batchUpdate(sql, items, batchSize, setter));
+        int[] flat = new int[items.size()];
+        int next = 0;
+        for (int[] chunk : counts) {
+            System.arraycopy(chunk, 0, flat, next, chunk.length);
+            next += chunk.length;
+        }
+        return flat;
+    }
+
+    private static List<TagRow> tagRows(List<Todo> todos) {
+        List<TagRow> rows = new ArrayList<>();
+        for (Todo todo : todos) {
+            for (String tag : todo.getTags()) {
+                rows.add(new TagRow(todo.getId(), tag));
+            }
+        }
+        return rows;
+    }
+
+    private static String joinTags(List<String> tags) {
+        return tags.isEmpty() ? null : String.join(",", tags);
+    }
+
+    private static List<String> splitTags(String tags) {
+        return tags == null || tags.isEmpty() ? List.of() : List.of(tags.split(","));
+    }
+
+    private static List<Long> deleted(List<Long> ids, int[] counts) {
+        List<Long> deleted = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                deleted.add(ids.get(i));
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,77 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import kr.ac.jbnu.cr.todoapi.model.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Users in the "users" table (src/main/resources/db/schema.sql). The unique
+ * username_key column decides concurrent sign-ups for the same name.
+ */
+@Repository
+@ConditionalOnProperty(name = "storage.type", havingValue = "jdbc")
+public class JdbcUserRepository implements UserRepository {
+
+    private static final String SELECT = "SELECT id, username, password, email FROM users";
+    private static final String FIND_BY_ID = SELECT + " WHERE id = ?";
+    private static final String FIND_BY_USERNAME = SELECT + " WHERE username_key = ?";
+    private static final String INSERT =
+            "INSERT INTO users (id, username, username_key, password, email) VALUES (?, ?, ?, ?, ?)";
+    // H2 upsert on the primary key
+    private static final String MERGE =
+            "MERGE INTO users (id, username, username_key, password, email) KEY (id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final RowMapper<User> USER = (rs, rowNum) -> new User(
+            rs.getLong("id"),
+            rs.getString("username"),
+            rs.getString("password"),
+            rs.getString("email"));
+
+    private final JdbcTemplate jdbc;
+
+    public JdbcUserRepository(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public Optional<User> findById(long id) {
+        return jdbc.query(FIND_BY_ID, USER, id).stream().findFirst();
+    }
+
+    @Override
+    public List<User> findAll() {
+        return jdbc.query(SELECT, USER);
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return jdbc.query(FIND_BY_USERNAME, USER, UserRepository.usernameKey(username)).stream().findFirst();
+    }
+
+    @Override
+    public boolean insertIfAbsent(User user) {
+        try {
+            write(INSERT, user);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void save(User user) {
+        write(MERGE, user);
+    }
+
+    private void write(String sql, User user) {
+        jdbc.update(sql, user.getId(), user.getUsername(), UserRepository.usernameKey(user.getUsername()),
+                user.getPassword(), user.getEmail());
+    }
+}
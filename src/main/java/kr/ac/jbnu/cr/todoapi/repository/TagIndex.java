@@ -0,0 +1,162 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmaps of todos per tag and of open todos, kept by the
+ * in-memory repository.
+ *
+ * Todo ids are 64-bit and sparse, so each indexed todo gets a dense int
+ * ordinal instead; ordinals of deleted todos are handed out again. A
+ * multi-tag query is then an AND or OR of Roaring bitmaps, which store runs
+ * and dense ranges of ordinals in a few bits each, and only the matching
+ * ordinals are mapped back to ids.
+ */
+public class TagIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] ids = new long[1024];
+    private int nextOrdinal;
+    private final RoaringBitmap freeOrdinals = new RoaringBitmap();
+
+    private final RoaringBitmap indexed = new RoaringBitmap();
+    private final RoaringBitmap open = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+
+    /**
+     * Index a new or changed todo
+     * @param previous the version being replaced, or null
+     */
+    public void add(Todo previous, Todo todo) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinals.computeIfAbsent(todo.getId(), this::allocate);
+            if (previous != null) {
+                removeTags(ordinal, previous.getTags());
+            }
+            for (String tag : todo.getTags()) {
+                byTag.computeIfAbsent(tag, key -> new RoaringBitmap()).add(ordinal);
+            }
+            indexed.add(ordinal);
+            if (todo.isDone()) {
+                open.remove(ordinal);
+            } else {
+                open.add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Todo todo) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(todo.getId());
+            if (ordinal == null) {
+                return;
+            }
+            removeTags(ordinal, todo.getTags());
+            indexed.remove(ordinal);
+            open.remove(ordinal);
+            freeOrdinals.add(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the todos matching the tag and done conditions of a filter.
+     * Callers re-check each todo, as it may have changed since.
+     */
+    public List<Long> find(TodoFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = filter.tags().isEmpty() ? indexed.clone() : matchTags(filter);
+            if (Boolean.TRUE.equals(filter.done())) {
+                matches.andNot(open);
+            } else if (Boolean.FALSE.equals(filter.done())) {
+                matches.and(open);
+            }
+            List<Long> found = new ArrayList<>(matches.getCardinality());
+            matches.forEach((int ordinal) -> found.add(ids[ordinal]));
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Heap used by the bitmaps, without the id to ordinal map
+     */
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = indexed.getLongSizeInBytes() + open.getLongSizeInBytes()
+                    + freeOrdinals.getLongSizeInBytes() + 8L * ids.length;
+            for (RoaringBitmap bitmap : byTag.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap matchTags(TodoFilter filter) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>(filter.tags().size());
+        for (String tag : filter.tags()) {
+            RoaringBitmap bitmap = byTag.get(tag);
+            if (bitmap != null) {
+                bitmaps.add(bitmap);
+            } else if (filter.matchAll()) {
+                return new RoaringBitmap();
+            }
+        }
+        if (bitmaps.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        if (bitmaps.size() == 1) {
+            // The result is modified by the done condition
+            return bitmaps.get(0).clone();
+        }
+        RoaringBitmap[] operands = bitmaps.toArray(new RoaringBitmap[0]);
+        return filter.matchAll() ? FastAggregation.and(operands) : FastAggregation.or(operands);
+    }
+
+    private void removeTags(int ordinal, List<String> tags) {
+        for (String tag : tags) {
+            RoaringBitmap bitmap = byTag.get(tag);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    byTag.remove(tag);
+                }
+            }
+        }
+    }
+
+    private int allocate(long id) {
+        int ordinal;
+        if (freeOrdinals.isEmpty()) {
+            ordinal = nextOrdinal++;
+            if (ordinal == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        } else {
+            ordinal = freeOrdinals.first();
+            freeOrdinals.remove(ordinal);
+        }
+        ids[ordinal] = id;
+        return ordinal;
+    }
+}
@@ -0,0 +1,69 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import kr.ac.jbnu.cr.todoapi.exception.InvalidFilterException;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tag and done/open conditions of a todo listing (?tags=a,b&match=all|any&done=)
+ * @param tags tags to look for, normalized; empty for no tag condition
+ * @param matchAll whether a todo needs every tag, or any one of them
+ * @param done true or false to keep only completed or open todos, null for both
+ */
+public record TodoFilter(List<String> tags, boolean matchAll, Boolean done) {
+
+    public static final TodoFilter NONE = new TodoFilter(List.of(), true, null);
+
+    public TodoFilter {
+        tags = Todo.normalizeTags(tags);
+    }
+
+    /**
+     * Parse the query parameters of a listing
+     * @param tags comma-separated tags, or null
+     * @param match "all" (default) or "any"
+     * @param done "true", "false", or null for both
+     * @throws InvalidFilterException if match or done has another value
+     */
+    public static TodoFilter parse(String tags, String match, String done) {
+        List<String> tagList = tags == null ? List.of() : Arrays.asList(tags.split(","));
+
+        boolean matchAll;
+        if (match == null || match.equalsIgnoreCase("all")) {
+            matchAll = true;
+        } else if (match.equalsIgnoreCase("any")) {
+            matchAll = false;
+        } else {
+            throw new InvalidFilterException("match", "match must be 'all' or 'any'.");
+        }
+
+        Boolean doneValue;
+        if (done == null) {
+            doneValue = null;
+        } else if (done.equalsIgnoreCase("true") || done.equalsIgnoreCase("false")) {
+            doneValue = Boolean.valueOf(done);
+        } else {
+            throw new InvalidFilterException("done", "done must be 'true' or 'false'.");
+        }
+
+        return new TodoFilter(tagList, matchAll, doneValue);
+    }
+
+    public boolean isEmpty() {
+        return tags.isEmpty() && done == null;
+    }
+
+    public boolean matches(Todo todo) {
+        if (done != null && todo.isDone() != done) {
+            return false;
+        }
+        if (tags.isEmpty()) {
+            return true;
+        }
+        return matchAll
+                ? todo.getTags().containsAll(tags)
+                : tags.stream().anyMatch(todo.getTags()::contains);
+    }
+}
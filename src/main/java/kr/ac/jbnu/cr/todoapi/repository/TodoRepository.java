@@ -0,0 +1,133 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Storage of the active todos, selected with storage.type: "memory"
+ * (InMemoryTodoRepository) or "jdbc" (JdbcTodoRepository).
+ *
+ * Returned todos must not be modified: TodoService saves a changed copy.
+ * Lists come in no particular order.
+ *
+ * Writes taking a TodoWriteListener report to it before the written todos
+ * are released to other writers; the overloads without one report nothing.
+ */
+public interface TodoRepository {
+
+    Optional<Todo> findById(long id);
+
+    boolean existsById(long id);
+
+    /**
+     * @param ownerId the owner, or null for every todo
+     */
+    List<Todo> findAll(Long ownerId);
+
+    /**
+     * @param ownerId the owner, or null for every todo
+     * @param filter tag and done/open conditions
+     */
+    List<Todo> findAll(Long ownerId, TodoFilter filter);
+
+    /**
+     * Open todos due strictly before the given day
+     */
+    List<Todo> findOpenDueBefore(LocalDate day);
+
+    /**
+     * Open todos due on the given day
+     */
+    List<Todo> findOpenDueOn(LocalDate day);
+
+    /**
+     * Completed todos last updated before the cutoff
+     */
+    List<Todo> findCompletedBefore(LocalDateTime cutoff);
+
+    /**
+     * Owners of the stored todos
+     */
+    Set<Long> findOwners();
+
+    long count();
+
+    /**
+     * Store new todos in one batch
+     */
+    default void insertAll(List<Todo> todos) {
+        insertAll(todos, TodoWriteListener.NONE);
+    }
+
+    void insertAll(List<Todo> todos, TodoWriteListener listener);
+
+    /**
+     * Insert or replace a todo
+     */
+    default void save(Todo todo) {
+        save(todo, TodoWriteListener.NONE);
+    }
+
+    void save(Todo todo, TodoWriteListener listener);
+
+    /**
+     * Insert or replace todos in one batch
+     */
+    default void saveAll(List<Todo> todos) {
+        saveAll(todos, TodoWriteListener.NONE);
+    }
+
+    void saveAll(List<Todo> todos, TodoWriteListener listener);
+
+    /**
+     * Replace a todo with a changed copy, atomically with respect to other
+     * writes to it: a todo deleted meanwhile stays deleted, and a change
+     * made meanwhile is what the copy is made from.
+     * @param change makes the new state from the current one, or returns null
+     *               to leave it as it is; may be called more than once
+     * @return the new state, or empty if there is no such todo or it was left as it is
+     */
+    Optional<Todo> update(long id, UnaryOperator<Todo> change, TodoWriteListener listener);
+
+    /**
+     * @return the deleted todo, or empty if there was none
+     */
+    default Optional<Todo> deleteById(long id) {
+        return deleteById(id, TodoWriteListener.NONE);
+    }
+
+    Optional<Todo> deleteById(long id, TodoWriteListener listener);
+
+    /**
+     * Delete a todo only if it is still completed
+     * @return true if deleted
+     */
+    boolean deleteIfCompleted(long id);
+
+    /**
+     * Delete at most maxCount completed todos
+     * @param ownerId only delete todos of this owner, or null for all
+     * @return ids of the deleted todos
+     */
+    default List<Long> deleteCompleted(Long ownerId, int maxCount) {
+        return deleteCompleted(ownerId, maxCount, TodoWriteListener.NONE);
+    }
+
+    List<Long> deleteCompleted(Long ownerId, int maxCount, TodoWriteListener listener);
+
+    /**
+     * Delete every todo of one owner
+     * @return the deleted todos
+     */
+    default List<Todo> deleteByOwner(long ownerId) {
+        return deleteByOwner(ownerId, TodoWriteListener.NONE);
+    }
+
+    List<Todo> deleteByOwner(long ownerId, TodoWriteListener listener);
+}
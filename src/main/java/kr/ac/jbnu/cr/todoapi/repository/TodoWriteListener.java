@@ -0,0 +1,29 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+
+/**
+ * Told of each write by the repository while the written todo is still
+ * locked against other writes, so it sees the writes to one todo in the
+ * order they were applied. Implementations must be quick and must not call
+ * back into the repository.
+ */
+public interface TodoWriteListener {
+
+    TodoWriteListener NONE = new TodoWriteListener() {
+        @Override
+        public void todoSaved(Todo todo) {
+        }
+
+        @Override
+        public void todoDeleted(long id) {
+        }
+    };
+
+    /**
+     * @param todo the stored state, not to be modified
+     */
+    void todoSaved(Todo todo);
+
+    void todoDeleted(long id);
+}
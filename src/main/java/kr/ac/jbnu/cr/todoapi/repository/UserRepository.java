@@ -0,0 +1,45 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import kr.ac.jbnu.cr.todoapi.model.User;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Storage of the users, selected with storage.type like TodoRepository.
+ * Usernames are unique regardless of case and surrounding spaces.
+ */
+public interface UserRepository {
+
+    Optional<User> findById(long id);
+
+    /**
+     * Every user, e.g. for a replication snapshot
+     */
+    List<User> findAll();
+
+    /**
+     * Look a user up by name, in any case
+     */
+    Optional<User> findByUsername(String username);
+
+    /**
+     * Store a new user unless the username is taken; only one concurrent sign-up wins
+     * @return true if stored
+     */
+    boolean insertIfAbsent(User user);
+
+    /**
+     * Insert or replace a user, e.g. one received from the replication leader
+     */
+    void save(User user);
+
+    /**
+     * Case-folded, trimmed username used as the unique key: usernames are
+     * unique regardless of case
+     */
+    static String usernameKey(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+}
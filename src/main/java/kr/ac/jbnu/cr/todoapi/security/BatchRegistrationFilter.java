@@ -0,0 +1,78 @@
+package kr.ac.jbnu.cr.todoapi.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.ac.jbnu.cr.todoapi.config.EnvelopeHttpMessageConverter;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Lets only operators register users in bulk: answers 401 to a batch
+ * registration without the operator token, and 411 or 413 to one whose
+ * body is of unknown length or too large, before the body is read.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BatchRegistrationFilter extends OncePerRequestFilter {
+
+    private final OperatorToken operatorToken;
+    private final EnvelopeHttpMessageConverter envelopeConverter;
+
+    public BatchRegistrationFilter(OperatorToken operatorToken, EnvelopeHttpMessageConverter envelopeConverter) {
+        this.operatorToken = operatorToken;
+        this.envelopeConverter = envelopeConverter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().equals("/auth/register/batch");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        if (!operatorToken.isOperator(request.getHeader(OperatorToken.HEADER))) {
+            reject(request, response, 401, "Unauthorized",
+                    OperatorToken.HEADER + " is missing or invalid.");
+            return;
+        }
+        long contentLength = request.getContentLengthLong();
+        if (contentLength < 0) {
+            reject(request, response, 411, "Length Required",
+                    "Batch registrations must declare their Content-Length.");
+            return;
+        }
+        if (!operatorToken.acceptsBatchOf(contentLength)) {
+            reject(request, response, 413, "Payload Too Large",
+                    "Batch registrations are limited to " + operatorToken.getMaxBatchBytes() + " bytes.");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        int status, String title, String detail) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title(title)
+                .status(status)
+                .detail(detail)
+                .instance(request.getRequestURI())
+                .requestId(UUID.randomUUID().toString())
+                .build();
+
+        response.setStatus(status);
+        response.setContentType(EnvelopeHttpMessageConverter.PROBLEM_JSON.toString());
+        envelopeConverter.write(error, response.getOutputStream());
+    }
+}
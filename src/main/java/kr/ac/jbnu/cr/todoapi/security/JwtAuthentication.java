@@ -4,12 +4,12 @@ import org.springframework.security.authentication.AbstractAuthenticationToken;
 
 public class JwtAuthentication extends AbstractAuthenticationToken {
 
-    private final Long userId;
+    private final TokenClaims claims;
     private final String token;
 
-    public JwtAuthentication(Long userId, String token) {
+    public JwtAuthentication(TokenClaims claims, String token) {
         super(null);
-        this.userId = userId;
+        this.claims = claims;
         this.token = token;
         setAuthenticated(true);
     }
@@ -21,10 +21,14 @@ public class JwtAuthentication extends AbstractAuthenticationToken {
 
     @Override
     public Object getPrincipal() {
-        return userId;
+        return claims.userId();
     }
 
     public Long getUserId() {
-        return userId;
+        return claims.userId();
+    }
+
+    public TokenClaims getClaims() {
+        return claims;
     }
 }
\ No newline at end of file
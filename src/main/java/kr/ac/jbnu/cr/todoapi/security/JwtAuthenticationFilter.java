@@ -4,6 +4,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import kr.ac.jbnu.cr.todoapi.timing.RequestTiming;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,6 +15,12 @@ import java.util.Optional;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Request attribute holding the authenticated user id; unlike the security
+     * context it is still available after the security chain has returned
+     */
+    public static final String USER_ID_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".userId";
+
     private final JwtService jwtService;
 
     public JwtAuthenticationFilter(JwtService jwtService) {
@@ -25,14 +32,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
+        long timingStart = RequestTiming.start();
         // Comme dans le cours : resolveToken -> getUser -> setAuthentication
         resolveToken(request)
-                .ifPresent(token -> jwtService.getUser(token)
-                        .ifPresent(userId -> {
-                            JwtAuthentication authentication = new JwtAuthentication(userId, token);
+                .ifPresent(token -> jwtService.parse(token)
+                        .ifPresent(claims -> {
+                            // parse() also rejects revoked tokens
+                            JwtAuthentication authentication = new JwtAuthentication(claims, token);
                             SecurityContextHolder.getContext().setAuthentication(authentication);
+                            request.setAttribute(USER_ID_ATTRIBUTE, claims.userId());
                         })
                 );
+        RequestTiming.stop(RequestTiming.Phase.AUTH, timingStart);
 
         filterChain.doFilter(request, response);
     }
@@ -1,62 +1,169 @@
 package kr.ac.jbnu.cr.todoapi.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import kr.ac.jbnu.cr.todoapi.jfr.TokenVerificationEvent;
 import kr.ac.jbnu.cr.todoapi.model.User;
+import kr.ac.jbnu.cr.todoapi.util.CpuPermits;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JwtService {
 
     private final SecretKey key;
+    private final JwtParser parser;
     private final long expiration;
     private final String issuer;
+    private final TokenRevocationList revocationList;
+    // Replication log and shard broadcast, when enabled
+    private final ObjectProvider<RevocationListener> revocationListeners;
+    private final CpuPermits jwtPermits;
+
+    // Claims of tokens whose signature was already verified; revocation is still checked on every use
+    private final Map<String, TokenClaims> verifiedTokens = new ConcurrentHashMap<>();
+    private final int cacheMaxEntries;
 
     public JwtService(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.expiration}") long expiration,
-            @Value("${jwt.issuer}") String issuer) {
+            @Value("${jwt.issuer}") String issuer,
+            @Value("${jwt.cache.max-entries}") int cacheMaxEntries,
+            TokenRevocationList revocationList,
+            ObjectProvider<RevocationListener> revocationListeners,
+            @Qualifier("jwtPermits") CpuPermits jwtPermits) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
         this.expiration = expiration;
         this.issuer = issuer;
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.revocationList = revocationList;
+        this.revocationListeners = revocationListeners;
+        this.jwtPermits = jwtPermits;
     }
 
     /**
      * Token generation logic (comme dans le cours)
      */
     public String createToken(User user) {
-        return Jwts.builder()
+        // iat has second precision: a token issued in the same second as a
+        // logout-all must not look older than it
+        long notBefore = revocationList.notBeforeOf(user.getId());
+        long issuedAt = Math.max(System.currentTimeMillis(), (notBefore + 999) / 1000 * 1000);
+
+        return jwtPermits.call(() -> Jwts.builder()
                 .signWith(key)
+                .id(UUID.randomUUID().toString())
                 .subject(user.getId().toString())
                 .issuer(issuer)
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + expiration))
+                .issuedAt(new Date(issuedAt))
+                .expiration(new Date(issuedAt + expiration))
                 .claim("username", user.getUsername())
-                .compact();
+                .claim("email", user.getEmail())
+                .compact());
     }
 
     /**
      * Validate token and get user ID
      */
     public Optional<Long> getUser(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+        return parse(token).map(TokenClaims::userId);
+    }
+
+    /**
+     * Verify the signature and expiry of a token and check it was not revoked
+     */
+    public Optional<TokenClaims> parse(String token) {
+        TokenVerificationEvent event = TokenVerificationEvent.start();
+        TokenClaims tokenClaims = verifiedTokens.get(token);
+        boolean cacheHit = tokenClaims != null && tokenClaims.expiresAtMillis() > System.currentTimeMillis();
+        if (!cacheHit) {
+            tokenClaims = jwtPermits.call(() -> verify(token));
+        }
+        if (tokenClaims != null
+                && revocationList.isRevoked(tokenClaims.jti(), tokenClaims.userId(), tokenClaims.issuedAtMillis())) {
+            tokenClaims = null;
+        }
+        event.finish(cacheHit, tokenClaims == null ? null : tokenClaims.userId());
+        return Optional.ofNullable(tokenClaims);
+    }
 
-            return Optional.of(Long.parseLong(claims.getSubject()));
+    /**
+     * Check signature and expiry, and remember the claims of a valid token
+     * @return the claims, or null if the token is invalid
+     */
+    private TokenClaims verify(String token) {
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            TokenClaims tokenClaims = new TokenClaims(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get("username", String.class),
+                    claims.get("email", String.class),
+                    claims.getId(),
+                    claims.getIssuedAt() == null ? 0 : claims.getIssuedAt().getTime(),
+                    claims.getExpiration().getTime());
+            cache(token, tokenClaims);
+            return tokenClaims;
         } catch (Exception e) {
-            return Optional.empty();
+            verifiedTokens.remove(token);
+            return null;
+        }
+    }
+
+    private void cache(String token, TokenClaims claims) {
+        if (cacheMaxEntries <= 0) {
+            return;
         }
+        if (verifiedTokens.size() >= cacheMaxEntries) {
+            long now = System.currentTimeMillis();
+            verifiedTokens.values().removeIf(cached -> cached.expiresAtMillis() <= now);
+            if (verifiedTokens.size() >= cacheMaxEntries) {
+                // Still full of live tokens: start over rather than track recency on every hit
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(token, claims);
+    }
+
+    /**
+     * Forget every cached verification; the next use of each token verifies its signature again
+     */
+    public void clearCache() {
+        verifiedTokens.clear();
+    }
+
+    /**
+     * Revoke a single token (logout)
+     */
+    public void revoke(TokenClaims claims) {
+        if (claims.jti() != null) {
+            revocationList.revoke(claims.jti(), claims.expiresAtMillis());
+            publish(Revocation.ofToken(claims.jti(), claims.expiresAtMillis()));
+        }
+    }
+
+    /**
+     * Revoke every token issued so far to a user (logout everywhere)
+     */
+    public void revokeAll(Long userId) {
+        long notBefore = revocationList.revokeAll(userId);
+        publish(Revocation.ofUser(userId, notBefore));
+    }
+
+    private void publish(Revocation revocation) {
+        revocationListeners.orderedStream().forEach(listener -> listener.revoked(revocation));
     }
 
     /**
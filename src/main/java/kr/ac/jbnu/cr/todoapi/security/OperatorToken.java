@@ -0,0 +1,44 @@
+package kr.ac.jbnu.cr.todoapi.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Shared secret of the operators allowed to provision accounts in bulk
+ * (POST /auth/register/batch), and the size limit of such a request.
+ * Without a token the endpoint refuses every request.
+ */
+@Component
+public class OperatorToken {
+
+    public static final String HEADER = "X-Operator-Token";
+
+    private final byte[] tokenBytes;
+    private final long maxBatchBytes;
+
+    public OperatorToken(@Value("${auth.operator-token:}") String token,
+                         @Value("${auth.batch.max-bytes}") long maxBatchBytes) {
+        this.tokenBytes = token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+        this.maxBatchBytes = maxBatchBytes;
+    }
+
+    public boolean isOperator(String presented) {
+        return tokenBytes != null && presented != null
+                && MessageDigest.isEqual(tokenBytes, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param contentLength the declared body length, -1 when unknown
+     * @return whether a body of that length may be read
+     */
+    public boolean acceptsBatchOf(long contentLength) {
+        return contentLength >= 0 && contentLength <= maxBatchBytes;
+    }
+
+    public long getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+}
@@ -0,0 +1,127 @@
+package kr.ac.jbnu.cr.todoapi.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.ac.jbnu.cr.todoapi.config.EnvelopeHttpMessageConverter;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.sharding.ClusterClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limiting, placed right after JwtAuthenticationFilter.
+ * Authenticated requests are limited per user id, login and registration
+ * per client address. Rejected requests get a 429 Problem Details response.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final boolean enabled;
+    private final RateLimiter<Long> userLimiter;
+    private final RateLimiter<String> authLimiter;
+    private final EnvelopeHttpMessageConverter envelopeConverter;
+    // Requests relayed by another shard were already limited on the node that received them
+    private final byte[] clusterToken;
+
+    public RateLimitFilter(
+            @Value("${ratelimit.enabled:true}") boolean enabled,
+            @Value("${ratelimit.user.capacity}") int userCapacity,
+            @Value("${ratelimit.user.refill-per-second}") double userRefillPerSecond,
+            @Value("${ratelimit.auth.capacity}") int authCapacity,
+            @Value("${ratelimit.auth.refill-per-second}") double authRefillPerSecond,
+            @Value("${ratelimit.idle-eviction-ms}") long idleEvictionMillis,
+            @Value("${sharding.enabled:false}") boolean sharded,
+            @Value("${sharding.token:}") String clusterToken,
+            EnvelopeHttpMessageConverter envelopeConverter) {
+        this.enabled = enabled;
+        this.userLimiter = new RateLimiter<>(userCapacity, userRefillPerSecond, idleEvictionMillis);
+        this.authLimiter = new RateLimiter<>(authCapacity, authRefillPerSecond, idleEvictionMillis);
+        this.envelopeConverter = envelopeConverter;
+        this.clusterToken = sharded && !clusterToken.isEmpty() ? clusterToken.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || isRelayedByShard(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        long waitNanos = 0;
+        if (isAuthEndpoint(request)) {
+            waitNanos = authLimiter.tryAcquire(request.getRemoteAddr());
+        } else {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication instanceof JwtAuthentication jwtAuthentication) {
+                waitNanos = userLimiter.tryAcquire(jwtAuthentication.getUserId());
+            }
+        }
+
+        if (waitNanos > 0) {
+            reject(request, response, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Drop buckets of clients that have been quiet long enough to be full again
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.eviction-interval-ms:30000}")
+    public void evictIdleBuckets() {
+        int evicted = userLimiter.evictIdle() + authLimiter.evictIdle();
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle rate limit buckets ({} user, {} auth remaining)",
+                    evicted, userLimiter.size(), authLimiter.size());
+        }
+    }
+
+    private boolean isRelayedByShard(HttpServletRequest request) {
+        String presented = request.getHeader(ClusterClient.TOKEN_HEADER);
+        return clusterToken != null && presented != null
+                && MessageDigest.isEqual(clusterToken, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean isAuthEndpoint(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.equals("/auth/login") || path.equals("/auth/register");
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Too Many Requests")
+                .status(429)
+                .detail("Rate limit exceeded. Retry after " + retryAfterSeconds + " second(s).")
+                .instance(request.getRequestURI())
+                .requestId(UUID.randomUUID().toString())
+                .build();
+
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(EnvelopeHttpMessageConverter.PROBLEM_JSON.toString());
+        envelopeConverter.write(error, response.getOutputStream());
+    }
+}
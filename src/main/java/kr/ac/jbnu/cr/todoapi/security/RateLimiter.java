@@ -0,0 +1,56 @@
+package kr.ac.jbnu.cr.todoapi.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyed set of token buckets with idle eviction.
+ * @param <K> the key type (user id, client address, ...)
+ */
+public class RateLimiter<K> {
+
+    private final Map<K, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final double refillPerSecond;
+    private final long idleNanos;
+
+    public RateLimiter(int capacity, double refillPerSecond, long idleMillis) {
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+    }
+
+    /**
+     * Take one token from the bucket of the given key
+     * @param key the bucket key
+     * @return 0 if permitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(K key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerSecond, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * Remove buckets that have been full for longer than the idle timeout.
+     * Full buckets carry no state, so evicting them never changes a decision.
+     * @return number of evicted buckets
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isIdle(now, idleNanos));
+        return before - buckets.size();
+    }
+
+    /**
+     * Number of tracked buckets
+     */
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,19 @@
+package kr.ac.jbnu.cr.todoapi.security;
+
+/**
+ * One logout, as sent to the other instances so they reject the same tokens.
+ * @param jti the revoked token, null for a logout-all
+ * @param expiresAtMillis when the revoked token expires anyway
+ * @param userId the user logged out everywhere, null for a single token
+ * @param notBeforeMillis tokens of userId issued before this time are revoked
+ */
+public record Revocation(String jti, long expiresAtMillis, Long userId, long notBeforeMillis) {
+
+    public static Revocation ofToken(String jti, long expiresAtMillis) {
+        return new Revocation(jti, expiresAtMillis, null, 0);
+    }
+
+    public static Revocation ofUser(Long userId, long notBeforeMillis) {
+        return new Revocation(null, 0, userId, notBeforeMillis);
+    }
+}
@@ -0,0 +1,11 @@
+package kr.ac.jbnu.cr.todoapi.security;
+
+/**
+ * Told of each logout handled by this instance, to pass it on to the
+ * instances that verify tokens on their own: replication followers and the
+ * other shard nodes. Not told of revocations received from them.
+ */
+public interface RevocationListener {
+
+    void revoked(Revocation revocation);
+}
@@ -0,0 +1,14 @@
+package kr.ac.jbnu.cr.todoapi.security;
+
+/**
+ * Claims of a verified access token
+ * @param userId the subject
+ * @param username the username claim
+ * @param email the email claim, null for tokens issued without one
+ * @param jti unique token id, null for tokens issued without one
+ * @param issuedAtMillis iat, in epoch milliseconds (second precision)
+ * @param expiresAtMillis exp, in epoch milliseconds
+ */
+public record TokenClaims(Long userId, String username, String email, String jti,
+                          long issuedAtMillis, long expiresAtMillis) {
+}
@@ -0,0 +1,161 @@
+package kr.ac.jbnu.cr.todoapi.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Revoked tokens, checked on every authenticated request.
+ *
+ * Single tokens are revoked by jti, all tokens of a user by a "not before"
+ * time. The common case, a token that was never revoked, is answered by two
+ * Bloom filter probes without locks or allocation; only a possible hit is
+ * confirmed in the exact map, so false positives never reject a valid token.
+ *
+ * Nothing here outlives the tokens it covers. The Bloom filters rotate every
+ * token lifetime (a revoked jti stays in the current or the previous one for
+ * at least that long), and the exact entries are purged once their token has
+ * expired.
+ *
+ * JwtService passes the logouts handled here on to the other instances, which
+ * add them with apply().
+ */
+@Component
+public class TokenRevocationList {
+
+    private record Generations(BloomFilter current, BloomFilter previous) {
+    }
+
+    private final long tokenLifetimeMillis;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final LongSupplier clock;
+
+    private volatile Generations generations;
+    // jti -> token expiry (epoch millis)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // user id -> tokens issued before this time (epoch millis) are revoked
+    private final Map<Long, Long> notBefore = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenRevocationList(@Value("${jwt.expiration}") long tokenLifetimeMillis,
+                               @Value("${jwt.revocation.expected-revocations}") long expectedRevocations,
+                               @Value("${jwt.revocation.false-positive-rate}") double falsePositiveRate) {
+        this(tokenLifetimeMillis, expectedRevocations, falsePositiveRate, System::currentTimeMillis);
+    }
+
+    TokenRevocationList(long tokenLifetimeMillis, long expectedRevocations, double falsePositiveRate,
+                        LongSupplier clock) {
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.generations = new Generations(newFilter(), newFilter());
+    }
+
+    /**
+     * Revoke one token
+     * @param jti the token id
+     * @param expiresAtMillis when the token expires anyway
+     */
+    public void revoke(String jti, long expiresAtMillis) {
+        if (expiresAtMillis <= clock.getAsLong()) {
+            return;
+        }
+        revokedTokens.put(jti, expiresAtMillis);
+        Generations current = generations;
+        current.current().add(jti);
+        // A rotation may have demoted that filter meanwhile; keep the jti in the new one too
+        Generations after = generations;
+        if (after != current) {
+            after.current().add(jti);
+        }
+    }
+
+    /**
+     * Revoke every token of a user issued until now
+     * @return the user's new not-before time
+     */
+    public long revokeAll(Long userId) {
+        long now = clock.getAsLong();
+        notBefore.merge(userId, now, Math::max);
+        return now;
+    }
+
+    /**
+     * Add a revocation received from another instance
+     */
+    public void apply(Revocation revocation) {
+        if (revocation.jti() != null) {
+            revoke(revocation.jti(), revocation.expiresAtMillis());
+        } else if (revocation.notBeforeMillis() + tokenLifetimeMillis > clock.getAsLong()) {
+            notBefore.merge(revocation.userId(), revocation.notBeforeMillis(), Math::max);
+        }
+    }
+
+    /**
+     * Every revocation still in effect, for an instance that starts or catches up
+     */
+    public List<Revocation> revocations() {
+        List<Revocation> revocations = new ArrayList<>(size());
+        revokedTokens.forEach((jti, expiresAt) -> revocations.add(Revocation.ofToken(jti, expiresAt)));
+        notBefore.forEach((userId, time) -> revocations.add(Revocation.ofUser(userId, time)));
+        return revocations;
+    }
+
+    /**
+     * Earliest issue time a token of this user may have, 0 if unrestricted
+     */
+    public long notBeforeOf(Long userId) {
+        Long value = notBefore.get(userId);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * @param jti the token id, may be null for tokens issued before jti existed
+     * @param userId the token subject
+     * @param issuedAtMillis the token's iat
+     */
+    public boolean isRevoked(String jti, Long userId, long issuedAtMillis) {
+        if (!notBefore.isEmpty()) {
+            Long userNotBefore = notBefore.get(userId);
+            if (userNotBefore != null && issuedAtMillis < userNotBefore) {
+                return true;
+            }
+        }
+        if (jti == null) {
+            return false;
+        }
+        Generations current = generations;
+        if (!current.current().mightContain(jti) && !current.previous().mightContain(jti)) {
+            return false;
+        }
+        return revokedTokens.containsKey(jti);
+    }
+
+    /**
+     * Start a new filter generation and forget entries whose tokens have expired
+     */
+    @Scheduled(fixedDelayString = "${jwt.expiration}", initialDelayString = "${jwt.expiration}")
+    public void rotate() {
+        generations = new Generations(newFilter(), generations.current());
+        long now = clock.getAsLong();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        notBefore.values().removeIf(time -> time + tokenLifetimeMillis <= now);
+    }
+
+    public int size() {
+        return revokedTokens.size() + notBefore.size();
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+}
@@ -0,0 +1,196 @@
+package kr.ac.jbnu.cr.todoapi.service;
+
+import jakarta.annotation.PreDestroy;
+import kr.ac.jbnu.cr.todoapi.exception.JobNotFoundException;
+import kr.ac.jbnu.cr.todoapi.exception.JobRejectedException;
+import kr.ac.jbnu.cr.todoapi.model.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs bulk maintenance work in the background.
+ *
+ * Work is expressed as chunks: the task is called repeatedly with a chunk size
+ * and reports how many items it processed, until it reports zero. Between
+ * chunks the worker releases the store, so request threads are never blocked
+ * for longer than one chunk. The user who submitted a job polls it or
+ * subscribes to its events; to anyone else it does not exist.
+ */
+@Service
+public class JobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+
+    /**
+     * One chunk of a background job
+     */
+    @FunctionalInterface
+    public interface ChunkedTask {
+        /**
+         * @param chunkSize maximum number of items to process
+         * @return number of items processed, 0 when the work is done
+         */
+        long runChunk(int chunkSize) throws Exception;
+    }
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<Job>>> subscribers = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final int chunkSize;
+    private final Duration retention;
+
+    public JobService(@Value("${jobs.workers}") int workers,
+                      @Value("${jobs.queue-capacity}") int queueCapacity,
+                      @Value("${jobs.chunk-size}") int chunkSize,
+                      @Value("${jobs.retention-ms}") long retentionMillis) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "job-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.chunkSize = chunkSize;
+        this.retention = Duration.ofMillis(retentionMillis);
+    }
+
+    /**
+     * Queue a job
+     * @param type job type, shown to clients
+     * @param ownerId the submitting user
+     * @param task the chunked work
+     * @return the pending job
+     * @throws JobRejectedException if the queue is full
+     */
+    public Job submit(String type, Long ownerId, ChunkedTask task) {
+        Job job = new Job(UUID.randomUUID().toString(), type, ownerId);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, task));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new JobRejectedException(type);
+        }
+        return job;
+    }
+
+    /**
+     * @param ownerId the caller; jobs of other users are not found
+     */
+    public Optional<Job> findById(String id, Long ownerId) {
+        return Optional.ofNullable(jobs.get(id)).filter(job -> Objects.equals(job.getOwnerId(), ownerId));
+    }
+
+    /**
+     * Subscribe to progress events of a job (Server-Sent Events).
+     * Sends the current state immediately; the stream ends when the job finishes.
+     */
+    public SseEmitter subscribe(String id, Long ownerId) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(10));
+        Runnable unsubscribe = watch(id, ownerId, job -> send(emitter, job));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        return emitter;
+    }
+
+    /**
+     * Call the listener with the current state of a job, then on every change
+     * until the job finishes. The first call happens on the caller's thread,
+     * later ones on the job worker, so listeners must not block.
+     * @param ownerId the caller
+     * @return removes the listener
+     * @throws JobNotFoundException if the job does not exist or belongs to another user
+     */
+    public Runnable watch(String id, Long ownerId, Consumer<Job> listener) {
+        Job job = findById(id, ownerId).orElseThrow(() -> new JobNotFoundException(id));
+        List<Consumer<Job>> listeners = subscribers.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>());
+        listeners.add(listener);
+
+        // The job may have finished before the listener was registered
+        listener.accept(job);
+        if (job.getStatus().isFinished()) {
+            listeners.remove(listener);
+        }
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Forget finished jobs older than the retention period
+     */
+    @Scheduled(fixedDelayString = "${jobs.retention-ms}")
+    public void evictFinished() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.getStatus().isFinished() && job.getFinishedAt().isBefore(cutoff));
+        subscribers.keySet().retainAll(jobs.keySet());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, ChunkedTask task) {
+        job.markRunning();
+        publish(job);
+        try {
+            long processed;
+            while ((processed = task.runChunk(chunkSize)) > 0) {
+                job.addProcessed(processed);
+                publish(job);
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Job interrupted");
+                }
+            }
+            job.markSucceeded();
+        } catch (Exception e) {
+            logger.error("Job {} ({}) failed: {}", job.getId(), job.getType(), e.getMessage(), e);
+            job.markFailed(e.getMessage());
+        }
+        // The final event also completes every stream
+        publish(job);
+        subscribers.remove(job.getId());
+    }
+
+    private void publish(Job job) {
+        List<Consumer<Job>> listeners = subscribers.get(job.getId());
+        if (listeners != null) {
+            listeners.forEach(listener -> listener.accept(job));
+        }
+    }
+
+    private void send(SseEmitter emitter, Job job) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(job.getStatus().isFinished() ? "finished" : "progress")
+                    .data(job));
+            if (job.getStatus().isFinished()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the completion callback removes the emitter
+            emitter.completeWithError(e);
+        }
+    }
+}
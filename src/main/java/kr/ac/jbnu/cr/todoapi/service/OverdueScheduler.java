@@ -0,0 +1,107 @@
+package kr.ac.jbnu.cr.todoapi.service;
+
+import kr.ac.jbnu.cr.todoapi.event.TodoOverdueEvent;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.repository.TodoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Publishes a TodoOverdueEvent once for every open todo that passes its due
+ * date.
+ *
+ * At each day boundary it reads the due date buckets of the days since the
+ * last run: one bucket in memory, an indexed query with JDBC storage. The last
+ * swept day is kept, so a run that was missed (process suspended, scheduler
+ * busy) is caught up by the next one. Todos written with a due date in a day
+ * already swept are published by TodoService as they are written.
+ *
+ * Replication followers hold copies of the leader's todos and do not sweep:
+ * the leader publishes each event once for the whole group.
+ */
+@Component
+public class OverdueScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueScheduler.class);
+
+    private final TodoRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Supplier<LocalDate> today;
+    private final boolean follower;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Last day whose todos were published; todos due before the start are not reported
+    private LocalDate sweptThrough;
+
+    @Autowired
+    public OverdueScheduler(TodoRepository repository, ApplicationEventPublisher eventPublisher,
+                            @Value("${replication.role:standalone}") String role) {
+        this(repository, eventPublisher, role, LocalDate::now);
+    }
+
+    OverdueScheduler(TodoRepository repository, ApplicationEventPublisher eventPublisher,
+                     String role, Supplier<LocalDate> today) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.today = today;
+        this.follower = "follower".equals(role);
+        this.sweptThrough = today.get().minusDays(1);
+    }
+
+    @Scheduled(cron = "${todo.overdue.cron:0 0 0 * * *}")
+    public void publishNewlyOverdue() {
+        if (follower) {
+            return;
+        }
+        lock.lock();
+        try {
+            LocalDate yesterday = today.get().minusDays(1);
+            while (sweptThrough.isBefore(yesterday)) {
+                LocalDate day = sweptThrough.plusDays(1);
+                List<Todo> overdue = repository.findOpenDueOn(day);
+                for (Todo todo : overdue) {
+                    eventPublisher.publishEvent(new TodoOverdueEvent(todo));
+                }
+                sweptThrough = day;
+                logger.info("{} todo(s) due on {} are now overdue", overdue.size(), day);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Publish a written todo that is overdue now but was not before the write,
+     * when the sweep of its due date has already run
+     * @param before the state before the write, null for a new todo
+     * @param after the written state
+     */
+    public void todoWritten(Todo before, Todo after) {
+        // Most writes: not past due, no lock
+        if (!isOpenAndDue(after, today.get().minusDays(1))) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (isOpenAndDue(after, sweptThrough) && !isOpenAndDue(before, sweptThrough)) {
+                eventPublisher.publishEvent(new TodoOverdueEvent(after));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean isOpenAndDue(Todo todo, LocalDate day) {
+        return todo != null && !todo.isDone() && todo.getDueDate() != null && !todo.getDueDate().isAfter(day);
+    }
+}
@@ -0,0 +1,131 @@
+package kr.ac.jbnu.cr.todoapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import kr.ac.jbnu.cr.todoapi.config.EnvelopeHttpMessageConverter;
+import kr.ac.jbnu.cr.todoapi.dto.request.CreateTodoRequest;
+import kr.ac.jbnu.cr.todoapi.dto.request.UpdateTodoRequest;
+import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.TodoField;
+import kr.ac.jbnu.cr.todoapi.dto.response.TodoView;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.model.User;
+import kr.ac.jbnu.cr.todoapi.replication.MutationLog;
+import kr.ac.jbnu.cr.todoapi.repository.InMemoryTodoRepository;
+import kr.ac.jbnu.cr.todoapi.security.JwtService;
+import kr.ac.jbnu.cr.todoapi.util.SnowflakeIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs the request hot paths with synthetic data before the application
+ * reports ready, so the JIT has compiled them when real traffic arrives.
+ *
+ * Spring Boot marks the application ACCEPTING_TRAFFIC only after every
+ * ApplicationRunner has returned, so /actuator/health/readiness stays
+ * OUT_OF_SERVICE for the duration. Todos go to a scratch TodoService with its
+ * own in-memory store and archive directory: nothing reaches the real store
+ * or the replication log, whatever storage.type is.
+ */
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+    private static final int TODOS_PER_ROUND = 20;
+
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final EnvelopeHttpMessageConverter envelopeConverter;
+    private final SnowflakeIdGenerator idGenerator;
+    private final int iterations;
+
+    public StartupWarmup(JwtService jwtService,
+                         ObjectMapper objectMapper,
+                         EnvelopeHttpMessageConverter envelopeConverter,
+                         SnowflakeIdGenerator idGenerator,
+                         @Value("${warmup.iterations}") int iterations) {
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.envelopeConverter = envelopeConverter;
+        this.idGenerator = idGenerator;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.nanoTime();
+        Path scratchDir = Files.createTempDirectory("todoapi-warmup");
+        try {
+            InMemoryTodoRepository repository = new InMemoryTodoRepository();
+            TodoService todos = new TodoService(repository,
+                    new TodoArchive(scratchDir.toString(), objectMapper),
+                    new MutationLog("standalone", 1),
+                    new OverdueScheduler(repository, event -> {
+                    }, "standalone"),
+                    idGenerator);
+            exercise(todos);
+        } finally {
+            jwtService.clearCache();
+            FileSystemUtils.deleteRecursively(scratchDir);
+        }
+        logger.info("Warm-up finished: {} iteration(s) in {} ms",
+                iterations, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void exercise(TodoService todos) throws IOException {
+        User user = new User();
+        user.setId(-1L);
+        user.setUsername("warmup");
+        user.setEmail("warmup@localhost");
+
+        ObjectReader createReader = objectMapper.readerFor(CreateTodoRequest.class);
+        ObjectReader updateReader = objectMapper.readerFor(UpdateTodoRequest.class);
+        byte[] createJson = ("{\"title\":\"Warm-up todo\",\"description\":\"synthetic\",\"dueDate\":\""
+                + LocalDate.now().plusDays(1) + "\"}").getBytes(StandardCharsets.UTF_8);
+        byte[] updateJson = "{\"title\":\"Warm-up todo (edited)\",\"done\":false}".getBytes(StandardCharsets.UTF_8);
+        TodoField[] fields = TodoView.parseFields("id,title,done");
+        String requestId = UUID.randomUUID().toString();
+        OutputStream sink = OutputStream.nullOutputStream();
+
+        for (int i = 0; i < iterations; i++) {
+            // Security filter chain: issue a token, verify it, then hit the verified-token cache
+            String token = jwtService.createToken(user);
+            jwtService.parse(token);
+            jwtService.parse(token);
+
+            // Controller bodies in, store operations, envelopes out
+            CreateTodoRequest create = createReader.readValue(createJson);
+            Todo todo = todos.create(create, user.getId());
+            todos.findById(todo.getId());
+            todos.update(todo.getId(), updateReader.readValue(updateJson));
+            envelopeConverter.write(ApiResponse.success(todo, requestId, Map.of("self", "/todos/" + todo.getId())), sink);
+
+            if (i % TODOS_PER_ROUND == TODOS_PER_ROUND - 1) {
+                List<Todo> owned = todos.findAll(false, user.getId());
+                envelopeConverter.write(ApiResponse.success(owned, requestId), sink);
+                envelopeConverter.write(ApiResponse.success(TodoView.of(owned, fields), requestId), sink);
+                for (Todo each : owned) {
+                    todos.complete(each.getId());
+                    todos.delete(each.getId());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package kr.ac.jbnu.cr.todoapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold tier for old completed todos.
+ *
+ * Each archival run writes one immutable segment file: gzip-compressed JSON
+ * lines, written to a temporary file and moved into place. Only an id to
+ * segment number map stays on the heap, with the segments each owner has
+ * todos in; reads decompress the segment, and the most recently read one is
+ * kept decoded.
+ *
+ * Removing a todo (reopened, changed or deleted) appends an "id segment" line
+ * to a tombstone file instead of rewriting the segment. A segment whose todos
+ * are all removed is deleted.
+ */
+@Component
+public class TodoArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoArchive.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".jsonl.gz";
+    private static final String TOMBSTONES = "tombstones.txt";
+
+    private record DecodedSegment(int number, Map<Long, Todo> todos) {
+    }
+
+    private final Path directory;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final Map<Long, Integer> segmentById = new ConcurrentHashMap<>();
+    // Todos of each segment still in segmentById, guarded by indexLock
+    private final Map<Integer, Integer> liveBySegment = new HashMap<>();
+    // Segments holding todos of each owner; may still list segments whose copies were removed
+    private final Map<Long, Set<Integer>> segmentsByOwner = new ConcurrentHashMap<>();
+    private final ReentrantLock indexLock = new ReentrantLock();
+    private final AtomicInteger lastSegment = new AtomicInteger();
+    private volatile DecodedSegment lastRead;
+
+    public TodoArchive(@Value("${todo.archive.dir}") String directory, ObjectMapper objectMapper) throws IOException {
+        this.directory = Path.of(directory);
+        this.writer = objectMapper.writerFor(Todo.class);
+        this.reader = objectMapper.readerFor(Todo.class);
+        Files.createDirectories(this.directory);
+        loadIndex();
+    }
+
+    /**
+     * Write todos to a new segment
+     * @param todos the todos to archive
+     */
+    public void append(List<Todo> todos) throws IOException {
+        if (todos.isEmpty()) {
+            return;
+        }
+        int number = lastSegment.incrementAndGet();
+        Path target = segmentPath(number);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+        try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+            for (Todo todo : todos) {
+                out.write(writer.writeValueAsString(todo));
+                out.newLine();
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+        indexLock.lock();
+        try {
+            for (Todo todo : todos) {
+                index(todo, number);
+            }
+        } finally {
+            indexLock.unlock();
+        }
+        logger.info("Archived {} todo(s) into {}", todos.size(), target.getFileName());
+    }
+
+    /**
+     * Read an archived todo
+     * @param id the todo ID
+     * @return optional containing the todo if archived
+     */
+    public Optional<Todo> findById(Long id) {
+        Integer number = segmentById.get(id);
+        if (number == null) {
+            return Optional.empty();
+        }
+        DecodedSegment segment = lastRead;
+        if (segment == null || segment.number() != number) {
+            Map<Long, Todo> todos = new HashMap<>();
+            readSegment(number, todo -> todos.put(todo.getId(), todo));
+            segment = new DecodedSegment(number, todos);
+            lastRead = segment;
+        }
+        return Optional.ofNullable(segment.todos().get(id));
+    }
+
+    /**
+     * Stream every archived todo, oldest segment first
+     */
+    public void forEach(Consumer<Todo> action) {
+        for (int number = 1; number <= lastSegment.get(); number++) {
+            if (Files.exists(segmentPath(number))) {
+                int segment = number;
+                readSegment(number, todo -> {
+                    // Skip removed todos and copies superseded by a later segment
+                    if (Integer.valueOf(segment).equals(segmentById.get(todo.getId()))) {
+                        action.accept(todo);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Remove a todo from the archive
+     * @param id the todo ID
+     * @return true if it was archived
+     */
+    public boolean remove(Long id) {
+        return !removeAll(List.of(id)).isEmpty();
+    }
+
+    /**
+     * Remove todos from the archive, writing their tombstones in one append
+     * @param ids the todo IDs
+     * @return the IDs that were archived
+     */
+    public List<Long> removeAll(Collection<Long> ids) {
+        indexLock.lock();
+        try {
+            List<Long> removed = new ArrayList<>();
+            StringBuilder lines = new StringBuilder();
+            for (Long id : ids) {
+                Integer number = segmentById.get(id);
+                if (number != null) {
+                    removed.add(id);
+                    lines.append(id).append(' ').append(number).append('\n');
+                }
+            }
+            if (removed.isEmpty()) {
+                return removed;
+            }
+            try {
+                Files.writeString(directory.resolve(TOMBSTONES), lines,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write archive tombstones", e);
+            }
+            for (Long id : removed) {
+                unindex(segmentById.remove(id));
+            }
+            return removed;
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    /**
+     * Remove the archived todos matching a condition
+     * @param condition which todos to remove
+     * @param maxCount maximum number of todos to remove
+     * @return the removed IDs
+     */
+    public List<Long> removeIf(Predicate<Todo> condition, int maxCount) {
+        List<Long> matching = new ArrayList<>();
+        forEach(todo -> {
+            if (matching.size() < maxCount && condition.test(todo)) {
+                matching.add(todo.getId());
+            }
+        });
+        return removeAll(matching);
+    }
+
+    /**
+     * Remove and return the archived todos of one owner, reading only the
+     * segments that hold some of them
+     * @param ownerId the owner
+     * @return the removed todos
+     */
+    public List<Todo> removeOwnedBy(Long ownerId) {
+        Set<Integer> segments = segmentsByOwner.remove(ownerId);
+        if (segments == null) {
+            return List.of();
+        }
+        Map<Long, Todo> owned = new HashMap<>();
+        for (int number : new TreeSet<>(segments)) {
+            readSegment(number, todo -> {
+                if (ownerId.equals(todo.getOwnerId())
+                        && Integer.valueOf(number).equals(segmentById.get(todo.getId()))) {
+                    owned.put(todo.getId(), todo);
+                }
+            });
+        }
+        List<Todo> removed = new ArrayList<>();
+        for (Long id : removeAll(owned.keySet())) {
+            removed.add(owned.get(id));
+        }
+        return removed;
+    }
+
+    /**
+     * Owners that may have archived todos, read from the index without opening a segment
+     */
+    public Set<Long> owners() {
+        return new HashSet<>(segmentsByOwner.keySet());
+    }
+
+    /**
+     * IDs of the archived todos, read from the index without opening a segment
+     */
+    public Set<Long> ids() {
+        return new HashSet<>(segmentById.keySet());
+    }
+
+    public boolean contains(Long id) {
+        return segmentById.containsKey(id);
+    }
+
+    public long count() {
+        return segmentById.size();
+    }
+
+    private void loadIndex() throws IOException {
+        List<Integer> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.parseInt(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .forEach(numbers::add);
+        }
+        for (int number : numbers) {
+            readSegment(number, todo -> index(todo, number));
+            lastSegment.set(number);
+        }
+        loadTombstones();
+        if (!numbers.isEmpty()) {
+            logger.info("Loaded {} archived todo(s) from {} segment(s)", segmentById.size(), numbers.size());
+        }
+    }
+
+    private void loadTombstones() throws IOException {
+        Path file = directory.resolve(TOMBSTONES);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (Stream<String> lines = Files.lines(file)) {
+            lines.filter(line -> !line.isBlank()).forEach(line -> {
+                String[] parts = line.trim().split(" ");
+                long id = Long.parseLong(parts[0]);
+                Integer number = Integer.valueOf(parts[1]);
+                // A tombstone only hides the copy in its own segment: the todo
+                // may have been archived again later
+                if (segmentById.remove(id, number)) {
+                    unindex(number);
+                }
+                // Never reuse the number of a deleted segment
+                lastSegment.accumulateAndGet(number, Math::max);
+            });
+        }
+    }
+
+    private void index(Todo todo, int number) {
+        if (todo.getOwnerId() != null) {
+            segmentsByOwner.computeIfAbsent(todo.getOwnerId(), owner -> ConcurrentHashMap.newKeySet()).add(number);
+        }
+        Integer previous = segmentById.put(todo.getId(), number);
+        if (previous != null) {
+            unindex(previous);
+        }
+        liveBySegment.merge(number, 1, Integer::sum);
+    }
+
+    private void unindex(int number) {
+        if (liveBySegment.merge(number, -1, Integer::sum) > 0) {
+            return;
+        }
+        liveBySegment.remove(number);
+        try {
+            Files.deleteIfExists(segmentPath(number));
+            logger.info("Deleted {}, none of its todos is archived anymore", segmentPath(number).getFileName());
+        } catch (IOException e) {
+            logger.warn("Cannot delete empty archive segment {}: {}", number, e.getMessage());
+        }
+    }
+
+    private void readSegment(int number, Consumer<Todo> action) {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segmentPath(number))), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    action.accept(reader.readValue(line));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Deleted once all its todos were removed
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read archive segment " + number, e);
+        }
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,47 @@
+package kr.ac.jbnu.cr.todoapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Periodically moves todos completed more than todo.archive.after-days ago
+ * out of the in-memory store into the TodoArchive.
+ */
+@Component
+public class TodoArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoArchiver.class);
+
+    private final TodoService todoService;
+    private final boolean enabled;
+    private final int afterDays;
+
+    public TodoArchiver(TodoService todoService,
+                        @Value("${todo.archive.enabled:true}") boolean enabled,
+                        @Value("${todo.archive.after-days}") int afterDays) {
+        this.todoService = todoService;
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+    }
+
+    @Scheduled(initialDelayString = "${todo.archive.interval-ms}", fixedDelayString = "${todo.archive.interval-ms}")
+    public void archiveOldCompleted() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int archived = todoService.archiveCompletedBefore(LocalDateTime.now().minusDays(afterDays));
+            if (archived > 0) {
+                logger.info("Moved {} completed todo(s) to the archive", archived);
+            }
+        } catch (IOException e) {
+            logger.error("Archival run failed, todos stay in memory: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -2,52 +2,128 @@ package kr.ac.jbnu.cr.todoapi.service;
 
 import kr.ac.jbnu.cr.todoapi.dto.request.CreateTodoRequest;
 import kr.ac.jbnu.cr.todoapi.dto.request.UpdateTodoRequest;
+import kr.ac.jbnu.cr.todoapi.jfr.TodoStoreEvent;
 import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.replication.MutationLog;
+import kr.ac.jbnu.cr.todoapi.repository.TodoFilter;
+import kr.ac.jbnu.cr.todoapi.repository.TodoRepository;
+import kr.ac.jbnu.cr.todoapi.util.SnowflakeIdGenerator;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
 
 @Service
 public class TodoService {
 
-    // In-memory storage (HashMap)
-    private final Map<Long, Todo> todoStorage = new HashMap<>();
+    // Active todos, in memory or in a database (storage.type)
+    private final TodoRepository repository;
 
-    // Auto-incremented ID generator
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    // Time-ordered IDs, unique across instances
+    private final SnowflakeIdGenerator idGenerator;
+
+    // Cold tier for old completed todos
+    private final TodoArchive archive;
+
+    // Serializes archival runs with writes to archived todos, so a todo is
+    // never moved both ways at once
+    private final ReentrantLock archiveLock = new ReentrantLock();
+
+    // Replication log, recorded on the leader only; the repository appends
+    // to it while the written todo is locked
+    private final MutationLog mutationLog;
+
+    // Told of writes that make a todo overdue after its day was swept
+    private final OverdueScheduler overdueScheduler;
+
+    public TodoService(TodoRepository repository,
+                       TodoArchive archive,
+                       MutationLog mutationLog,
+                       OverdueScheduler overdueScheduler,
+                       SnowflakeIdGenerator idGenerator) {
+        this.repository = repository;
+        this.idGenerator = idGenerator;
+        this.archive = archive;
+        this.mutationLog = mutationLog;
+        this.overdueScheduler = overdueScheduler;
+    }
 
     /**
-     * Retrieve all todos
-     * @return list of all todos
+     * Retrieve the todos of one owner, optionally including archived ones
+     * @param includeArchived whether to read the archive segments as well
+     * @param ownerId the owner, or null for every todo
+     * @return list of todos, active ones first
      */
-    public List<Todo> findAll() {
-        return new ArrayList<>(todoStorage.values());
+    public List<Todo> findAll(boolean includeArchived, Long ownerId) {
+        return findAll(includeArchived, ownerId, TodoFilter.NONE);
     }
 
     /**
-     * Retrieve a todo by ID
+     * Retrieve the todos of one owner matching tag and done conditions
+     * @param includeArchived whether to read the archive segments as well
+     * @param ownerId the owner, or null for every todo
+     * @param filter tag and done conditions, TodoFilter.NONE for none
+     * @return list of todos, active ones first
+     */
+    public List<Todo> findAll(boolean includeArchived, Long ownerId, TodoFilter filter) {
+        TodoStoreEvent event = TodoStoreEvent.start(TodoStoreEvent.FIND_ALL);
+        List<Todo> todos = new ArrayList<>(repository.findAll(ownerId, filter));
+        // Only completed todos are archived
+        if (includeArchived && !Boolean.FALSE.equals(filter.done())) {
+            Set<Long> activeIds = new HashSet<>(todos.size());
+            for (Todo todo : todos) {
+                activeIds.add(todo.getId());
+            }
+            archive.forEach(todo -> {
+                // A todo reopened after being archived lives in the hot set again
+                if (isOwner(todo, ownerId) && filter.matches(todo) && !activeIds.contains(todo.getId())) {
+                    todos.add(todo);
+                }
+            });
+        }
+        event.finish(ownerId, todos.size());
+        return todos;
+    }
+
+    /**
+     * Retrieve a todo by ID, from the active set or the archive
      * @param id the todo ID
      * @return optional containing the todo if found
      */
     public Optional<Todo> findById(Long id) {
-        return Optional.ofNullable(todoStorage.get(id));
+        TodoStoreEvent event = TodoStoreEvent.start(TodoStoreEvent.FIND_BY_ID);
+        Optional<Todo> active = repository.findById(id);
+        Optional<Todo> found = active.isPresent() ? active : archive.findById(id);
+        event.finish(found.map(Todo::getOwnerId).orElse(null), found.isPresent() ? 1 : 0);
+        return found;
     }
 
     /**
      * Create a new todo
      * @param request the creation request
+     * @param ownerId the user creating it
      * @return the created todo
      */
-    public Todo create(CreateTodoRequest request) {
-        Long id = idGenerator.getAndIncrement();
-        LocalDateTime now = LocalDateTime.now();
+    public Todo create(CreateTodoRequest request, Long ownerId) {
+        TodoStoreEvent event = TodoStoreEvent.start(TodoStoreEvent.CREATE);
+        Todo todo = newTodo(request, ownerId, idGenerator.nextId(), LocalDateTime.now());
+        repository.save(todo, mutationLog);
+        overdueScheduler.todoWritten(null, todo);
+        event.finish(ownerId, 1);
+        return todo;
+    }
 
+    private Todo newTodo(CreateTodoRequest request, Long ownerId, long id, LocalDateTime now) {
         Todo todo = new Todo();
         todo.setId(id);
         todo.setTitle(request.getTitle());
@@ -56,21 +132,33 @@ public class TodoService {
         todo.setDone(false);
         todo.setCreatedAt(now);
         todo.setUpdatedAt(now);
-
-        todoStorage.put(id, todo);
+        todo.setOwnerId(ownerId);
+        todo.setTags(Todo.normalizeTags(request.getTags()));
         return todo;
     }
 
     /**
-     * Create multiple todos (batch operation)
+     * Create multiple todos (batch operation), stored in one repository batch
      * @param requests list of creation requests
+     * @param ownerId the user creating them
      * @return list of created todos
      */
-    public List<Todo> createBatch(List<CreateTodoRequest> requests) {
-        List<Todo> createdTodos = new ArrayList<>();
+    public List<Todo> createBatch(List<CreateTodoRequest> requests, Long ownerId) {
+        List<Todo> createdTodos = new ArrayList<>(requests.size());
+        if (requests.isEmpty()) {
+            return createdTodos;
+        }
+        TodoStoreEvent event = TodoStoreEvent.start(TodoStoreEvent.CREATE_BATCH);
+        SnowflakeIdGenerator.Block ids = idGenerator.reserveBlock(requests.size());
+        LocalDateTime now = LocalDateTime.now();
         for (CreateTodoRequest request : requests) {
-            createdTodos.add(create(request));
+            createdTodos.add(newTodo(request, ownerId, ids.next(), now));
         }
+        repository.insertAll(createdTodos, mutationLog);
+        for (Todo todo : createdTodos) {
+            overdueScheduler.todoWritten(null, todo);
+        }
+        event.finish(ownerId, createdTodos.size());
         return createdTodos;
     }
 
@@ -81,22 +169,21 @@ public class TodoService {
      * @return optional containing the updated todo if found
      */
     public Optional<Todo> update(Long id, UpdateTodoRequest request) {
-        Todo existingTodo = todoStorage.get(id);
-
-        if (existingTodo == null) {
-            return Optional.empty();
-        }
-
-        existingTodo.setTitle(request.getTitle());
-        existingTodo.setDescription(request.getDescription());
-        existingTodo.setDueDate(request.getDueDate());
-        if (request.getDone() != null) {
-            existingTodo.setDone(request.getDone());
-        }
-        existingTodo.setUpdatedAt(LocalDateTime.now());
-
-        todoStorage.put(id, existingTodo);
-        return Optional.of(existingTodo);
+        TodoStoreEvent event = TodoStoreEvent.start(TodoStoreEvent.UPDATE);
+        Optional<Todo> updated = write(id, existingTodo -> {
+            Todo updatedTodo = existingTodo.copy();
+            updatedTodo.setTitle(request.getTitle());
+            updatedTodo.setDescription(request.getDescription());
+            updatedTodo.setDueDate(request.getDueDate());
+            updatedTodo.setTags(Todo.normalizeTags(request.getTags()));
+            if (request.getDone() != null) {
+                updatedTodo.setDone(request.getDone());
+            }
+            updatedTodo.setUpdatedAt(LocalDateTime.now());
+            return updatedTodo;
+        });
+        event.finish(updated.map(Todo::getOwnerId).orElse(null), updated.isPresent() ? 1 : 0);
+        return updated;
     }
 
     /**
@@ -105,31 +192,98 @@ public class TodoService {
      * @return optional containing the completed todo if found and not already completed
      */
     public Optional<Todo> complete(Long id) {
-        Todo existingTodo = todoStorage.get(id);
+        TodoStoreEvent event = TodoStoreEvent.start(TodoStoreEvent.COMPLETE);
+        Optional<Todo> completed = write(id, existingTodo -> {
+            // Already completed (for 409 Conflict response)
+            if (existingTodo.isDone()) {
+                return null;
+            }
+            Todo completedTodo = existingTodo.copy();
+            completedTodo.setDone(true);
+            completedTodo.setUpdatedAt(LocalDateTime.now());
+            return completedTodo;
+        });
+        event.finish(completed.map(Todo::getOwnerId).orElse(null), completed.isPresent() ? 1 : 0);
+        return completed;
+    }
 
-        if (existingTodo == null) {
-            return Optional.empty();
-        }
+    /**
+     * Change an active todo, or move a changed archived todo back to the active set
+     * @param change returns the new state, or null to leave the todo unchanged
+     * @return optional containing the new state if found and changed
+     */
+    private Optional<Todo> write(Long id, UnaryOperator<Todo> change) {
+        // State the applied change started from
+        AtomicReference<Todo> before = new AtomicReference<>();
+        UnaryOperator<Todo> tracked = existing -> {
+            before.set(existing);
+            return change.apply(existing);
+        };
+        Optional<Todo> changed = writeActiveOrArchived(id, tracked);
+        changed.ifPresent(todo -> overdueScheduler.todoWritten(before.get(), todo));
+        return changed;
+    }
 
-        // Check if already completed (for 409 Conflict response)
-        if (existingTodo.isDone()) {
-            return Optional.empty();
+    private Optional<Todo> writeActiveOrArchived(Long id, UnaryOperator<Todo> change) {
+        Optional<Todo> changed = repository.update(id, change, mutationLog);
+        if (changed.isPresent() || !archive.contains(id)) {
+            return changed;
         }
+        archiveLock.lock();
+        try {
+            // Moved back by a concurrent write while this one waited
+            changed = repository.update(id, change, mutationLog);
+            if (changed.isPresent()) {
+                return changed;
+            }
+            Optional<Todo> archived = archive.findById(id);
+            if (archived.isEmpty()) {
+                return Optional.empty();
+            }
+            Todo changedTodo = change.apply(archived.get());
+            if (changedTodo == null) {
+                return Optional.empty();
+            }
+            // Saved before the removal so readers find it in one tier or the other
+            repository.save(changedTodo, mutationLog);
+            archive.remove(id);
+            return Optional.of(changedTodo);
+        } finally {
+            archiveLock.unlock();
+        }
+    }
 
-        existingTodo.setDone(true);
-        existingTodo.setUpdatedAt(LocalDateTime.now());
-
-        todoStorage.put(id, existingTodo);
-        return Optional.of(existingTodo);
+    /**
+     * Check if a todo is in the active set, so reading it opens no archive segment
+     * @param id the todo ID
+     * @return true if active, false if archived or not found
+     */
+    public boolean isActive(Long id) {
+        return repository.existsById(id);
     }
 
     /**
-     * Check if a todo exists
+     * Check if a todo exists, active or archived
      * @param id the todo ID
      * @return true if exists, false otherwise
      */
     public boolean existsById(Long id) {
-        return todoStorage.containsKey(id);
+        return repository.existsById(id) || archive.contains(id);
+    }
+
+    /**
+     * Check if a todo exists and belongs to a user
+     * @param id the todo ID
+     * @param ownerId the owner, or null to accept any owner
+     * @return true if visible to that owner
+     */
+    public boolean existsById(Long id, Long ownerId) {
+        if (ownerId == null) {
+            return existsById(id);
+        }
+        Optional<Todo> active = repository.findById(id);
+        Optional<Todo> found = active.isPresent() ? active : archive.findById(id);
+        return found.filter(todo -> ownerId.equals(todo.getOwnerId())).isPresent();
     }
 
     /**
@@ -138,8 +292,7 @@ public class TodoService {
      * @return true if completed, false otherwise
      */
     public boolean isCompleted(Long id) {
-        Todo todo = todoStorage.get(id);
-        return todo != null && todo.isDone();
+        return findById(id).filter(Todo::isDone).isPresent();
     }
 
     /**
@@ -148,24 +301,223 @@ public class TodoService {
      * @return true if deleted, false if not found
      */
     public boolean delete(Long id) {
-        return todoStorage.remove(id) != null;
+        TodoStoreEvent event = TodoStoreEvent.start(TodoStoreEvent.DELETE);
+        Optional<Todo> removed = repository.deleteById(id, mutationLog);
+        if (removed.isEmpty() && archive.contains(id)) {
+            removed = deleteArchived(id);
+        }
+        if (removed.isEmpty()) {
+            event.finish(null, 0);
+            return false;
+        }
+        event.finish(removed.get().getOwnerId(), 1);
+        return true;
+    }
+
+    private Optional<Todo> deleteArchived(Long id) {
+        archiveLock.lock();
+        try {
+            // Moved back by a concurrent write while this one waited
+            Optional<Todo> removed = repository.deleteById(id, mutationLog);
+            if (removed.isPresent()) {
+                return removed;
+            }
+            removed = archive.findById(id);
+            if (removed.isPresent() && archive.remove(id)) {
+                mutationLog.todoDeleted(id);
+                return removed;
+            }
+            return Optional.empty();
+        } finally {
+            archiveLock.unlock();
+        }
     }
 
     /**
-     * Delete all completed todos
+     * Delete all completed todos, archived ones included
+     * @param ownerId only delete todos of this owner, or null for all
      * @return number of deleted todos
      */
-    public int deleteCompleted() {
-        List<Long> completedIds = todoStorage.entrySet().stream()
-                .filter(entry -> entry.getValue().isDone())
-                .map(Map.Entry::getKey)
-                .toList();
+    public int deleteCompleted(Long ownerId) {
+        return deleteCompletedChunk(Integer.MAX_VALUE, ownerId);
+    }
 
-        for (Long id : completedIds) {
-            todoStorage.remove(id);
+    /**
+     * Delete at most a given number of completed todos, active ones first.
+     * Used by background jobs to purge a large store in short steps.
+     * @param maxCount maximum number of todos to delete
+     * @param ownerId only delete todos of this owner, or null for all
+     * @return number of deleted todos, 0 when none are left
+     */
+    public int deleteCompletedChunk(int maxCount, Long ownerId) {
+        TodoStoreEvent event = TodoStoreEvent.start(TodoStoreEvent.DELETE_COMPLETED);
+        int deleted = repository.deleteCompleted(ownerId, maxCount, mutationLog).size();
+        if (deleted < maxCount && archive.count() > 0) {
+            deleted += deleteArchivedCompleted(maxCount - deleted, ownerId);
         }
+        event.finish(ownerId, deleted);
+        return deleted;
+    }
+
+    private int deleteArchivedCompleted(int maxCount, Long ownerId) {
+        archiveLock.lock();
+        try {
+            // Only completed todos are archived
+            List<Long> deletedIds = archive.removeIf(todo -> isOwner(todo, ownerId), maxCount);
+            for (Long id : deletedIds) {
+                mutationLog.todoDeleted(id);
+            }
+            return deletedIds.size();
+        } finally {
+            archiveLock.unlock();
+        }
+    }
+
+    /**
+     * Move todos completed before the cutoff into the archive
+     * @param cutoff todos whose last update is older than this are archived
+     * @return number of archived todos
+     */
+    public int archiveCompletedBefore(LocalDateTime cutoff) throws IOException {
+        archiveLock.lock();
+        try {
+            List<Todo> candidates = repository.findCompletedBefore(cutoff);
+
+            archive.append(candidates);
+
+            int archived = 0;
+            List<Long> reopened = new ArrayList<>();
+            for (Todo todo : candidates) {
+                if (repository.deleteIfCompleted(todo.getId())) {
+                    archived++;
+                } else {
+                    // Reopened or deleted while the segment was written: the
+                    // archived copy must not resurface
+                    reopened.add(todo.getId());
+                }
+            }
+            archive.removeAll(reopened);
+            return archived;
+        } finally {
+            archiveLock.unlock();
+        }
+    }
+
+    /**
+     * Apply a todo state received from the replication leader
+     * @param todo the full todo state
+     */
+    public void applyReplicated(Todo todo) {
+        repository.save(todo);
+    }
+
+    /**
+     * Replace the active todos with a snapshot received from the replication leader,
+     * and drop the archived copies of todos the leader no longer archives
+     * @param todos the leader's active todos
+     * @param archivedIds IDs of the leader's archived todos
+     */
+    public void applyReplicatedSnapshot(List<Todo> todos, Collection<Long> archivedIds) {
+        Set<Long> kept = new HashSet<>(todos.size());
+        for (Todo todo : todos) {
+            kept.add(todo.getId());
+        }
+        Set<Long> archived = new HashSet<>(archivedIds);
+        archiveLock.lock();
+        try {
+            for (Todo todo : repository.findAll(null)) {
+                if (!kept.contains(todo.getId())) {
+                    repository.deleteById(todo.getId());
+                }
+            }
+            repository.saveAll(todos);
+            // Archived here on this instance's own schedule: active again or deleted on the leader
+            List<Long> dropped = new ArrayList<>();
+            for (Long id : archive.ids()) {
+                if (kept.contains(id) || !archived.contains(id)) {
+                    dropped.add(id);
+                }
+            }
+            archive.removeAll(dropped);
+        } finally {
+            archiveLock.unlock();
+        }
+    }
+
+    /**
+     * Apply a deletion received from the replication leader
+     * @param id the todo ID
+     */
+    public void applyReplicatedDelete(Long id) {
+        repository.deleteById(id);
+        // Followers archive on their own schedule, so the todo may be archived here only
+        archive.remove(id);
+    }
+
+    /**
+     * IDs of the archived todos, for a replication snapshot
+     */
+    public Set<Long> findArchivedIds() {
+        return archive.ids();
+    }
+
+    /**
+     * Owners of the todos held by this instance, archived ones included
+     */
+    public Set<Long> findOwners() {
+        Set<Long> owners = new HashSet<>(repository.findOwners());
+        owners.addAll(archive.owners());
+        return owners;
+    }
+
+    /**
+     * Remove and return every todo of one owner, archived ones included,
+     * when the owner moves to another shard
+     * @param ownerId the owner
+     * @return the removed todos
+     */
+    public List<Todo> takeOwnedBy(Long ownerId) {
+        archiveLock.lock();
+        try {
+            List<Todo> todos = new ArrayList<>(repository.deleteByOwner(ownerId, mutationLog));
+            for (Todo todo : archive.removeOwnedBy(ownerId)) {
+                mutationLog.todoDeleted(todo.getId());
+                todos.add(todo);
+            }
+            return todos;
+        } finally {
+            archiveLock.unlock();
+        }
+    }
+
+    /**
+     * Add todos handed over by another shard, keeping their IDs. Archived
+     * todos land in the active set and the next archival run moves them back.
+     * @param todos the todos to add
+     */
+    public void importTodos(List<Todo> todos) {
+        repository.saveAll(todos, mutationLog);
+    }
+
+    /**
+     * Retrieve open todos whose due date has passed, without scanning the store
+     * @return list of overdue todos
+     */
+    public List<Todo> findOverdue() {
+        return repository.findOpenDueBefore(LocalDate.now());
+    }
+
+    /**
+     * Retrieve open todos due on a given day
+     * @param day the due date
+     * @return list of open todos due that day
+     */
+    public List<Todo> findDueOn(LocalDate day) {
+        return repository.findOpenDueOn(day);
+    }
 
-        return completedIds.size();
+    private boolean isOwner(Todo todo, Long ownerId) {
+        return ownerId == null || ownerId.equals(todo.getOwnerId());
     }
 
     /**
@@ -173,6 +525,6 @@ public class TodoService {
      * @return total count
      */
     public long count() {
-        return todoStorage.size();
+        return repository.count();
     }
-}
\ No newline at end of file
+}
@@ -1,57 +1,139 @@
 package kr.ac.jbnu.cr.todoapi.service;
 
 import kr.ac.jbnu.cr.todoapi.dto.request.RegisterRequest;
+import kr.ac.jbnu.cr.todoapi.jfr.PasswordCheckEvent;
 import kr.ac.jbnu.cr.todoapi.model.User;
+import kr.ac.jbnu.cr.todoapi.replication.MutationLog;
+import kr.ac.jbnu.cr.todoapi.repository.UserRepository;
+import kr.ac.jbnu.cr.todoapi.util.CpuPermits;
+import kr.ac.jbnu.cr.todoapi.util.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
 @Service
 public class UserService {
 
-    private final Map<Long, User> userStorage = new HashMap<>();
-    private final Map<String, User> usernameIndex = new HashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final UserRepository repository;
+    private final SnowflakeIdGenerator idGenerator;
     private final PasswordEncoder passwordEncoder;
+    private final CpuPermits passwordPermits;
+    private final MutationLog mutationLog;
 
-    public UserService(PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository repository,
+                       PasswordEncoder passwordEncoder,
+                       @Qualifier("passwordPermits") CpuPermits passwordPermits,
+                       MutationLog mutationLog,
+                       SnowflakeIdGenerator idGenerator) {
+        this.repository = repository;
         this.passwordEncoder = passwordEncoder;
+        this.passwordPermits = passwordPermits;
+        this.idGenerator = idGenerator;
+        this.mutationLog = mutationLog;
     }
 
-    public User register(RegisterRequest request) {
-        User user = User.builder()
-                .id(idGenerator.getAndIncrement())
-                .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .email(request.getEmail())
-                .build();
+    /**
+     * Register a user, atomically claiming the username
+     * @param request the registration request
+     * @return the new user, or empty if the username is taken
+     */
+    public Optional<User> register(RegisterRequest request) {
+        // Skip the expensive hash when the name is obviously taken
+        if (existsByUsername(request.getUsername())) {
+            return Optional.empty();
+        }
+        return register(request, hash(request.getPassword()));
+    }
 
-        userStorage.put(user.getId(), user);
-        usernameIndex.put(user.getUsername(), user);
+    /**
+     * Register several users. Passwords are hashed in parallel, on virtual
+     * threads bounded by the password permits rather than on the common pool.
+     * @param requests the registration requests
+     * @return one entry per request, in order: the new user, or empty if the username is taken
+     */
+    public List<Optional<User>> registerAll(List<RegisterRequest> requests) {
+        List<Future<String>> pending;
+        try (ExecutorService hashers = Executors.newVirtualThreadPerTaskExecutor()) {
+            pending = requests.stream()
+                    .map(request -> hashers.submit(() -> existsByUsername(request.getUsername())
+                            ? null
+                            : hash(request.getPassword())))
+                    .toList();
+        }
+        // Closing the executor waited for every hash
+        List<String> hashes = pending.stream().map(Future::resultNow).toList();
 
-        return user;
+        return IntStream.range(0, requests.size())
+                .mapToObj(i -> hashes.get(i) == null
+                        ? Optional.<User>empty()
+                        : register(requests.get(i), hashes.get(i)))
+                .toList();
     }
 
     public Optional<User> findByUsername(String username) {
-        return Optional.ofNullable(usernameIndex.get(username));
+        return repository.findByUsername(username);
     }
 
     public Optional<User> findById(Long id) {
-        return Optional.ofNullable(userStorage.get(id));
+        return repository.findById(id);
     }
 
     public boolean existsByUsername(String username) {
-        return usernameIndex.containsKey(username);
+        return repository.findByUsername(username).isPresent();
     }
 
     /**
      * Verify password (comme dans le cours)
      */
     public boolean checkPassword(User user, String rawPassword) {
-        return passwordEncoder.matches(rawPassword, user.getPassword());
+        // The event times the check itself, not the wait for a permit
+        return passwordPermits.call(() -> {
+            PasswordCheckEvent event = PasswordCheckEvent.start();
+            boolean matched = passwordEncoder.matches(rawPassword, user.getPassword());
+            event.finish(user.getId(), matched);
+            return matched;
+        });
+    }
+
+    /**
+     * Every user, for a replication snapshot
+     */
+    public List<User> findAll() {
+        return repository.findAll();
+    }
+
+    /**
+     * Apply a user received from the replication leader
+     */
+    public void applyReplicated(User user) {
+        repository.save(user);
+    }
+
+    private String hash(String rawPassword) {
+        return passwordPermits.call(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private Optional<User> register(RegisterRequest request, String passwordHash) {
+        User user = User.builder()
+                .id(idGenerator.nextId())
+                .username(request.getUsername().trim())
+                .password(passwordHash)
+                .email(request.getEmail())
+                .build();
+
+        // Only one concurrent sign-up for a name wins
+        if (!repository.insertIfAbsent(user)) {
+            return Optional.empty();
+        }
+        mutationLog.userSaved(user);
+
+        return Optional.of(user);
     }
-}
\ No newline at end of file
+}
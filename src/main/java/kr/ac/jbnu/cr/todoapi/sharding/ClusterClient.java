@@ -0,0 +1,125 @@
+package kr.ac.jbnu.cr.todoapi.sharding;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.security.Revocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Node-to-node calls of the cluster protocol (/cluster/**), authenticated
+ * with the shared cluster token. A node does not start with the token of the
+ * default configuration, since /cluster/** is open to anyone holding it.
+ */
+@Component
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ClusterClient {
+
+    public static final String TOKEN_HEADER = "X-Cluster-Token";
+
+    // Value of sharding.token in application.properties, known to anyone
+    private static final String PLACEHOLDER_TOKEN = "change-this-cluster-token";
+
+    private static final TypeReference<List<Todo>> TODO_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<Revocation>> REVOCATION_LIST = new TypeReference<>() {
+    };
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    private final ObjectMapper objectMapper;
+    private final String token;
+    private final byte[] tokenBytes;
+
+    public ClusterClient(ObjectMapper objectMapper, @Value("${sharding.token}") String token) {
+        if (token.isBlank() || PLACEHOLDER_TOKEN.equals(token)) {
+            throw new IllegalStateException("Set sharding.token to a secret value before enabling sharding");
+        }
+        this.objectMapper = objectMapper;
+        this.token = token;
+        this.tokenBytes = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Whether a presented header value is the cluster token, in constant time
+     */
+    public boolean isClusterToken(String presented) {
+        return presented != null && MessageDigest.isEqual(tokenBytes, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Take over the todos a node still holds for a user
+     */
+    public List<Todo> handoff(ShardNode from, long userId) throws IOException, InterruptedException {
+        byte[] body = send(from, "POST", "/cluster/handoff?userId=" + userId, null);
+        return objectMapper.readValue(body, TODO_LIST);
+    }
+
+    public void importTodos(ShardNode to, List<Todo> todos) throws IOException, InterruptedException {
+        send(to, "POST", "/cluster/import", objectMapper.writeValueAsBytes(todos));
+    }
+
+    public void updateRing(ShardNode to, List<ShardNode> nodes) throws IOException, InterruptedException {
+        send(to, "PUT", "/cluster/ring", objectMapper.writeValueAsBytes(nodes));
+    }
+
+    public void abortRing(ShardNode to, List<ShardNode> nodes) throws IOException, InterruptedException {
+        send(to, "POST", "/cluster/ring/abort", objectMapper.writeValueAsBytes(nodes));
+    }
+
+    public void startMigration(ShardNode to) throws IOException, InterruptedException {
+        send(to, "POST", "/cluster/migrate", null);
+    }
+
+    public void handoffComplete(ShardNode to, String fromNodeId) throws IOException, InterruptedException {
+        send(to, "POST", "/cluster/handoff-complete?from=" + fromNodeId, null);
+    }
+
+    public void sendRevocations(ShardNode to, List<Revocation> revocations) throws IOException, InterruptedException {
+        send(to, "POST", "/cluster/revocations", objectMapper.writeValueAsBytes(revocations));
+    }
+
+    public List<Revocation> fetchRevocations(ShardNode from) throws IOException, InterruptedException {
+        return objectMapper.readValue(send(from, "GET", "/cluster/revocations", null), REVOCATION_LIST);
+    }
+
+    private byte[] send(ShardNode node, String method, String path, byte[] body)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node.url() + path))
+                .timeout(Duration.ofSeconds(30))
+                .header(TOKEN_HEADER, token)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(method + " " + path + " on " + node.id() + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+}
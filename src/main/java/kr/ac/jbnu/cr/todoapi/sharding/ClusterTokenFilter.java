@@ -0,0 +1,60 @@
+package kr.ac.jbnu.cr.todoapi.sharding;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.ac.jbnu.cr.todoapi.config.EnvelopeHttpMessageConverter;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Answers 401 to /cluster/** requests without the cluster token, before
+ * they reach ClusterController. Those paths carry no user JWT.
+ */
+@Component
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ClusterTokenFilter extends OncePerRequestFilter {
+
+    private final ClusterClient clusterClient;
+    private final EnvelopeHttpMessageConverter envelopeConverter;
+
+    public ClusterTokenFilter(ClusterClient clusterClient, EnvelopeHttpMessageConverter envelopeConverter) {
+        this.clusterClient = clusterClient;
+        this.envelopeConverter = envelopeConverter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/cluster/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        if (clusterClient.isClusterToken(request.getHeader(ClusterClient.TOKEN_HEADER))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Unauthorized")
+                .status(401)
+                .detail(ClusterClient.TOKEN_HEADER + " is missing or invalid.")
+                .instance(request.getRequestURI())
+                .requestId(UUID.randomUUID().toString())
+                .build();
+
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(EnvelopeHttpMessageConverter.PROBLEM_JSON.toString());
+        envelopeConverter.write(error, response.getOutputStream());
+    }
+}
@@ -0,0 +1,76 @@
+package kr.ac.jbnu.cr.todoapi.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring mapping user ids to nodes.
+ *
+ * Each node is placed at several points (virtual nodes) so that users spread
+ * evenly, and adding a node only moves the users that land on its points,
+ * roughly 1/N of them.
+ */
+public final class ConsistentHashRing {
+
+    private final List<ShardNode> nodes;
+    private final NavigableMap<Long, ShardNode> points = new TreeMap<>();
+
+    public ConsistentHashRing(List<ShardNode> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A ring needs at least one node");
+        }
+        this.nodes = List.copyOf(nodes);
+        for (ShardNode node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(node.id() + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * Node owning a user: the first point clockwise from the user's hash
+     */
+    public ShardNode ownerOf(long userId) {
+        Map.Entry<Long, ShardNode> entry = points.ceilingEntry(mix(userId));
+        return entry != null ? entry.getValue() : points.firstEntry().getValue();
+    }
+
+    public List<ShardNode> getNodes() {
+        return nodes;
+    }
+
+    public ShardNode find(String nodeId) {
+        for (ShardNode node : nodes) {
+            if (node.id().equals(nodeId)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (digest[i] & 0xff);
+            }
+            return value;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // SplitMix64 finalizer: sequential ids end up far apart on the ring
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
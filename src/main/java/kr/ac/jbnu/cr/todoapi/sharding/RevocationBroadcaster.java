@@ -0,0 +1,97 @@
+package kr.ac.jbnu.cr.todoapi.sharding;
+
+import jakarta.annotation.PostConstruct;
+import kr.ac.jbnu.cr.todoapi.security.Revocation;
+import kr.ac.jbnu.cr.todoapi.security.RevocationListener;
+import kr.ac.jbnu.cr.todoapi.security.TokenRevocationList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Passes the logouts handled by this node on to the other members: every node
+ * verifies tokens itself before routing a request, so each must know them.
+ *
+ * A member that cannot be reached is retried until the revoked tokens have
+ * expired anyway. A starting node loads the revocations still in effect from
+ * the first member that answers.
+ */
+@Component
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class RevocationBroadcaster implements RevocationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationBroadcaster.class);
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final ShardManager shardManager;
+    private final ClusterClient clusterClient;
+    private final TokenRevocationList revocationList;
+    private final long tokenLifetimeMillis;
+
+    public RevocationBroadcaster(ShardManager shardManager,
+                                 ClusterClient clusterClient,
+                                 TokenRevocationList revocationList,
+                                 @Value("${jwt.expiration}") long tokenLifetimeMillis) {
+        this.shardManager = shardManager;
+        this.clusterClient = clusterClient;
+        this.revocationList = revocationList;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+    }
+
+    @PostConstruct
+    public void loadFromMembers() {
+        for (ShardNode node : shardManager.getNodes()) {
+            if (shardManager.isSelf(node)) {
+                continue;
+            }
+            try {
+                List<Revocation> revocations = clusterClient.fetchRevocations(node);
+                revocations.forEach(revocationList::apply);
+                logger.info("Loaded {} revocation(s) from {}", revocations.size(), node.id());
+                return;
+            } catch (IOException e) {
+                logger.debug("Cannot load revocations from {}: {}", node.id(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void revoked(Revocation revocation) {
+        for (ShardNode node : shardManager.getNodes()) {
+            if (!shardManager.isSelf(node)) {
+                Thread.startVirtualThread(() -> send(node, revocation));
+            }
+        }
+    }
+
+    private void send(ShardNode node, Revocation revocation) {
+        long until = revocation.jti() != null
+                ? revocation.expiresAtMillis()
+                : revocation.notBeforeMillis() + tokenLifetimeMillis;
+        while (System.currentTimeMillis() < until && shardManager.getNodes().contains(node)) {
+            try {
+                clusterClient.sendRevocations(node, List.of(revocation));
+                return;
+            } catch (IOException e) {
+                logger.warn("Cannot send a revocation to {}: {}", node.id(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                Thread.sleep(RETRY_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package kr.ac.jbnu.cr.todoapi.sharding;
+
+import jakarta.annotation.PreDestroy;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.service.TodoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Membership and user placement of a sharded cluster.
+ *
+ * Users are placed on nodes by consistent hashing of their id. Accounts
+ * (registration, login, profile) stay on the first configured node, the
+ * directory; only todos are sharded.
+ *
+ * Adding a node is a live, two-phase rebalance driven by one node:
+ * <ol>
+ *   <li>every node installs the new ring and keeps the previous one; requests
+ *       are routed with the new ring from then on</li>
+ *   <li>every node pushes the todos of users it no longer owns to their new
+ *       owner, then tells the others it is done</li>
+ * </ol>
+ * While a node still waits for a previous owner, the first request for a
+ * moved user pulls that user's todos synchronously. A previous owner runs
+ * the pushes and pulls of one user one at a time, so a pull arriving while
+ * that user's todos are being pushed waits for the push to land instead of
+ * finding nothing; reads never miss data.
+ *
+ * If a member cannot be reached while the new ring is installed, the members
+ * that switched go back to the previous ring and push back any todos pulled
+ * meanwhile. Once every member has the new ring, the rebalance only moves
+ * forward: a member that cannot be told to start migrating is retried.
+ */
+@Component
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardManager.class);
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final TodoService todoService;
+    private final ClusterClient clusterClient;
+    private final String selfId;
+    private final int virtualNodes;
+    private final ReentrantLock ringLock = new ReentrantLock();
+    private final ExecutorService migrator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shard-migrator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Pulls block on the previous owner: one virtual thread each, off the common pool
+    private final ExecutorService puller = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile ConsistentHashRing ring;
+    private volatile ConsistentHashRing previousRing;
+    private final Set<String> pendingSources = ConcurrentHashMap.newKeySet();
+    private final Map<Long, CompletableFuture<Void>> pulls = new ConcurrentHashMap<>();
+    // Pushes and pulls under way on this node as a previous owner, per user
+    private final Map<Long, CompletableFuture<Void>> handOffs = new ConcurrentHashMap<>();
+
+    public ShardManager(TodoService todoService,
+                        ClusterClient clusterClient,
+                        @Value("${sharding.node-id}") String selfId,
+                        @Value("${sharding.nodes}") String nodes,
+                        @Value("${sharding.virtual-nodes}") int virtualNodes) {
+        this.todoService = todoService;
+        this.clusterClient = clusterClient;
+        this.selfId = selfId;
+        this.virtualNodes = virtualNodes;
+        this.ring = new ConsistentHashRing(parseNodes(nodes), virtualNodes);
+        if (ring.find(selfId) == null) {
+            // A joining node lists the current members and owns nothing until it is added
+            logger.info("Node {} is not a cluster member yet", selfId);
+        }
+    }
+
+    public ShardNode ownerOf(long userId) {
+        return ring.ownerOf(userId);
+    }
+
+    /**
+     * Node holding user accounts
+     */
+    public ShardNode directory() {
+        return ring.getNodes().get(0);
+    }
+
+    public boolean isSelf(ShardNode node) {
+        return selfId.equals(node.id());
+    }
+
+    public List<ShardNode> getNodes() {
+        return ring.getNodes();
+    }
+
+    public boolean isRebalancing() {
+        return previousRing != null;
+    }
+
+    public Set<String> getPendingSources() {
+        return Set.copyOf(pendingSources);
+    }
+
+    /**
+     * Make sure a user owned by this node has all its todos here.
+     * Only does work during a rebalance, once per moved user.
+     */
+    public void ensureLocal(long userId) {
+        ConsistentHashRing previous = previousRing;
+        if (previous == null) {
+            return;
+        }
+        ShardNode previousOwner = previous.ownerOf(userId);
+        if (isSelf(previousOwner) || !pendingSources.contains(previousOwner.id())) {
+            return;
+        }
+        CompletableFuture<Void> pull = pulls.computeIfAbsent(userId, id -> CompletableFuture.runAsync(() -> {
+            try {
+                todoService.importTodos(clusterClient.handoff(previousOwner, id));
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, puller));
+        try {
+            pull.join();
+        } catch (CompletionException e) {
+            // Let the next request try again
+            pulls.remove(userId, pull);
+            throw e;
+        }
+    }
+
+    /**
+     * Add a node to the cluster and rebalance. Run on any current member.
+     * @param node the new node, already started and empty
+     * @return the new member list
+     * @throws IOException if a member could not switch to the new ring; the
+     *         cluster is then back on the previous one
+     */
+    public List<ShardNode> addNode(ShardNode node) throws IOException, InterruptedException {
+        if (isRebalancing()) {
+            throw new IllegalStateException("A rebalance is already in progress");
+        }
+        if (ring.find(node.id()) != null) {
+            throw new IllegalStateException("Node " + node.id() + " is already a member");
+        }
+        List<ShardNode> nodes = new ArrayList<>(ring.getNodes());
+        nodes.add(node);
+
+        // Phase 1: every node routes with the new ring before any data moves
+        for (ShardNode member : nodes) {
+            try {
+                if (isSelf(member)) {
+                    installRing(nodes);
+                } else {
+                    clusterClient.updateRing(member, nodes);
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.warn("Node {} could not switch rings, aborting the rebalance: {}", member.id(), e.getMessage());
+                abortEverywhere(nodes);
+                throw e;
+            }
+        }
+        // Phase 2: every node pushes the users it lost
+        for (ShardNode member : nodes) {
+            if (isSelf(member)) {
+                startMigration();
+            } else {
+                try {
+                    clusterClient.startMigration(member);
+                } catch (IOException e) {
+                    logger.warn("Cannot start the migration on {}, retrying: {}", member.id(), e.getMessage());
+                    // Not on the migrator, which runs this node's own migration
+                    Thread.startVirtualThread(() -> retryStartMigration(member));
+                }
+            }
+        }
+        logger.info("Node {} joined; rebalancing {} node(s)", node.id(), nodes.size());
+        return nodes;
+    }
+
+    /**
+     * Switch to a new member list, keeping the current ring for the handover
+     */
+    public void installRing(List<ShardNode> nodes) {
+        ringLock.lock();
+        try {
+            if (previousRing != null) {
+                throw new IllegalStateException("A rebalance is already in progress");
+            }
+            ConsistentHashRing next = new ConsistentHashRing(nodes, virtualNodes);
+            previousRing = ring;
+            for (ShardNode node : ring.getNodes()) {
+                if (!isSelf(node)) {
+                    pendingSources.add(node.id());
+                }
+            }
+            ring = next;
+        } finally {
+            ringLock.unlock();
+        }
+    }
+
+    /**
+     * Go back to the previous ring, if the current one is the given member list
+     * and no migration was started, then push back the todos pulled meanwhile
+     */
+    public void abortRing(List<ShardNode> nodes) {
+        ringLock.lock();
+        try {
+            if (previousRing == null || !ring.getNodes().equals(nodes)) {
+                return;
+            }
+            ring = previousRing;
+            previousRing = null;
+            pendingSources.clear();
+            pulls.clear();
+        } finally {
+            ringLock.unlock();
+        }
+        logger.info("Rebalance aborted");
+        migrator.execute(this::pushForeignUsers);
+    }
+
+    /**
+     * Push the todos of users this node no longer owns, in the background
+     */
+    public void startMigration() {
+        migrator.execute(this::migrateOut);
+    }
+
+    /**
+     * Give away the todos held for a user, on request of its new owner.
+     * Waits for a push of that user's todos under way, which leaves nothing
+     * to give, or puts them back if it failed.
+     */
+    public List<Todo> handOff(long userId) {
+        return handingOff(userId, () -> todoService.takeOwnedBy(userId));
+    }
+
+    /**
+     * A previous member finished pushing its users
+     */
+    public void handoffComplete(String fromNodeId) {
+        ringLock.lock();
+        try {
+            pendingSources.remove(fromNodeId);
+            if (previousRing != null && pendingSources.isEmpty()) {
+                previousRing = null;
+                pulls.clear();
+                logger.info("Rebalance complete");
+            }
+        } finally {
+            ringLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        migrator.shutdownNow();
+        puller.shutdownNow();
+    }
+
+    private void migrateOut() {
+        ConsistentHashRing previous = previousRing;
+        boolean wasMember = previous != null && previous.find(selfId) != null;
+        pushForeignUsers();
+
+        if (wasMember) {
+            for (ShardNode node : ring.getNodes()) {
+                if (!isSelf(node)) {
+                    notifyComplete(node);
+                }
+            }
+        }
+    }
+
+    private void pushForeignUsers() {
+        int moved = 0;
+        for (Long userId : todoService.findOwners()) {
+            ShardNode owner = ring.ownerOf(userId);
+            if (!isSelf(owner)) {
+                moved += push(userId, owner);
+            }
+        }
+        logger.info("Handed over {} todo(s)", moved);
+    }
+
+    private int push(Long userId, ShardNode owner) {
+        while (!Thread.currentThread().isInterrupted()) {
+            // -1: not delivered, retry
+            int pushed = handingOff(userId, () -> {
+                List<Todo> todos = todoService.takeOwnedBy(userId);
+                if (todos.isEmpty()) {
+                    return 0;
+                }
+                try {
+                    clusterClient.importTodos(owner, todos);
+                    return todos.size();
+                } catch (IOException e) {
+                    // Keep the todos here until the owner is reachable
+                    todoService.importTodos(todos);
+                    logger.warn("Cannot hand over user {} to {}: {}", userId, owner.id(), e.getMessage());
+                    return -1;
+                } catch (InterruptedException e) {
+                    todoService.importTodos(todos);
+                    Thread.currentThread().interrupt();
+                    return 0;
+                }
+            });
+            if (pushed >= 0 || !sleep()) {
+                return Math.max(pushed, 0);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Run a step that takes a user's todos away, after any other one for that
+     * user, so that a pull never sees them half-way through a push
+     */
+    private <T> T handingOff(long userId, Supplier<T> step) {
+        CompletableFuture<Void> slot = new CompletableFuture<>();
+        CompletableFuture<Void> running;
+        while ((running = handOffs.putIfAbsent(userId, slot)) != null) {
+            running.join();
+        }
+        try {
+            return step.get();
+        } finally {
+            handOffs.remove(userId, slot);
+            slot.complete(null);
+        }
+    }
+
+    private void abortEverywhere(List<ShardNode> nodes) {
+        for (ShardNode member : nodes) {
+            try {
+                if (isSelf(member)) {
+                    abortRing(nodes);
+                } else {
+                    clusterClient.abortRing(member, nodes);
+                }
+            } catch (IOException e) {
+                logger.warn("Cannot abort the rebalance on {}: {}", member.id(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void retryStartMigration(ShardNode member) {
+        while (sleep()) {
+            try {
+                clusterClient.startMigration(member);
+                return;
+            } catch (IOException e) {
+                logger.warn("Cannot start the migration on {}: {}", member.id(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void notifyComplete(ShardNode node) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                clusterClient.handoffComplete(node, selfId);
+                return;
+            } catch (IOException e) {
+                logger.warn("Cannot notify {} of the handover: {}", node.id(), e.getMessage());
+                if (!sleep()) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean sleep() {
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Parse "id=url,id=url"
+     */
+    static List<ShardNode> parseNodes(String nodes) {
+        List<ShardNode> parsed = new ArrayList<>();
+        for (String entry : nodes.split(",")) {
+            String trimmed = entry.trim();
+            int separator = trimmed.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid sharding.nodes entry: " + trimmed);
+            }
+            parsed.add(new ShardNode(trimmed.substring(0, separator), trimmed.substring(separator + 1)));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,9 @@
+package kr.ac.jbnu.cr.todoapi.sharding;
+
+/**
+ * A node of the sharded cluster
+ * @param id stable node name, hashed onto the ring
+ * @param url base URL other nodes use to reach it
+ */
+public record ShardNode(String id, String url) {
+}
@@ -0,0 +1,204 @@
+package kr.ac.jbnu.cr.todoapi.sharding;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.ac.jbnu.cr.todoapi.config.EnvelopeHttpMessageConverter;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.security.JwtAuthentication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Sends each request to the node that owns it. Placed right after
+ * JwtAuthenticationFilter, so the caller's user id is known.
+ *
+ * Todo and job requests belong to the caller's shard, account requests to the
+ * directory node. /auth/me is answered from the token on any node. Requests for another node are forwarded (proxied) or, with
+ * sharding.routing=redirect, answered with a 307 to the owner. A forwarded
+ * request carries the cluster token and is always served where it lands, so
+ * two nodes with different rings during a rebalance cannot bounce it forever.
+ */
+@Component
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRoutingFilter.class);
+
+    // Hop-by-hop headers, and headers the JDK client sets itself
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade", "keep-alive",
+            "transfer-encoding", "te", "trailer", "proxy-connection", "date", "server");
+
+    private final ShardManager shardManager;
+    private final ClusterClient clusterClient;
+    private final EnvelopeHttpMessageConverter envelopeConverter;
+    private final boolean redirect;
+
+    public ShardRoutingFilter(ShardManager shardManager,
+                              ClusterClient clusterClient,
+                              EnvelopeHttpMessageConverter envelopeConverter,
+                              @Value("${sharding.routing}") String routing) {
+        this.shardManager = shardManager;
+        this.clusterClient = clusterClient;
+        this.envelopeConverter = envelopeConverter;
+        this.redirect = "redirect".equals(routing);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/cluster/") || path.startsWith("/actuator")
+                || path.startsWith("/swagger-ui") || path.startsWith("/api-docs");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String path = request.getRequestURI();
+        Long userId = currentUserId();
+        ShardNode target;
+        if (path.startsWith("/auth/") && !path.equals("/auth/me")) {
+            target = shardManager.directory();
+        } else if (userId != null && (path.startsWith("/todos") || path.startsWith("/jobs/"))) {
+            target = shardManager.ownerOf(userId);
+        } else {
+            target = null;
+        }
+
+        if (target == null || shardManager.isSelf(target) || hasClusterToken(request)) {
+            if (target != null && shardManager.isSelf(target) && userId != null && !path.startsWith("/auth/")) {
+                try {
+                    shardManager.ensureLocal(userId);
+                } catch (CompletionException e) {
+                    logger.warn("Cannot pull todos of user {}: {}", userId, e.getMessage());
+                    unavailable(request, response);
+                    return;
+                }
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (redirect) {
+            response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+            response.setHeader("Location", targetUri(target, request).toString());
+            return;
+        }
+
+        try {
+            forward(target, request, response);
+        } catch (IOException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            logger.warn("Cannot forward to {}: {}", target.id(), e.getMessage());
+            unavailable(request, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unavailable(request, response);
+        }
+    }
+
+    /**
+     * Whether the request carries the cluster token, i.e. comes from another node
+     */
+    private boolean hasClusterToken(HttpServletRequest request) {
+        return clusterClient.isClusterToken(request.getHeader(ClusterClient.TOKEN_HEADER));
+    }
+
+    private void forward(ShardNode target, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, InterruptedException {
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(targetUri(target, request))
+                .timeout(Duration.ofSeconds(30))
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase()) && !ClusterClient.TOKEN_HEADER.equalsIgnoreCase(name)) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    builder.header(name, value);
+                }
+            }
+        }
+        builder.header(ClusterClient.TOKEN_HEADER, clusterClient.getToken());
+
+        HttpResponse<InputStream> upstream = clusterClient.getHttpClient()
+                .send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+
+        response.setStatus(upstream.statusCode());
+        for (Map.Entry<String, List<String>> header : upstream.headers().map().entrySet()) {
+            if (!SKIPPED_HEADERS.contains(header.getKey().toLowerCase()) && !header.getKey().startsWith(":")) {
+                for (String value : header.getValue()) {
+                    response.addHeader(header.getKey(), value);
+                }
+            }
+        }
+
+        // Copy as it arrives, so that event streams are relayed live
+        try (InputStream in = upstream.body()) {
+            OutputStream out = response.getOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        }
+    }
+
+    private URI targetUri(ShardNode target, HttpServletRequest request) {
+        String query = request.getQueryString();
+        return URI.create(target.url() + request.getRequestURI() + (query == null ? "" : "?" + query));
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthentication jwtAuthentication) {
+            return jwtAuthentication.getUserId();
+        }
+        return null;
+    }
+
+    private void unavailable(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Service Unavailable")
+                .status(503)
+                .detail("The node owning this data cannot be reached. Please retry shortly.")
+                .instance(request.getRequestURI())
+                .requestId(UUID.randomUUID().toString())
+                .build();
+
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", "1");
+        response.setContentType(EnvelopeHttpMessageConverter.PROBLEM_JSON.toString());
+        envelopeConverter.write(error, response.getOutputStream());
+    }
+}
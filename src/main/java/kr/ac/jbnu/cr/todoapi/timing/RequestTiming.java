@@ -0,0 +1,142 @@
+package kr.ac.jbnu.cr.todoapi.timing;
+
+import java.util.Locale;
+
+/**
+ * Time spent in each phase of the current request.
+ *
+ * ServerTimingFilter binds one instance to the request thread; instrumented
+ * code brackets a phase with {@link #start()} and {@link #stop(Phase, long)}.
+ * Without a bound instance (timing disabled, background threads) start()
+ * returns 0 and stop() does nothing, so call sites need no checks.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        /** Bearer token verification in the security filter chain */
+        AUTH("auth"),
+        /** Request body deserialization */
+        READ("read"),
+        /** Bean Validation of @Valid arguments */
+        VALIDATION("validation"),
+        /** TodoService operations */
+        SERVICE("service"),
+        /** Response body serialization, from the body advice to the end of the request */
+        WRITE("write");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final boolean serverTiming;
+    private final long[] phaseNanos = new long[PHASES.length];
+    private final long[] openNanos = new long[PHASES.length];
+
+    RequestTiming(long startNanos, boolean serverTiming) {
+        this.startNanos = startNanos;
+        this.serverTiming = serverTiming;
+    }
+
+    /**
+     * Begin a phase
+     * @return the start time to pass to stop(), or 0 if the request is not timed
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * End a phase begun with start(); repeated phases add up
+     */
+    public static void stop(Phase phase, long startNanos) {
+        if (startNanos == 0) {
+            return;
+        }
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.phaseNanos[phase.ordinal()] += System.nanoTime() - startNanos;
+        }
+    }
+
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    static void bind(RequestTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Whether this request's response carries a Server-Timing header
+     */
+    boolean serverTiming() {
+        return serverTiming;
+    }
+
+    /**
+     * Open a phase whose end is observed by a different callback than its start
+     */
+    void begin(Phase phase, long nowNanos) {
+        openNanos[phase.ordinal()] = nowNanos;
+    }
+
+    /**
+     * Close a phase opened with begin(); does nothing if it is not open
+     */
+    void end(Phase phase, long nowNanos) {
+        int index = phase.ordinal();
+        if (openNanos[index] != 0) {
+            phaseNanos[index] += nowNanos - openNanos[index];
+            openNanos[index] = 0;
+        }
+    }
+
+    long elapsedNanos(long nowNanos) {
+        return nowNanos - startNanos;
+    }
+
+    /**
+     * Server-Timing header value: non-zero phases plus the total so far ("app")
+     */
+    String toServerTiming(long nowNanos) {
+        StringBuilder header = new StringBuilder(96);
+        for (Phase phase : PHASES) {
+            long nanos = phaseNanos[phase.ordinal()];
+            if (nanos > 0) {
+                header.append(phase.metricName()).append(";dur=").append(millis(nanos)).append(", ");
+            }
+        }
+        return header.append("app;dur=").append(millis(elapsedNanos(nowNanos))).toString();
+    }
+
+    /**
+     * key=value pairs for the slow-request log, every phase included
+     */
+    String toLogFields(long nowNanos) {
+        StringBuilder fields = new StringBuilder(128)
+                .append("total_ms=").append(millis(elapsedNanos(nowNanos)));
+        for (Phase phase : PHASES) {
+            fields.append(' ').append(phase.metricName()).append("_ms=").append(millis(phaseNanos[phase.ordinal()]));
+        }
+        return fields.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,78 @@
+package kr.ac.jbnu.cr.todoapi.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.ac.jbnu.cr.todoapi.filter.LongLivedRequests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Times every request by phase (see RequestTiming.Phase).
+ *
+ * A sampled share of responses carries the breakdown in a Server-Timing
+ * header. The header has to go out before the body, so it is set by
+ * ServerTimingAdvice just before serialization and cannot include "write";
+ * responses without a body get it here. Requests slower than
+ * timing.slow-request-ms are logged with every phase, serialization included.
+ *
+ * Runs first, so "app" also covers load-shedding queue time.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final Logger slowRequests = LoggerFactory.getLogger("kr.ac.jbnu.cr.todoapi.timing.SlowRequest");
+
+    private final double serverTimingSampleRate;
+    private final long slowRequestNanos;
+
+    public ServerTimingFilter(@Value("${timing.server-timing-sample-rate}") double serverTimingSampleRate,
+                              @Value("${timing.slow-request-ms}") long slowRequestMillis) {
+        this.serverTimingSampleRate = serverTimingSampleRate;
+        this.slowRequestNanos = slowRequestMillis * 1_000_000;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Open for as long as the client listens: always "slow"
+        return LongLivedRequests.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean serverTiming = serverTimingSampleRate >= 1
+                || serverTimingSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < serverTimingSampleRate;
+        RequestTiming timing = new RequestTiming(System.nanoTime(), serverTiming);
+        RequestTiming.bind(timing);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTiming.unbind();
+            long now = System.nanoTime();
+            timing.end(RequestTiming.Phase.WRITE, now);
+            if (serverTiming && !response.isCommitted() && !response.containsHeader(SERVER_TIMING_HEADER)) {
+                response.setHeader(SERVER_TIMING_HEADER, timing.toServerTiming(now));
+            }
+            if (timing.elapsedNanos(now) >= slowRequestNanos) {
+                slowRequests.warn("slow request method={} path={} status={} {}",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(), timing.toLogFields(now));
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package kr.ac.jbnu.cr.todoapi.timing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Gives Spring MVC a validator that reports Bean Validation time of @Valid
+ * arguments as the "validation" phase. Validation itself is done by Spring
+ * Boot's default validator.
+ */
+@Configuration
+@ConditionalOnProperty(name = "timing.enabled", havingValue = "true")
+public class TimedValidatorConfig implements WebMvcConfigurer {
+
+    private final LocalValidatorFactoryBean validator;
+
+    public TimedValidatorConfig(LocalValidatorFactoryBean validator) {
+        this.validator = validator;
+    }
+
+    @Override
+    public Validator getValidator() {
+        return new TimedValidator(validator);
+    }
+
+    private record TimedValidator(SmartValidator delegate) implements SmartValidator {
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return delegate.supports(clazz);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+            long start = RequestTiming.start();
+            delegate.validate(target, errors);
+            RequestTiming.stop(RequestTiming.Phase.VALIDATION, start);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors, Object... validationHints) {
+            long start = RequestTiming.start();
+            delegate.validate(target, errors, validationHints);
+            RequestTiming.stop(RequestTiming.Phase.VALIDATION, start);
+        }
+
+        @Override
+        public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+                                  Object... validationHints) {
+            long start = RequestTiming.start();
+            delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+            RequestTiming.stop(RequestTiming.Phase.VALIDATION, start);
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) {
+            return delegate.unwrap(type);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package kr.ac.jbnu.cr.todoapi.util;
+
+import java.time.Instant;
+
+/**
+ * Coarse wall clock for response timestamps.
+ * The ISO-8601 text is formatted at most once per millisecond and shared by
+ * every request served within that millisecond.
+ */
+public final class CachedClock {
+
+    private record Tick(long millis, String iso) {
+    }
+
+    private static volatile Tick current = new Tick(0, Instant.EPOCH.toString());
+
+    private CachedClock() {
+    }
+
+    /**
+     * Current time as an ISO-8601 string, millisecond precision
+     */
+    public static String nowIso() {
+        long millis = System.currentTimeMillis();
+        Tick tick = current;
+        if (tick.millis() != millis) {
+            tick = new Tick(millis, Instant.ofEpochMilli(millis).toString());
+            current = tick;
+        }
+        return tick.iso();
+    }
+}
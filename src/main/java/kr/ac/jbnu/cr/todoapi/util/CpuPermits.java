@@ -0,0 +1,62 @@
+package kr.ac.jbnu.cr.todoapi.util;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many threads run a CPU-bound section (password hashing, token
+ * signatures) at the same time.
+ *
+ * On virtual threads every request has a thread of its own, so nothing else
+ * bounds this work: past the number of cores the sections only slow each other
+ * down and keep the carriers busy that other requests need. Threads over the
+ * limit wait on a Semaphore, which parks a virtual thread and frees its carrier
+ * instead of pinning it.
+ */
+public final class CpuPermits {
+
+    private final String name;
+    private final int size;
+    private final Semaphore permits;
+
+    /**
+     * @param name label of the section, used in metrics
+     * @param size number of threads allowed at once, 0 for one per CPU
+     */
+    public CpuPermits(String name, int size) {
+        this.name = name;
+        this.size = size > 0 ? size : Runtime.getRuntime().availableProcessors();
+        this.permits = new Semaphore(this.size);
+    }
+
+    /**
+     * Run the work once a permit is free
+     */
+    public <T> T call(Supplier<T> work) {
+        permits.acquireUninterruptibly();
+        try {
+            return work.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getInUse() {
+        return size - permits.availablePermits();
+    }
+
+    /**
+     * Threads waiting for a permit (an estimate, like Semaphore.getQueueLength)
+     */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+}
@@ -0,0 +1,133 @@
+package kr.ac.jbnu.cr.todoapi.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 64-bit ids, unique across nodes without coordination.
+ *
+ * Layout: 41 bits of milliseconds since 2024-01-01, 10 bits of node id,
+ * 12 bits of sequence. The timestamp and the sequence are kept together in
+ * one AtomicLong and advanced with a single CAS, so an exhausted sequence
+ * simply carries into the next millisecond.
+ *
+ * The generator runs on a logical clock that never goes backwards: when the
+ * wall clock regresses, ids keep increasing from the last one issued. The
+ * logical clock may only run ahead of the wall clock by maxLeadMillis;
+ * beyond that generation waits, so that ids issued before a restart cannot
+ * be issued again after it.
+ */
+public final class SnowflakeIdGenerator {
+
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * Consecutive ids reserved by one call
+     */
+    public static final class Block {
+
+        private final long firstState;
+        private final int size;
+        private final long nodeBits;
+        private int used;
+
+        private Block(long firstState, int size, long nodeBits) {
+            this.firstState = firstState;
+            this.size = size;
+            this.nodeBits = nodeBits;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Next id of the block, in increasing order
+         */
+        public long next() {
+            if (used >= size) {
+                throw new IllegalStateException("Id block exhausted");
+            }
+            return toId(firstState + used++, nodeBits);
+        }
+    }
+
+    private final long nodeBits;
+    private final long maxLeadMillis;
+    private final LongSupplier clock;
+
+    // (milliseconds since EPOCH_MILLIS << SEQUENCE_BITS) | sequence of the last id issued
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(long nodeId, long maxLeadMillis) {
+        this(nodeId, maxLeadMillis, System::currentTimeMillis);
+    }
+
+    public SnowflakeIdGenerator(long nodeId, long maxLeadMillis, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.maxLeadMillis = maxLeadMillis;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        return toId(advance(1), nodeBits);
+    }
+
+    /**
+     * Reserve ids for a batch with a single CAS
+     * @param count number of ids
+     */
+    public Block reserveBlock(int count) {
+        if (count < 1 || count > (maxLeadMillis + 1) << SEQUENCE_BITS) {
+            throw new IllegalArgumentException("Block size must be between 1 and " + ((maxLeadMillis + 1) << SEQUENCE_BITS));
+        }
+        long last = advance(count);
+        return new Block(last - count + 1, count, nodeBits);
+    }
+
+    /**
+     * Timestamp encoded in an id
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    /**
+     * Move the state forward by count ids
+     * @return state of the last reserved id
+     */
+    private long advance(int count) {
+        while (true) {
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            long current = state.get();
+            // A new millisecond restarts the sequence; otherwise continue after the last id
+            long first = Math.max(current + 1, now << SEQUENCE_BITS);
+            long last = first + count - 1;
+
+            long lead = (last >>> SEQUENCE_BITS) - now;
+            if (lead > maxLeadMillis) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(Math.min(lead - maxLeadMillis, 10)));
+                continue;
+            }
+            if (state.compareAndSet(current, last)) {
+                return last;
+            }
+        }
+    }
+
+    private static long toId(long state, long nodeBits) {
+        long millis = state >>> SEQUENCE_BITS;
+        long sequence = state & SEQUENCE_MASK;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+    }
+}
@@ -0,0 +1,40 @@
+-- Schema of the JDBC storage (storage.type=jdbc), applied at startup
+
+CREATE TABLE IF NOT EXISTS todos (
+    id          BIGINT       PRIMARY KEY,
+    title       VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    due_date    DATE,
+    done        BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP    NOT NULL,
+    updated_at  TIMESTAMP    NOT NULL,
+    owner_id    BIGINT
+);
+
+-- Comma-joined copy of the todo_tags rows, read with the todo
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS tags VARCHAR(400);
+-- Bumped by every write, so an update only lands on the state it was made from
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Per-owner listings, keyset-paginated on id
+CREATE INDEX IF NOT EXISTS todos_owner_id ON todos (owner_id, id);
+-- Overdue queries and completed-todo purges
+CREATE INDEX IF NOT EXISTS todos_done_due_date ON todos (done, due_date);
+
+CREATE TABLE IF NOT EXISTS todo_tags (
+    todo_id BIGINT      NOT NULL REFERENCES todos (id) ON DELETE CASCADE,
+    tag     VARCHAR(30) NOT NULL,
+    PRIMARY KEY (todo_id, tag)
+);
+
+-- Tag filters: todos per tag
+CREATE INDEX IF NOT EXISTS todo_tags_tag ON todo_tags (tag, todo_id);
+
+CREATE TABLE IF NOT EXISTS users (
+    id           BIGINT       PRIMARY KEY,
+    username     VARCHAR(20)  NOT NULL,
+    -- Case-folded, trimmed username: unique regardless of case
+    username_key VARCHAR(20)  NOT NULL UNIQUE,
+    password     VARCHAR(100) NOT NULL,
+    email        VARCHAR(255)
+);
@@ -0,0 +1,87 @@
+package kr.ac.jbnu.cr.todoapi.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertThat(new AccessLogRingBuffer(1000).capacity()).isEqualTo(1024);
+        assertThat(new AccessLogRingBuffer(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void drainsEntriesInPublicationOrder() {
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(8);
+        buffer.offer(1, "GET", "/todos", 7, 200, 1_000, 42, "a");
+        buffer.offer(2, "POST", "/todos", 0, 201, 2_000, 64, "b");
+
+        List<String> drained = new ArrayList<>();
+        int count = buffer.drain(entry -> drained.add(entry.method() + " " + entry.status() + " "
+                + entry.userId() + " " + entry.requestId()), 10);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(drained).containsExactly("GET 200 7 a", "POST 201 0 b");
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void dropsAndCountsWhenFullInsteadOfBlocking() {
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i, "GET", "/todos", 1, 200, 1, 1, "r" + i)).isTrue();
+        }
+
+        assertThat(buffer.offer(5, "GET", "/todos", 1, 200, 1, 1, "r5")).isFalse();
+        assertThat(buffer.dropped()).isEqualTo(1);
+
+        // Draining frees the slots for the next lap
+        assertThat(buffer.drain(entry -> { }, 2)).isEqualTo(2);
+        assertThat(buffer.offer(6, "GET", "/todos", 1, 200, 1, 1, "r6")).isTrue();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingWhileTheConsumerKeepsUp() throws Exception {
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    String id = producer + "-" + i;
+                    while (!buffer.offer(i, "GET", "/todos", producer, 200, 1, 1, id)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        Set<String> seen = new HashSet<>();
+        start.countDown();
+        while (seen.size() < producers * perProducer) {
+            buffer.drain(entry -> assertThat(seen.add(entry.requestId())).isTrue(), 256);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(seen).hasSize(producers * perProducer);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,85 @@
+package kr.ac.jbnu.cr.todoapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kr.ac.jbnu.cr.todoapi.dto.response.ApiResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.ErrorResponse;
+import kr.ac.jbnu.cr.todoapi.dto.response.Links;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The streamed envelopes must be byte for byte what Jackson writes for the
+ * same objects, which is what binary and reactive clients get.
+ */
+class EnvelopeHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final EnvelopeHttpMessageConverter converter = new EnvelopeHttpMessageConverter(objectMapper);
+
+    @Test
+    void writesSuccessEnvelopesLikeJackson() throws IOException {
+        Todo todo = new Todo(370360398643200000L, "Write \"tests\"", null, LocalDate.of(2030, 1, 15), false,
+                LocalDateTime.of(2026, 10, 19, 9, 30), LocalDateTime.of(2026, 10, 19, 9, 31), 42L, List.of("work"));
+
+        assertSameAsJackson(ApiResponse.success(todo, "request-1", Links.todo(todo.getId())));
+        assertSameAsJackson(ApiResponse.success(List.of(todo, todo), "request-2"));
+        assertSameAsJackson(ApiResponse.success(Map.of("deletedCount", 3), "request-3", Links.TODOS_COMPLETED));
+    }
+
+    @Test
+    void leavesOutNullFields() throws IOException {
+        ApiResponse<Object> empty = new ApiResponse<>(null, new ApiResponse.Meta(null, "2026-10-19T00:00:00Z"), null);
+
+        assertThat(write(empty)).isEqualTo("{\"meta\":{\"servedAt\":\"2026-10-19T00:00:00Z\"}}");
+        assertSameAsJackson(empty);
+    }
+
+    @Test
+    void writesProblemDetailsLikeJackson() throws IOException {
+        assertSameAsJackson(ErrorResponse.builder()
+                .type("about:blank")
+                .title("Invalid Request")
+                .status(400)
+                .detail("Validation failed")
+                .instance("/todos/batch")
+                .errors(Map.of("[3].title", "Title is required"))
+                .requestId("request-4")
+                .build());
+
+        ErrorResponse unauthorized = ErrorResponse.builder()
+                .type("about:blank")
+                .title("Unauthorized")
+                .status(401)
+                .instance("/todos?q=<script>")
+                .build();
+        assertThat(write(unauthorized)).doesNotContain("errors").doesNotContain("detail").doesNotContain("requestId");
+        assertSameAsJackson(unauthorized);
+    }
+
+    private void assertSameAsJackson(Object body) throws IOException {
+        assertThat(write(body)).isEqualTo(objectMapper.writeValueAsString(body));
+    }
+
+    private String write(Object body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (body instanceof ErrorResponse error) {
+            converter.write(error, out);
+        } else {
+            converter.write((ApiResponse<?>) body, out);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package kr.ac.jbnu.cr.todoapi.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.ac.jbnu.cr.todoapi.TodoapiApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs an asynchronous purge of completed todos and follows it through
+ * /jobs/{id} and its Server-Sent Events stream.
+ */
+class JobEventsTest {
+
+    @TempDir
+    Path dataDir;
+
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void start() {
+        context = new SpringApplicationBuilder(TodoapiApplication.class)
+                .properties("server.port=0",
+                        "jobs.chunk-size=2",
+                        "ratelimit.auth.capacity=1000",
+                        "todo.archive.dir=" + dataDir)
+                .run();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @AfterEach
+    void stop() {
+        context.close();
+    }
+
+    @Test
+    void streamsTheProgressOfAJobToItsOwnerOnly() throws Exception {
+        String owner = login("jobowner");
+        String other = login("jobother");
+        for (int i = 0; i < 5; i++) {
+            long id = json(send("POST", "/todos", owner, "{\"title\":\"todo " + i + "\"}")).path("data").path("id").asLong();
+            assertThat(send("PUT", "/todos/" + id + "/complete", owner, null).statusCode()).isEqualTo(200);
+        }
+
+        HttpResponse<String> accepted = send("DELETE", "/todos/completed?async=true", owner, null);
+        assertThat(accepted.statusCode()).isEqualTo(202);
+        String location = accepted.headers().firstValue("Location").orElseThrow();
+
+        HttpResponse<String> events = send("GET", location + "/events", owner, null);
+        assertThat(events.statusCode()).isEqualTo(200);
+        assertThat(events.headers().firstValue("Content-Type").orElseThrow()).startsWith("text/event-stream");
+        // The stream ends with the finished event, whatever state the job was in when it was opened
+        assertThat(events.body()).contains("event:finished").contains("SUCCEEDED");
+        assertThat(events.body().lastIndexOf("event:")).isEqualTo(events.body().lastIndexOf("event:finished"));
+
+        JsonNode job = json(send("GET", location, owner, null)).path("data");
+        assertThat(job.path("status").asText()).isEqualTo("SUCCEEDED");
+        assertThat(job.path("processed").asLong()).isEqualTo(5);
+        assertThat(job.has("ownerId")).isFalse();
+
+        assertThat(send("GET", location, other, null).statusCode()).isEqualTo(404);
+        assertThat(send("GET", location + "/events", other, null).statusCode()).isEqualTo(404);
+        assertThat(send("GET", location + "/events", null, null).statusCode()).isEqualTo(401);
+    }
+
+    private String login(String username) throws Exception {
+        send("POST", "/auth/register", null,
+                "{\"username\":\"" + username + "\",\"password\":\"password123\",\"email\":\"" + username + "@example.com\"}");
+        return json(send("POST", "/auth/login", null,
+                "{\"username\":\"" + username + "\",\"password\":\"password123\"}")).path("data").path("token").asText();
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws Exception {
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> send(String method, String path, String jwt, String body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (jwt != null) {
+            builder.header("Authorization", "Bearer " + jwt);
+        }
+        return http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,133 @@
+package kr.ac.jbnu.cr.todoapi.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.ac.jbnu.cr.todoapi.TodoapiApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks ?fields= projections and envelope=false bodies of /todos against
+ * the full todo.
+ */
+class SparseFieldsetTest {
+
+    @TempDir
+    Path dataDir;
+
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+    private String jwt;
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void start() throws Exception {
+        context = new SpringApplicationBuilder(TodoapiApplication.class)
+                .properties("server.port=0",
+                        "todo.archive.dir=" + dataDir)
+                .run();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        send("POST", "/auth/register", "{\"username\":\"fields\",\"password\":\"password123\",\"email\":\"fields@example.com\"}");
+        jwt = json(send("POST", "/auth/login", "{\"username\":\"fields\",\"password\":\"password123\"}"))
+                .path("data").path("token").asText();
+    }
+
+    @AfterEach
+    void stop() {
+        context.close();
+    }
+
+    @Test
+    void projectsTheSelectedFieldsOnly() throws Exception {
+        JsonNode todo = create();
+        String id = todo.path("id").asText();
+
+        HttpResponse<String> response = send("GET", "/todos/" + id + "?fields=title,ownerId,dueDate,id,tags", null);
+        assertThat(response.statusCode()).isEqualTo(200);
+        JsonNode body = json(response);
+        assertThat(body.has("meta")).isTrue();
+        JsonNode projected = body.path("data");
+        // Declaration order, whatever the order of the parameter
+        assertThat(fieldNames(projected)).containsExactly("id", "title", "dueDate", "ownerId", "tags");
+        assertThat(projected.path("ownerId").isTextual()).isTrue();
+        for (String field : fieldNames(projected)) {
+            assertThat(projected.path(field)).isEqualTo(todo.path(field));
+        }
+
+        JsonNode listed = json(send("GET", "/todos?fields= done , title", null)).path("data");
+        assertThat(listed).hasSize(1);
+        assertThat(fieldNames(listed.get(0))).containsExactly("title", "done");
+    }
+
+    @Test
+    void rejectsUnknownFields() throws Exception {
+        HttpResponse<String> response = send("GET", "/todos?fields=title,colour,size", null);
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.headers().firstValue("Content-Type").orElseThrow()).startsWith("application/problem+json");
+        JsonNode error = json(response);
+        assertThat(error.path("detail").asText()).isEqualTo("Unknown field(s): colour, size.");
+        assertThat(error.path("errors").path("fields").asText()).contains("colour");
+    }
+
+    @Test
+    void writesTheBareBodyWithoutTheEnvelope() throws Exception {
+        JsonNode todo = create();
+        String id = todo.path("id").asText();
+
+        JsonNode single = json(send("GET", "/todos/" + id + "?envelope=false", null));
+        assertThat(single).isEqualTo(todo);
+
+        JsonNode list = json(send("GET", "/todos?envelope=false&fields=id", null));
+        assertThat(list.isArray()).isTrue();
+        assertThat(list).hasSize(1);
+        assertThat(fieldNames(list.get(0))).containsExactly("id");
+        assertThat(list.get(0).path("id").asText()).isEqualTo(id);
+    }
+
+    private JsonNode create() throws Exception {
+        HttpResponse<String> created = send("POST", "/todos",
+                "{\"title\":\"Sparse\",\"description\":\"not selected\",\"dueDate\":\"2030-01-15\",\"tags\":[\"work\"]}");
+        assertThat(created.statusCode()).isEqualTo(201);
+        return json(created).path("data");
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws Exception {
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path.replace(" ", "%20")))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (jwt != null) {
+            builder.header("Authorization", "Bearer " + jwt);
+        }
+        return http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
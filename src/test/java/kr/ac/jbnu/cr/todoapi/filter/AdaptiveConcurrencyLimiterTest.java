@@ -0,0 +1,130 @@
+package kr.ac.jbnu.cr.todoapi.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void growsWhileLatencyStaysAtItsBaseline() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        for (int i = 0; i < 20; i++) {
+            window(limiter, limiter.getLimit(), 10);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(30);
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+        for (int i = 0; i < 5; i++) {
+            window(limiter, limiter.getLimit(), 10);
+        }
+        int baseline = limiter.getLimit();
+
+        // Requests queue inside the server: six times the baseline latency
+        int previous = baseline;
+        for (int i = 0; i < 5; i++) {
+            window(limiter, limiter.getLimit(), 60);
+            assertThat(limiter.getLimit()).isLessThan(previous);
+            previous = limiter.getLimit();
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(baseline * 3 / 4);
+    }
+
+    @Test
+    void keepsItsLimitWhenFewRequestsAreInFlight() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+        window(limiter, 40, 10);
+        int limit = limiter.getLimit();
+
+        // Plenty of samples, but one at a time: no evidence that more would be served well
+        for (int i = 0; i < 5; i++) {
+            for (int request = 0; request < 20; request++) {
+                assertThat(limiter.acquire(RequestPriority.HIGH, 0)).isTrue();
+                if (request == 19) {
+                    clock.addAndGet(WINDOW_NANOS);
+                }
+                limiter.release(clock.get() - TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(limit);
+    }
+
+    @Test
+    void shedsLowPriorityRequestsFirst() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 2.0, 0.5, 0, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.acquire(RequestPriority.LOW, 0)).isTrue();
+        }
+        assertThat(limiter.acquire(RequestPriority.LOW, 0)).isFalse();
+
+        // High priority requests still have the other half of the limit
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.acquire(RequestPriority.HIGH, 0)).isTrue();
+        }
+        assertThat(limiter.acquire(RequestPriority.HIGH, 0)).isFalse();
+
+        assertThat(limiter.getRejected(RequestPriority.LOW)).isEqualTo(1);
+        assertThat(limiter.getRejected(RequestPriority.HIGH)).isEqualTo(1);
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void queuedRequestTakesTheNextFreeSlot() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 100, 2.0, 0.5, 1, clock::get);
+        assertThat(limiter.acquire(RequestPriority.HIGH, 0)).isTrue();
+
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                assertThat(limiter.acquire(RequestPriority.HIGH, TimeUnit.SECONDS.toNanos(5))).isTrue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getQueued() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        // The queue holds one request
+        assertThat(limiter.acquire(RequestPriority.HIGH, TimeUnit.SECONDS.toNanos(5))).isFalse();
+
+        limiter.release(clock.get());
+        waiter.join(5_000);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 1, 1000, 2.0, 0.8, 0, clock::get);
+    }
+
+    /**
+     * Run one window of requests that are all in flight at once, then close it
+     */
+    private void window(AdaptiveConcurrencyLimiter limiter, int concurrent, long rttMillis) throws InterruptedException {
+        for (int i = 0; i < concurrent; i++) {
+            assertThat(limiter.acquire(RequestPriority.HIGH, 0)).isTrue();
+        }
+        long rtt = TimeUnit.MILLISECONDS.toNanos(rttMillis);
+        for (int i = 0; i < concurrent - 1; i++) {
+            limiter.release(clock.get() - rtt);
+        }
+        // The last release of a window closes it
+        clock.addAndGet(WINDOW_NANOS);
+        limiter.release(clock.get() - rtt);
+    }
+}
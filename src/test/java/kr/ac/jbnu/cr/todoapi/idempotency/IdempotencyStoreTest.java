@@ -0,0 +1,86 @@
+package kr.ac.jbnu.cr.todoapi.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final byte[] REQUEST = "request".getBytes(StandardCharsets.UTF_8);
+    private static final IdempotencyStore.StoredResponse CREATED =
+            new IdempotencyStore.StoredResponse(201, "application/json", "/todos/1", new byte[]{'{', '}'});
+
+    @Test
+    void replaysTheFirstResponseToRetries() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(60_000, 100);
+
+        IdempotencyStore.Claim first = store.claim(1, "key", REQUEST, 0);
+        IdempotencyStore.Claim retry = store.claim(1, "key", REQUEST, SECOND);
+        assertThat(first.claimed()).isTrue();
+        assertThat(retry.claimed()).isFalse();
+        assertThat(retry.entry()).isSameAs(first.entry());
+        assertThat(retry.entry().matches("other".getBytes(StandardCharsets.UTF_8))).isFalse();
+
+        // The same key of another user is another request
+        assertThat(store.claim(2, "key", REQUEST, 0).claimed()).isTrue();
+
+        store.complete(first.entry(), CREATED);
+        assertThat(retry.entry().await(0)).isSameAs(CREATED);
+    }
+
+    @Test
+    void concurrentRetryWaitsForTheFirstRequest() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(60_000, 100);
+        IdempotencyStore.Entry entry = store.claim(1, "key", REQUEST, 0).entry();
+        IdempotencyStore.Entry duplicate = store.claim(1, "key", REQUEST, 0).entry();
+
+        assertThatThrownBy(() -> duplicate.await(10)).isInstanceOf(TimeoutException.class);
+
+        CompletableFuture<IdempotencyStore.StoredResponse> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return duplicate.await(10_000);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        store.complete(entry, CREATED);
+        assertThat(waiting.get(10, TimeUnit.SECONDS)).isSameAs(CREATED);
+    }
+
+    @Test
+    void failedRequestLeavesTheKeyToARetry() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(60_000, 100);
+        IdempotencyStore.Entry entry = store.claim(1, "key", REQUEST, 0).entry();
+        IdempotencyStore.Entry duplicate = store.claim(1, "key", REQUEST, 0).entry();
+
+        store.abandon(1, "key", entry);
+
+        assertThat(duplicate.await(0)).isNull();
+        assertThat(store.claim(1, "key", REQUEST, 0).claimed()).isTrue();
+    }
+
+    @Test
+    void expiresKeysAndStaysBounded() {
+        IdempotencyStore store = new IdempotencyStore(1_000, 2);
+        IdempotencyStore.Entry first = store.claim(1, "a", REQUEST, 0).entry();
+        store.complete(first, CREATED);
+        assertThat(store.claim(1, "a", REQUEST, SECOND).claimed()).isTrue();
+
+        store.complete(store.claim(1, "b", REQUEST, SECOND).entry(), CREATED);
+        store.claim(1, "c", REQUEST, SECOND);
+        // "a" is still running: the completed "b" makes room instead
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.claim(1, "a", REQUEST, SECOND).claimed()).isFalse();
+        assertThat(store.claim(1, "b", REQUEST, SECOND).claimed()).isTrue();
+
+        assertThat(store.evictExpired(3 * SECOND)).isEqualTo(3);
+        assertThat(store.size()).isZero();
+    }
+}
@@ -0,0 +1,126 @@
+package kr.ac.jbnu.cr.todoapi.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.ac.jbnu.cr.todoapi.TodoapiApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.reactive.context.ReactiveWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application with the reactive profile and checks that /auth,
+ * /todos and /jobs answer with the same status codes and bodies as the
+ * servlet stack.
+ */
+class ReactiveApiTest {
+
+    @TempDir
+    Path dataDir;
+
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void start() {
+        context = new SpringApplicationBuilder(TodoapiApplication.class)
+                .profiles("reactive")
+                .properties("server.port=0",
+                        "todo.archive.dir=" + dataDir)
+                .run();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @AfterEach
+    void stop() {
+        context.close();
+    }
+
+    @Test
+    void servesTheTodoAndAuthContracts() throws Exception {
+        assertThat(context).isInstanceOf(ReactiveWebApplicationContext.class);
+
+        HttpResponse<String> anonymous = send("GET", "/todos", null, null);
+        assertThat(anonymous.statusCode()).isEqualTo(401);
+        assertThat(anonymous.headers().firstValue("Content-Type")).hasValue("application/problem+json");
+        assertThat(json(anonymous).path("title").asText()).isEqualTo("Unauthorized");
+
+        HttpResponse<String> registered = send("POST", "/auth/register", null,
+                "{\"username\":\"reactive\",\"password\":\"password123\",\"email\":\"reactive@example.com\"}");
+        assertThat(registered.statusCode()).isEqualTo(201);
+        assertThat(send("POST", "/auth/register", null,
+                "{\"username\":\"reactive\",\"password\":\"password123\",\"email\":\"reactive@example.com\"}")
+                .statusCode()).isEqualTo(409);
+        assertThat(send("POST", "/auth/login", null,
+                "{\"username\":\"reactive\",\"password\":\"wrong-password\"}").statusCode()).isEqualTo(401);
+
+        HttpResponse<String> login = send("POST", "/auth/login", null,
+                "{\"username\":\"reactive\",\"password\":\"password123\"}");
+        assertThat(login.statusCode()).isEqualTo(200);
+        String jwt = json(login).path("data").path("token").asText();
+        assertThat(json(send("GET", "/auth/me", jwt, null)).path("data").path("username").asText())
+                .isEqualTo("reactive");
+
+        HttpResponse<String> created = send("POST", "/todos", jwt, "{\"title\":\"reactive todo\"}");
+        assertThat(created.statusCode()).isEqualTo(201);
+        // Snowflake ids do not fit a JavaScript number
+        assertThat(json(created).path("data").path("id").isTextual()).isTrue();
+        long id = json(created).path("data").path("id").asLong();
+        assertThat(created.headers().firstValue("Location")).hasValue("/todos/" + id);
+
+        JsonNode fetched = json(send("GET", "/todos/" + id, jwt, null));
+        assertThat(fetched.path("data").path("title").asText()).isEqualTo("reactive todo");
+        assertThat(fetched.path("links").path("self").asText()).isEqualTo("/todos/" + id);
+        assertThat(json(send("GET", "/todos/" + id + "?fields=id,title&envelope=false", jwt, null)).has("done"))
+                .isFalse();
+
+        HttpResponse<String> invalid = send("POST", "/todos", jwt, "{\"title\":\"\"}");
+        assertThat(invalid.statusCode()).isEqualTo(400);
+        assertThat(json(invalid).path("errors").has("title")).isTrue();
+        assertThat(send("POST", "/todos", jwt, "{not json").statusCode()).isEqualTo(400);
+        assertThat(send("GET", "/todos?fields=unknown", jwt, null).statusCode()).isEqualTo(400);
+        assertThat(send("GET", "/todos/1", jwt, null).statusCode()).isEqualTo(404);
+
+        assertThat(send("PUT", "/todos/" + id + "/complete", jwt, null).statusCode()).isEqualTo(200);
+        assertThat(send("PUT", "/todos/" + id + "/complete", jwt, null).statusCode()).isEqualTo(409);
+
+        HttpResponse<String> job = send("DELETE", "/todos/completed?async=true", jwt, null);
+        assertThat(job.statusCode()).isEqualTo(202);
+        String events = send("GET", job.headers().firstValue("Location").orElseThrow() + "/events", jwt, null).body();
+        assertThat(events).contains("event:finished");
+        assertThat(send("GET", "/todos/" + id, jwt, null).statusCode()).isEqualTo(404);
+
+        assertThat(send("POST", "/auth/logout", jwt, null).statusCode()).isEqualTo(204);
+        assertThat(send("GET", "/todos", jwt, null).statusCode()).isEqualTo(401);
+    }
+
+    private HttpResponse<String> send(String method, String path, String jwt, String body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (jwt != null) {
+            builder.header("Authorization", "Bearer " + jwt);
+        }
+        return http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws Exception {
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,69 @@
+package kr.ac.jbnu.cr.todoapi.replication;
+
+import kr.ac.jbnu.cr.todoapi.controller.ReplicationController;
+import kr.ac.jbnu.cr.todoapi.model.User;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MutationLogTest {
+
+    @Test
+    void keepsOnlyTheLastEntries() throws Exception {
+        MutationLog log = new MutationLog("leader", 3);
+        for (long id = 1; id <= 5; id++) {
+            log.todoDeleted(id);
+        }
+
+        assertThat(log.lastSeq()).isEqualTo(5);
+        assertThat(log.firstRetainedSeq()).isEqualTo(3);
+        assertThat(log.readAfter(2, 10, 0).mutations()).extracting(Mutation::seq).containsExactly(3L, 4L, 5L);
+        assertThat(log.readAfter(3, 1, 0).mutations()).extracting(Mutation::id).containsExactly(4L);
+        assertThat(log.readAfter(5, 10, 0).mutations()).isEmpty();
+
+        // Entry 2 is gone: the follower must reload a snapshot
+        LogBatch behind = log.readAfter(1, 10, 0);
+        assertThat(behind.snapshotRequired()).isTrue();
+        assertThat(behind.mutations()).isEmpty();
+        assertThat(log.readAfter(0, 10, 0).snapshotRequired()).isTrue();
+    }
+
+    @Test
+    void asksForASnapshotPastTheEndOfTheLog() throws Exception {
+        MutationLog log = new MutationLog("leader", 10);
+        log.todoDeleted(1);
+
+        // A follower of an earlier run of the leader, further along than this one
+        LogBatch batch = log.readAfter(5, 10, 1000);
+        assertThat(batch.snapshotRequired()).isTrue();
+        assertThat(batch.runId()).isEqualTo(log.runId());
+        assertThat(log.position()).isEqualTo(log.runId() + ":1");
+    }
+
+    @Test
+    void recordsOnlyOnTheLeader() {
+        MutationLog log = new MutationLog("follower", 3);
+        log.todoDeleted(1);
+
+        assertThat(log.lastSeq()).isZero();
+    }
+
+    @Test
+    void sendsUsersWithoutTheirPasswordHash() throws Exception {
+        MutationLog log = new MutationLog("leader", 10);
+        log.userSaved(new User(7L, "alice", "$2a$10$hash", "alice@example.com"));
+
+        User replicated = log.readAfter(0, 10, 0).mutations().get(0).user();
+        assertThat(replicated.getUsername()).isEqualTo("alice");
+        assertThat(replicated.getPassword()).isEmpty();
+    }
+
+    @Test
+    void leaderRefusesTheDefaultToken() {
+        MutationLog log = new MutationLog("leader", 10);
+
+        assertThatThrownBy(() -> new ReplicationController(log, null, null, null, "change-this-replication-token"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
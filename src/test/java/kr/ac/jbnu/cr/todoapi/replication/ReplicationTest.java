@@ -0,0 +1,219 @@
+package kr.ac.jbnu.cr.todoapi.replication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.ac.jbnu.cr.todoapi.TodoapiApplication;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.service.TodoService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs a leader and a follower on localhost and checks reads, redirects and read-your-writes.
+ */
+class ReplicationTest {
+
+    private static final String TOKEN = "test-replication-token";
+
+    @TempDir
+    static Path dataDir;
+
+    private static ConfigurableApplicationContext leader;
+    private static ConfigurableApplicationContext follower;
+    private static String leaderUrl;
+    private static String followerUrl;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void startInstances() {
+        leader = start("leader", "replication.role=leader");
+        leaderUrl = "http://localhost:" + leader.getEnvironment().getProperty("local.server.port");
+        follower = start("follower", "replication.role=follower", "replication.leader-url=" + leaderUrl);
+        followerUrl = "http://localhost:" + follower.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (follower != null) {
+            follower.close();
+        }
+        if (leader != null) {
+            leader.close();
+        }
+    }
+
+    @Test
+    void followerServesReadsAndRedirectsWrites() throws Exception {
+        send(post(leaderUrl + "/auth/register", null,
+                "{\"username\":\"replica\",\"password\":\"password123\",\"email\":\"replica@example.com\"}"));
+        HttpResponse<String> login = send(post(leaderUrl + "/auth/login", null,
+                "{\"username\":\"replica\",\"password\":\"password123\"}"));
+        String jwt = objectMapper.readTree(login.body()).path("data").path("token").asText();
+
+        HttpResponse<String> created = send(post(leaderUrl + "/todos", jwt, "{\"title\":\"replicated\"}"));
+        assertThat(created.statusCode()).isEqualTo(201);
+        long id = objectMapper.readTree(created.body()).path("data").path("id").asLong();
+        String seq = created.headers().firstValue(MutationLog.SEQ_HEADER).orElseThrow();
+
+        // Read-your-writes: the follower waits for the leader's position before answering
+        HttpResponse<String> read = send(HttpRequest.newBuilder(URI.create(followerUrl + "/todos/" + id))
+                .header("Authorization", "Bearer " + jwt)
+                .header(ReplicationReadFilter.MIN_SEQ_HEADER, seq)
+                .GET()
+                .build());
+        assertThat(read.statusCode()).isEqualTo(200);
+        JsonNode todo = objectMapper.readTree(read.body()).path("data");
+        assertThat(todo.path("title").asText()).isEqualTo("replicated");
+        assertThat(seqOf(read.headers().firstValue(MutationLog.SEQ_HEADER).orElseThrow()))
+                .isGreaterThanOrEqualTo(seqOf(seq));
+
+        HttpResponse<String> write = send(post(followerUrl + "/todos", jwt, "{\"title\":\"on follower\"}"));
+        assertThat(write.statusCode()).isEqualTo(307);
+        assertThat(write.headers().firstValue("Location")).hasValue(leaderUrl + "/todos");
+    }
+
+    @Test
+    void followerRejectsTokensRevokedOnTheLeader() throws Exception {
+        send(post(leaderUrl + "/auth/register", null,
+                "{\"username\":\"leaving\",\"password\":\"password123\",\"email\":\"leaving@example.com\"}"));
+        HttpResponse<String> login = send(post(leaderUrl + "/auth/login", null,
+                "{\"username\":\"leaving\",\"password\":\"password123\"}"));
+        String jwt = objectMapper.readTree(login.body()).path("data").path("token").asText();
+
+        assertThat(send(post(leaderUrl + "/auth/logout", jwt, "")).statusCode()).isEqualTo(204);
+        MutationLog log = leader.getBean(MutationLog.class);
+        assertThat(follower.getBean(ReplicationFollower.class).awaitSeq(log.runId(), log.lastSeq(), 5000)).isTrue();
+
+        HttpResponse<String> me = send(HttpRequest.newBuilder(URI.create(followerUrl + "/auth/me"))
+                .header("Authorization", "Bearer " + jwt)
+                .GET()
+                .build());
+        assertThat(me.statusCode()).isEqualTo(401);
+    }
+
+    @Test
+    void logRequiresReplicationToken() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(leaderUrl + "/replication/log"))
+                .GET()
+                .build());
+        assertThat(response.statusCode()).isEqualTo(401);
+    }
+
+    @Test
+    void followerReloadsWhenTheLeaderRestarts() throws Exception {
+        int port = freePort();
+        String url = "http://localhost:" + port;
+        ConfigurableApplicationContext first = start("restarted", "replication.role=leader", "server.port=" + port);
+        ConfigurableApplicationContext replica = null;
+        ConfigurableApplicationContext second = null;
+        try {
+            replica = start("restarted-follower", "replication.role=follower", "replication.leader-url=" + url);
+            String before = registerAndLogin(url, "before");
+            for (int i = 0; i < 3; i++) {
+                assertThat(send(post(url + "/todos", before, "{\"title\":\"lost\"}")).statusCode()).isEqualTo(201);
+            }
+            MutationLog firstLog = first.getBean(MutationLog.class);
+            ReplicationFollower replication = replica.getBean(ReplicationFollower.class);
+            assertThat(replication.awaitSeq(firstLog.runId(), firstLog.lastSeq(), 5000)).isTrue();
+            String oldPosition = replication.position();
+            first.close();
+
+            // Same address, empty store: the new log numbers its entries from 1 again,
+            // below the position the follower reached
+            second = start("restarted", "replication.role=leader", "server.port=" + port);
+            String after = registerAndLogin(url, "after");
+            HttpResponse<String> created = send(post(url + "/todos", after, "{\"title\":\"kept\"}"));
+            String id = objectMapper.readTree(created.body()).path("data").path("id").asText();
+            String position = created.headers().firstValue(MutationLog.SEQ_HEADER).orElseThrow();
+            assertThat(position).startsWith(second.getBean(MutationLog.class).runId() + ":");
+            assertThat(seqOf(position)).isLessThan(seqOf(oldPosition));
+
+            HttpResponse<String> read = send(HttpRequest.newBuilder(URI.create(followerUrlOf(replica) + "/todos/" + id))
+                    .header("Authorization", "Bearer " + after)
+                    .header(ReplicationReadFilter.MIN_SEQ_HEADER, position)
+                    .GET()
+                    .build());
+            assertThat(read.statusCode()).isEqualTo(200);
+            assertThat(replica.getBean(TodoService.class).findAll(false, null))
+                    .extracting(Todo::getId)
+                    .containsExactly(Long.parseLong(id));
+
+            // A position of the previous run is never reached
+            HttpResponse<String> stale = send(HttpRequest.newBuilder(URI.create(followerUrlOf(replica) + "/todos/" + id))
+                    .header("Authorization", "Bearer " + after)
+                    .header(ReplicationReadFilter.MIN_SEQ_HEADER, oldPosition)
+                    .GET()
+                    .build());
+            assertThat(stale.statusCode()).isEqualTo(307);
+        } finally {
+            for (ConfigurableApplicationContext context : new ConfigurableApplicationContext[]{replica, second, first}) {
+                if (context != null) {
+                    context.close();
+                }
+            }
+        }
+    }
+
+    private String registerAndLogin(String url, String username) throws Exception {
+        send(post(url + "/auth/register", null, "{\"username\":\"" + username
+                + "\",\"password\":\"password123\",\"email\":\"" + username + "@example.com\"}"));
+        HttpResponse<String> login = send(post(url + "/auth/login", null,
+                "{\"username\":\"" + username + "\",\"password\":\"password123\"}"));
+        return objectMapper.readTree(login.body()).path("data").path("token").asText();
+    }
+
+    private static String followerUrlOf(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private static long seqOf(String position) {
+        return Long.parseLong(position.substring(position.lastIndexOf(':') + 1));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String name, String... properties) {
+        return new SpringApplicationBuilder(TodoapiApplication.class)
+                .properties("server.port=0",
+                        "replication.token=" + TOKEN,
+                        "todo.archive.dir=" + dataDir.resolve(name))
+                .properties(properties)
+                .run();
+    }
+
+    private HttpRequest post(String url, String jwt, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (jwt != null) {
+            builder.header("Authorization", "Bearer " + jwt);
+        }
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
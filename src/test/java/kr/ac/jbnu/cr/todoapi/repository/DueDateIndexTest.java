@@ -0,0 +1,40 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DueDateIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    private final DueDateIndex index = new DueDateIndex();
+
+    @Test
+    void readsOnlyTheRequestedBuckets() {
+        index.add(1L, TODAY.minusDays(2));
+        index.add(2L, TODAY.minusDays(1));
+        index.add(3L, TODAY);
+        index.add(4L, TODAY.plusDays(1));
+        index.add(5L, null);
+
+        assertThat(index.dueBefore(TODAY)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.dueOn(TODAY.minusDays(1))).containsExactly(2L);
+        assertThat(index.dueOn(TODAY.plusDays(2))).isEmpty();
+    }
+
+    @Test
+    void forgetsRemovedTodos() {
+        index.add(1L, TODAY.minusDays(1));
+        index.add(2L, TODAY.minusDays(1));
+
+        index.remove(1L, TODAY.minusDays(1));
+        assertThat(index.dueOn(TODAY.minusDays(1))).containsExactly(2L);
+
+        index.remove(2L, TODAY.minusDays(1));
+        index.remove(3L, TODAY);
+        assertThat(index.dueBefore(TODAY.plusDays(1))).isEmpty();
+    }
+}
@@ -0,0 +1,14 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+class InMemoryRepositoryTest extends RepositoryContractTest {
+
+    @Override
+    protected TodoRepository createTodoRepository() {
+        return new InMemoryTodoRepository();
+    }
+
+    @Override
+    protected UserRepository createUserRepository() {
+        return new InMemoryUserRepository();
+    }
+}
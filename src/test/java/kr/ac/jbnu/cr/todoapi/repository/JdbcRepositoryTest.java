@@ -0,0 +1,34 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * The repository contract against an embedded H2 database with the production
+ * schema. Batches and pages are tiny so that the tests cross their boundaries.
+ */
+class JdbcRepositoryTest extends RepositoryContractTest {
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .addScript("db/schema.sql")
+            .build();
+
+    @Override
+    protected TodoRepository createTodoRepository() {
+        return new JdbcTodoRepository(database, 2, 3);
+    }
+
+    @Override
+    protected UserRepository createUserRepository() {
+        return new JdbcUserRepository(database);
+    }
+
+    @AfterEach
+    void shutdown() {
+        database.shutdown();
+    }
+}
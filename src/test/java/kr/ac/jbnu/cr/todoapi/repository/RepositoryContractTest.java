@@ -0,0 +1,286 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Behaviour every storage backend must share. Each backend runs it through a
+ * subclass that supplies empty repositories.
+ */
+abstract class RepositoryContractTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+    private static final LocalDateTime NOW = TODAY.atTime(12, 0);
+
+    private TodoRepository todos;
+    private UserRepository users;
+
+    protected abstract TodoRepository createTodoRepository();
+
+    protected abstract UserRepository createUserRepository();
+
+    @BeforeEach
+    void createRepositories() {
+        todos = createTodoRepository();
+        users = createUserRepository();
+    }
+
+    @Test
+    void savesFindsAndReplacesTodos() {
+        Todo todo = todo(1, 10L, false, TODAY);
+        todos.save(todo);
+
+        assertThat(todos.findById(1)).contains(todo);
+        assertThat(todos.existsById(1)).isTrue();
+        assertThat(todos.findById(2)).isEmpty();
+        assertThat(todos.existsById(2)).isFalse();
+
+        Todo renamed = todo.copy();
+        renamed.setTitle("renamed");
+        renamed.setDescription(null);
+        renamed.setDueDate(null);
+        todos.save(renamed);
+
+        assertThat(todos.findById(1)).contains(renamed);
+        assertThat(todos.count()).isEqualTo(1);
+    }
+
+    @Test
+    void updatesFromTheCurrentStateOnly() {
+        todos.save(todo(1, 10L, false, TODAY));
+        List<String> writes = new ArrayList<>();
+        TodoWriteListener listener = new TodoWriteListener() {
+            @Override
+            public void todoSaved(Todo todo) {
+                writes.add("saved " + todo.getId() + " " + todo.isDone());
+            }
+
+            @Override
+            public void todoDeleted(long id) {
+                writes.add("deleted " + id);
+            }
+        };
+
+        Optional<Todo> completed = todos.update(1, current -> {
+            Todo copy = current.copy();
+            copy.setDone(true);
+            return copy;
+        }, listener);
+        assertThat(completed).hasValueSatisfying(todo -> assertThat(todo.isDone()).isTrue());
+        assertThat(todos.findById(1)).isEqualTo(completed);
+
+        // A change made from a completed todo keeps it completed
+        Optional<Todo> renamed = todos.update(1, current -> {
+            Todo copy = current.copy();
+            copy.setTitle("renamed");
+            return copy;
+        }, listener);
+        assertThat(renamed).hasValueSatisfying(todo -> assertThat(todo.isDone()).isTrue());
+
+        assertThat(todos.update(1, current -> null, listener)).isEmpty();
+        assertThat(todos.deleteById(1, listener)).isPresent();
+        // A deleted todo is not brought back
+        assertThat(todos.update(1, Todo::copy, listener)).isEmpty();
+        assertThat(todos.existsById(1)).isFalse();
+
+        assertThat(writes).containsExactly("saved 1 true", "saved 1 true", "deleted 1");
+    }
+
+    @Test
+    void listsAllTodosOrThoseOfOneOwner() {
+        List<Todo> batch = new ArrayList<>();
+        for (long id = 1; id <= 7; id++) {
+            batch.add(todo(id, id % 2 == 0 ? 20L : 10L, false, null));
+        }
+        todos.insertAll(batch);
+
+        assertThat(todos.findAll(null)).containsExactlyInAnyOrderElementsOf(batch);
+        assertThat(todos.findAll(10L)).extracting(Todo::getId).containsExactlyInAnyOrder(1L, 3L, 5L, 7L);
+        assertThat(todos.findAll(30L)).isEmpty();
+        assertThat(todos.findOwners()).containsExactlyInAnyOrder(10L, 20L);
+        assertThat(todos.count()).isEqualTo(7);
+    }
+
+    @Test
+    void findsOpenTodosByDueDate() {
+        todos.saveAll(List.of(
+                todo(1, 10L, false, TODAY.minusDays(2)),
+                todo(2, 10L, false, TODAY.minusDays(1)),
+                todo(3, 10L, true, TODAY.minusDays(1)),
+                todo(4, 10L, false, TODAY),
+                todo(5, 10L, false, null)));
+
+        assertThat(todos.findOpenDueBefore(TODAY)).extracting(Todo::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(todos.findOpenDueOn(TODAY.minusDays(1))).extracting(Todo::getId).containsExactly(2L);
+
+        Todo completed = todos.findById(2).orElseThrow().copy();
+        completed.setDone(true);
+        todos.save(completed);
+        Todo moved = todos.findById(1).orElseThrow().copy();
+        moved.setDueDate(TODAY.plusDays(1));
+        todos.save(moved);
+        todos.deleteById(4);
+
+        assertThat(todos.findOpenDueBefore(TODAY)).isEmpty();
+        assertThat(todos.findOpenDueOn(TODAY.plusDays(1))).extracting(Todo::getId).containsExactly(1L);
+        assertThat(todos.findOpenDueOn(TODAY)).isEmpty();
+    }
+
+    @Test
+    void deletesTodos() {
+        Todo todo = todo(1, 10L, false, TODAY);
+        todos.save(todo);
+
+        assertThat(todos.deleteById(1)).contains(todo);
+        assertThat(todos.deleteById(1)).isEmpty();
+        assertThat(todos.count()).isZero();
+    }
+
+    @Test
+    void deletesCompletedTodosInChunks() {
+        List<Todo> batch = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            batch.add(todo(id, id <= 5 ? 10L : 20L, id % 2 == 0, null));
+        }
+        todos.insertAll(batch);
+
+        assertThat(todos.deleteCompleted(10L, 100)).containsExactlyInAnyOrder(2L, 4L);
+        assertThat(todos.deleteCompleted(null, 2)).hasSize(2);
+        assertThat(todos.deleteCompleted(null, 100)).hasSize(1);
+        assertThat(todos.deleteCompleted(null, 100)).isEmpty();
+        assertThat(todos.findAll(null)).extracting(Todo::getId).containsExactlyInAnyOrder(1L, 3L, 5L, 7L, 9L);
+    }
+
+    @Test
+    void archivesOnlyTodosThatAreStillCompleted() {
+        todos.saveAll(List.of(
+                todo(1, 10L, true, null),
+                todo(2, 10L, true, null),
+                todo(3, 10L, false, null)));
+        Todo recent = todo(4, 10L, true, null);
+        recent.setUpdatedAt(NOW.plusDays(1));
+        todos.save(recent);
+
+        assertThat(todos.findCompletedBefore(NOW.plusHours(1))).extracting(Todo::getId)
+                .containsExactlyInAnyOrder(1L, 2L);
+
+        Todo reopened = todos.findById(2).orElseThrow().copy();
+        reopened.setDone(false);
+        todos.save(reopened);
+
+        assertThat(todos.deleteIfCompleted(1)).isTrue();
+        assertThat(todos.deleteIfCompleted(2)).isFalse();
+        assertThat(todos.deleteIfCompleted(3)).isFalse();
+        assertThat(todos.deleteIfCompleted(99)).isFalse();
+        assertThat(todos.findAll(null)).extracting(Todo::getId).containsExactlyInAnyOrder(2L, 3L, 4L);
+    }
+
+    @Test
+    void handsOverEveryTodoOfOneOwner() {
+        todos.insertAll(List.of(
+                todo(1, 10L, false, TODAY),
+                todo(2, 10L, true, null),
+                todo(3, 20L, false, TODAY)));
+
+        assertThat(todos.deleteByOwner(10L)).extracting(Todo::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(todos.findAll(null)).extracting(Todo::getId).containsExactly(3L);
+        assertThat(todos.findOpenDueOn(TODAY)).extracting(Todo::getId).containsExactly(3L);
+        assertThat(todos.deleteByOwner(10L)).isEmpty();
+    }
+
+    @Test
+    void filtersTodosByTagsAndDone() {
+        todos.insertAll(List.of(
+                tagged(todo(1, 10L, false, null), "work", "urgent"),
+                tagged(todo(2, 10L, true, null), "work"),
+                tagged(todo(3, 20L, false, null), "home", "urgent"),
+                todo(4, 10L, true, null)));
+
+        assertThat(find(null, "work,urgent", "all", null)).containsExactly(1L);
+        assertThat(find(null, "work,urgent", "any", null)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(find(null, " URGENT ", null, null)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(find(null, "work", null, "false")).containsExactly(1L);
+        assertThat(find(null, null, null, "true")).containsExactlyInAnyOrder(2L, 4L);
+        assertThat(find(10L, "urgent", null, null)).containsExactly(1L);
+        assertThat(find(null, "work,unknown", "all", null)).isEmpty();
+        assertThat(find(null, "work,unknown", "any", null)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(find(null, null, null, null)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void keepsTagFiltersInStepWithChanges() {
+        todos.saveAll(List.of(
+                tagged(todo(1, 10L, false, null), "work"),
+                tagged(todo(2, 10L, false, null), "work"),
+                tagged(todo(3, 10L, true, null), "work")));
+
+        Todo retagged = todos.findById(1).orElseThrow().copy();
+        retagged.setTags(List.of("home"));
+        todos.save(retagged);
+        Todo reopened = todos.findById(3).orElseThrow().copy();
+        reopened.setDone(false);
+        todos.save(reopened);
+        todos.deleteById(2);
+
+        assertThat(find(null, "work", null, null)).containsExactly(3L);
+        assertThat(find(null, "home", null, "false")).containsExactly(1L);
+        assertThat(todos.findById(1).orElseThrow().getTags()).containsExactly("home");
+
+        // A new todo may take over the slot of a deleted one
+        todos.save(tagged(todo(5, 10L, true, null), "work"));
+        assertThat(find(null, "work", null, "true")).containsExactly(5L);
+        assertThat(find(null, "work", null, "false")).containsExactly(3L);
+    }
+
+    @Test
+    void claimsUsernamesRegardlessOfCase() {
+        User alice = new User(1L, "Alice", "hash", "alice@example.com");
+
+        assertThat(users.insertIfAbsent(alice)).isTrue();
+        assertThat(users.insertIfAbsent(new User(2L, " alice ", "other", "other@example.com"))).isFalse();
+
+        assertThat(users.findById(1)).contains(alice);
+        assertThat(users.findById(2)).isEmpty();
+        assertThat(users.findByUsername("ALICE")).contains(alice);
+        assertThat(users.findByUsername("bob")).isEmpty();
+    }
+
+    @Test
+    void savesReplicatedUsers() {
+        User bob = new User(3L, "bob", "hash", "bob@example.com");
+        users.save(bob);
+        User updated = new User(3L, "bob", "new-hash", "bob@example.org");
+        users.save(updated);
+
+        assertThat(users.findById(3)).contains(updated);
+        assertThat(users.findByUsername("Bob")).contains(updated);
+        assertThat(users.insertIfAbsent(new User(4L, "BOB", "hash", "b@example.com"))).isFalse();
+    }
+
+    private static Todo todo(long id, Long ownerId, boolean done, LocalDate dueDate) {
+        // Whole microseconds: the precision of a database timestamp
+        LocalDateTime createdAt = NOW.minusDays(id).truncatedTo(ChronoUnit.MICROS);
+        return new Todo(id, "todo " + id, "description " + id, dueDate, done, createdAt, createdAt, ownerId,
+                List.of());
+    }
+
+    private static Todo tagged(Todo todo, String... tags) {
+        todo.setTags(Todo.normalizeTags(List.of(tags)));
+        return todo;
+    }
+
+    private List<Long> find(Long ownerId, String tags, String match, String done) {
+        return todos.findAll(ownerId, TodoFilter.parse(tags, match, done)).stream().map(Todo::getId).toList();
+    }
+}
@@ -0,0 +1,56 @@
+package kr.ac.jbnu.cr.todoapi.repository;
+
+import kr.ac.jbnu.cr.todoapi.exception.InvalidFilterException;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TagIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    private final TagIndex index = new TagIndex();
+
+    @Test
+    void reusesTheOrdinalsOfRemovedTodos() {
+        // Sparse 64-bit ids, as produced by the Snowflake generator
+        for (long i = 0; i < 3_000; i++) {
+            index.add(null, todo((i << 22) + 7, i % 2 == 0, "even" + i % 2, "all"));
+        }
+        for (long i = 0; i < 3_000; i += 2) {
+            index.remove(todo((i << 22) + 7, true, "even0", "all"));
+        }
+        for (long i = 0; i < 1_500; i++) {
+            index.add(null, todo(Long.MAX_VALUE - i, false, "new", "all"));
+        }
+
+        assertThat(index.find(TodoFilter.parse("all", null, null))).hasSize(3_000);
+        assertThat(index.find(TodoFilter.parse("even0", null, null))).isEmpty();
+        assertThat(index.find(TodoFilter.parse("new,even1", "any", "false"))).hasSize(3_000);
+        assertThat(index.find(TodoFilter.parse("new", null, null))).contains(Long.MAX_VALUE);
+        assertThat(index.find(TodoFilter.parse("even1", null, "true"))).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownFilterValues() {
+        assertThat(TodoFilter.parse("Work, ,work,home", "ANY", "False"))
+                .isEqualTo(new TodoFilter(List.of("home", "work"), false, false));
+        assertThat(TodoFilter.parse(null, null, null).isEmpty()).isTrue();
+
+        assertThatThrownBy(() -> TodoFilter.parse("work", "some", null))
+                .isInstanceOf(InvalidFilterException.class)
+                .extracting("parameter").isEqualTo("match");
+        assertThatThrownBy(() -> TodoFilter.parse(null, null, "yes"))
+                .isInstanceOf(InvalidFilterException.class)
+                .extracting("parameter").isEqualTo("done");
+    }
+
+    private static Todo todo(long id, boolean done, String... tags) {
+        return new Todo(id, "todo", null, null, done, NOW, NOW, 1L, Todo.normalizeTags(List.of(tags)));
+    }
+}
@@ -0,0 +1,119 @@
+package kr.ac.jbnu.cr.todoapi.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.ac.jbnu.cr.todoapi.TodoapiApplication;
+import kr.ac.jbnu.cr.todoapi.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that only a request with the operator token and a bounded body
+ * reaches batch registration.
+ */
+class BatchRegistrationTest {
+
+    private static final String OPERATOR_TOKEN = "test-operator-token";
+    private static final String BATCH = "[{\"username\":\"bulk1\",\"password\":\"password123\",\"email\":\"bulk1@example.com\"},"
+            + "{\"username\":\"bulk2\",\"password\":\"password123\",\"email\":\"bulk2@example.com\"}]";
+
+    @TempDir
+    Path dataDir;
+
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void start() {
+        context = new SpringApplicationBuilder(TodoapiApplication.class)
+                .properties("server.port=0",
+                        "auth.operator-token=" + OPERATOR_TOKEN,
+                        "auth.batch.max-bytes=1024",
+                        "todo.archive.dir=" + dataDir)
+                .run();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @AfterEach
+    void stop() {
+        context.close();
+    }
+
+    @Test
+    void refusesBatchesWithoutTheOperatorToken() throws Exception {
+        HttpResponse<String> anonymous = send(null, HttpRequest.BodyPublishers.ofString(BATCH));
+        assertThat(anonymous.statusCode()).isEqualTo(401);
+        assertThat(anonymous.headers().firstValue("Content-Type")).hasValue("application/problem+json");
+
+        assertThat(send("wrong-token", HttpRequest.BodyPublishers.ofString(BATCH)).statusCode()).isEqualTo(401);
+
+        // A user's token is not an operator credential
+        post("/auth/register", "{\"username\":\"someone\",\"password\":\"password123\",\"email\":\"someone@example.com\"}");
+        String jwt = objectMapper.readTree(post("/auth/login",
+                "{\"username\":\"someone\",\"password\":\"password123\"}").body()).path("data").path("token").asText();
+        HttpResponse<String> user = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/register/batch"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + jwt)
+                .POST(HttpRequest.BodyPublishers.ofString(BATCH))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(user.statusCode()).isEqualTo(401);
+
+        assertThat(context.getBean(UserService.class).findByUsername("bulk1")).isEmpty();
+    }
+
+    @Test
+    void refusesBodiesOverTheLimitOrOfUnknownLength() throws Exception {
+        String large = "[" + "{\"username\":\"bulk\",\"password\":\"password123\",\"email\":\"bulk@example.com\"},".repeat(20)
+                + "{}]";
+        HttpResponse<String> tooLarge = send(OPERATOR_TOKEN, HttpRequest.BodyPublishers.ofString(large));
+        assertThat(tooLarge.statusCode()).isEqualTo(413);
+        assertThat(objectMapper.readTree(tooLarge.body()).path("title").asText()).isEqualTo("Payload Too Large");
+
+        // Chunked: the length is only known once the body is read
+        HttpResponse<String> chunked = send(OPERATOR_TOKEN,
+                HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofString(BATCH)));
+        assertThat(chunked.statusCode()).isEqualTo(411);
+    }
+
+    @Test
+    void registersTheBatchOfAnOperator() throws Exception {
+        HttpResponse<String> response = send(OPERATOR_TOKEN, HttpRequest.BodyPublishers.ofString(BATCH));
+        assertThat(response.statusCode()).isEqualTo(201);
+
+        JsonNode data = objectMapper.readTree(response.body()).path("data");
+        assertThat(data.path("created").asInt()).isEqualTo(2);
+        assertThat(context.getBean(UserService.class).findByUsername("BULK2")).isPresent();
+    }
+
+    private HttpResponse<String> send(String operatorToken, HttpRequest.BodyPublisher body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/register/batch"))
+                .header("Content-Type", "application/json")
+                .POST(body);
+        if (operatorToken != null) {
+            builder.header(OperatorToken.HEADER, operatorToken);
+        }
+        return http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,64 @@
+package kr.ac.jbnu.cr.todoapi.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTest {
+
+    private static final long LIFETIME = 60_000;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final TokenRevocationList revocations = new TokenRevocationList(LIFETIME, 1000, 0.01, clock::get);
+
+    @Test
+    void revokesSingleTokensOnly() {
+        revocations.revoke("jti-1", clock.get() + LIFETIME);
+
+        assertThat(revocations.isRevoked("jti-1", 1L, clock.get())).isTrue();
+        assertThat(revocations.isRevoked("jti-2", 1L, clock.get())).isFalse();
+    }
+
+    @Test
+    void revokeAllCoversTokensIssuedBefore() {
+        long issuedBefore = clock.get();
+        clock.addAndGet(1000);
+        revocations.revokeAll(1L);
+
+        assertThat(revocations.isRevoked("a", 1L, issuedBefore)).isTrue();
+        assertThat(revocations.isRevoked("b", 2L, issuedBefore)).isFalse();
+        assertThat(revocations.isRevoked("c", 1L, clock.get())).isFalse();
+    }
+
+    @Test
+    void copiesRevocationsToAnotherInstance() {
+        long issuedBefore = clock.get();
+        clock.addAndGet(1000);
+        revocations.revoke("jti-1", clock.get() + LIFETIME);
+        revocations.revokeAll(1L);
+
+        TokenRevocationList other = new TokenRevocationList(LIFETIME, 1000, 0.01, clock::get);
+        revocations.revocations().forEach(other::apply);
+
+        assertThat(other.isRevoked("jti-1", 2L, clock.get())).isTrue();
+        assertThat(other.isRevoked("a", 1L, issuedBefore)).isTrue();
+        assertThat(other.isRevoked("b", 1L, clock.get())).isFalse();
+        assertThat(other.size()).isEqualTo(2);
+    }
+
+    @Test
+    void survivesOneRotationAndIsForgottenAfterExpiry() {
+        revocations.revoke("jti-1", clock.get() + LIFETIME);
+        revocations.revokeAll(1L);
+
+        clock.addAndGet(LIFETIME / 2);
+        revocations.rotate();
+        assertThat(revocations.isRevoked("jti-1", 2L, clock.get())).isTrue();
+
+        clock.addAndGet(LIFETIME);
+        revocations.rotate();
+        assertThat(revocations.size()).isZero();
+    }
+}
@@ -0,0 +1,139 @@
+package kr.ac.jbnu.cr.todoapi.service;
+
+import kr.ac.jbnu.cr.todoapi.exception.JobNotFoundException;
+import kr.ac.jbnu.cr.todoapi.exception.JobRejectedException;
+import kr.ac.jbnu.cr.todoapi.model.Job;
+import kr.ac.jbnu.cr.todoapi.model.JobStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobServiceTest {
+
+    private static final Long OWNER = 10L;
+
+    private JobService jobService;
+
+    @AfterEach
+    void shutdown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void rejectsJobsBeyondTheQueueCapacity() throws Exception {
+        jobService = new JobService(1, 1, 10, 60_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Job running = jobService.submit("blocking", OWNER, chunkSize -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 0;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Job queued = jobService.submit("queued", OWNER, chunkSize -> 0);
+
+        assertThatThrownBy(() -> jobService.submit("rejected", OWNER, chunkSize -> 0))
+                .isInstanceOf(JobRejectedException.class);
+        assertThat(queued.getStatus()).isEqualTo(JobStatus.PENDING);
+
+        release.countDown();
+        awaitFinished(running);
+        awaitFinished(queued);
+        assertThat(queued.getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+    }
+
+    @Test
+    void runsTheTaskInChunksUntilItReportsZero() throws Exception {
+        jobService = new JobService(1, 4, 10, 60_000);
+        AtomicLong remaining = new AtomicLong(25);
+        List<Integer> chunkSizes = new CopyOnWriteArrayList<>();
+        List<Long> progress = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Job job = jobService.submit("chunked", OWNER, chunkSize -> {
+            release.await(5, TimeUnit.SECONDS);
+            chunkSizes.add(chunkSize);
+            long processed = Math.min(chunkSize, remaining.get());
+            remaining.addAndGet(-processed);
+            return processed;
+        });
+        CountDownLatch finished = new CountDownLatch(1);
+        jobService.watch(job.getId(), OWNER, event -> {
+            progress.add(event.getProcessed());
+            if (event.getStatus().isFinished()) {
+                finished.countDown();
+            }
+        });
+        release.countDown();
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(job.getProcessed()).isEqualTo(25);
+        assertThat(chunkSizes).containsExactly(10, 10, 10, 10);
+        // The current state (pending or running), one event per chunk, then the finished one
+        assertThat(progress).startsWith(0L).endsWith(10L, 20L, 25L, 25L);
+    }
+
+    @Test
+    void reportsTheErrorOfAFailedTask() throws Exception {
+        jobService = new JobService(1, 4, 10, 60_000);
+
+        Job job = jobService.submit("failing", OWNER, chunkSize -> {
+            throw new IllegalStateException("store unavailable");
+        });
+        awaitFinished(job);
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(job.getError()).isEqualTo("store unavailable");
+    }
+
+    @Test
+    void forgetsOnlyFinishedJobsAfterTheRetention() throws Exception {
+        jobService = new JobService(2, 4, 10, 0);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Job finished = jobService.submit("quick", OWNER, chunkSize -> 0);
+        Job running = jobService.submit("slow", OWNER, chunkSize -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 0;
+        });
+        awaitFinished(finished);
+        Thread.sleep(5);
+
+        jobService.evictFinished();
+        assertThat(jobService.findById(finished.getId(), OWNER)).isEmpty();
+        assertThat(jobService.findById(running.getId(), OWNER)).contains(running);
+
+        release.countDown();
+        awaitFinished(running);
+    }
+
+    @Test
+    void jobsAreOnlyVisibleToTheUserWhoSubmittedThem() {
+        jobService = new JobService(1, 4, 10, 60_000);
+
+        Job job = jobService.submit("private", OWNER, chunkSize -> 0);
+
+        assertThat(jobService.findById(job.getId(), OWNER)).contains(job);
+        assertThat(jobService.findById(job.getId(), 11L)).isEmpty();
+        assertThatThrownBy(() -> jobService.watch(job.getId(), 11L, event -> {
+        })).isInstanceOf(JobNotFoundException.class);
+    }
+
+    private static void awaitFinished(Job job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!job.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(job.getStatus().isFinished()).isTrue();
+    }
+}
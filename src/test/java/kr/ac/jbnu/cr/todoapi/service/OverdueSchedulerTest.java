@@ -0,0 +1,99 @@
+package kr.ac.jbnu.cr.todoapi.service;
+
+import kr.ac.jbnu.cr.todoapi.event.TodoOverdueEvent;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.repository.InMemoryTodoRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OverdueSchedulerTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 10, 19);
+
+    private final AtomicReference<LocalDate> today = new AtomicReference<>(START);
+    private final InMemoryTodoRepository repository = new InMemoryTodoRepository();
+    private final List<Long> published = new ArrayList<>();
+    private final OverdueScheduler scheduler = new OverdueScheduler(repository,
+            event -> published.add(((TodoOverdueEvent) event).todo().getId()), "standalone", today::get);
+
+    @Test
+    void publishesTheDayThatJustEnded() {
+        repository.save(todo(1, START, false));
+        repository.save(todo(2, START, true));
+        repository.save(todo(3, START.plusDays(1), false));
+
+        scheduler.publishNewlyOverdue();
+        assertThat(published).isEmpty();
+
+        today.set(START.plusDays(1));
+        scheduler.publishNewlyOverdue();
+        scheduler.publishNewlyOverdue();
+        assertThat(published).containsExactly(1L);
+    }
+
+    @Test
+    void catchesUpMissedDays() {
+        repository.save(todo(1, START, false));
+        repository.save(todo(2, START.plusDays(1), false));
+        repository.save(todo(3, START.plusDays(2), false));
+
+        today.set(START.plusDays(3));
+        scheduler.publishNewlyOverdue();
+
+        assertThat(published).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void publishesWritesIntoSweptDaysOnce() {
+        today.set(START.plusDays(1));
+        scheduler.publishNewlyOverdue();
+
+        Todo created = todo(1, START, false);
+        scheduler.todoWritten(null, created);
+        Todo renamed = created.copy();
+        renamed.setTitle("renamed");
+        scheduler.todoWritten(created, renamed);
+        assertThat(published).containsExactly(1L);
+
+        // Due yesterday but not swept yet: left to the sweep
+        Todo lagging = todo(2, START.plusDays(1), false);
+        today.set(START.plusDays(2));
+        scheduler.todoWritten(null, lagging);
+        assertThat(published).containsExactly(1L);
+
+        Todo done = todo(3, START, true);
+        Todo reopened = todo(3, START, false);
+        scheduler.todoWritten(done, reopened);
+        assertThat(published).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void followersLeaveTheSweepToTheLeader() {
+        OverdueScheduler follower = new OverdueScheduler(repository,
+                event -> published.add(((TodoOverdueEvent) event).todo().getId()), "follower", today::get);
+        repository.save(todo(1, START, false));
+
+        today.set(START.plusDays(1));
+        follower.publishNewlyOverdue();
+        assertThat(published).isEmpty();
+    }
+
+    private static Todo todo(long id, LocalDate dueDate, boolean done) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle("Todo " + id);
+        todo.setDueDate(dueDate);
+        todo.setDone(done);
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setUpdatedAt(LocalDateTime.now());
+        todo.setOwnerId(10L);
+        return todo;
+    }
+}
@@ -0,0 +1,206 @@
+package kr.ac.jbnu.cr.todoapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.ac.jbnu.cr.todoapi.dto.request.CreateTodoRequest;
+import kr.ac.jbnu.cr.todoapi.dto.request.UpdateTodoRequest;
+import kr.ac.jbnu.cr.todoapi.model.Todo;
+import kr.ac.jbnu.cr.todoapi.replication.MutationLog;
+import kr.ac.jbnu.cr.todoapi.repository.InMemoryTodoRepository;
+import kr.ac.jbnu.cr.todoapi.repository.TodoWriteListener;
+import kr.ac.jbnu.cr.todoapi.util.SnowflakeIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoArchiveTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void removedTodosStayRemovedAfterRestart() throws IOException {
+        TodoArchive archive = new TodoArchive(dir.toString(), objectMapper);
+        archive.append(List.of(todo(1, 10), todo(2, 10)));
+
+        assertThat(archive.remove(1L)).isTrue();
+        assertThat(archive.remove(1L)).isFalse();
+
+        TodoArchive reloaded = new TodoArchive(dir.toString(), objectMapper);
+        assertThat(reloaded.contains(1L)).isFalse();
+        assertThat(reloaded.findById(1L)).isEmpty();
+        assertThat(ids(reloaded)).containsExactly(2L);
+    }
+
+    @Test
+    void deletesEmptySegmentsWithoutReusingTheirNumber() throws IOException {
+        TodoArchive archive = new TodoArchive(dir.toString(), objectMapper);
+        archive.append(List.of(todo(1, 10)));
+        archive.append(List.of(todo(2, 10)));
+
+        archive.remove(2L);
+        assertThat(dir.resolve("segment-000002.jsonl.gz")).doesNotExist();
+
+        // Archived again after a restart: the old tombstone must not hide it
+        new TodoArchive(dir.toString(), objectMapper).append(List.of(todo(2, 10)));
+        assertThat(dir.resolve("segment-000003.jsonl.gz")).exists();
+
+        TodoArchive reloaded = new TodoArchive(dir.toString(), objectMapper);
+        assertThat(reloaded.contains(2L)).isTrue();
+        assertThat(ids(reloaded)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void todoReopenedDuringArchivalDoesNotResurface() throws IOException {
+        InMemoryTodoRepository repository = new InMemoryTodoRepository();
+        TodoArchive archive = new TodoArchive(dir.toString(), objectMapper) {
+            @Override
+            public void append(List<Todo> todos) throws IOException {
+                super.append(todos);
+                for (Todo todo : todos) {
+                    repository.update(todo.getId(), existing -> {
+                        Todo reopened = existing.copy();
+                        reopened.setDone(false);
+                        return reopened;
+                    }, TodoWriteListener.NONE);
+                }
+            }
+        };
+        TodoService service = service(repository, archive);
+        Todo todo = service.create(create("Reopened"), 10L);
+        service.complete(todo.getId());
+
+        assertThat(service.archiveCompletedBefore(LocalDateTime.now().plusMinutes(1))).isZero();
+        assertThat(archive.contains(todo.getId())).isFalse();
+
+        service.delete(todo.getId());
+        assertThat(service.findById(todo.getId())).isEmpty();
+        assertThat(service.findAll(true, null)).isEmpty();
+    }
+
+    @Test
+    void archivedTodosCanBeChangedAndDeleted() throws IOException {
+        TodoArchive archive = new TodoArchive(dir.toString(), objectMapper);
+        TodoService service = service(new InMemoryTodoRepository(), archive);
+        Todo edited = service.create(create("Edited"), 10L);
+        Todo deleted = service.create(create("Deleted"), 10L);
+        service.complete(edited.getId());
+        service.complete(deleted.getId());
+        service.archiveCompletedBefore(LocalDateTime.now().plusMinutes(1));
+
+        assertThat(service.isActive(edited.getId())).isFalse();
+        assertThat(service.existsById(edited.getId(), 10L)).isTrue();
+        assertThat(service.existsById(edited.getId(), 11L)).isFalse();
+        // Already completed
+        assertThat(service.complete(edited.getId())).isEmpty();
+
+        UpdateTodoRequest update = new UpdateTodoRequest();
+        update.setTitle("Edited again");
+        update.setDone(false);
+        assertThat(service.update(edited.getId(), update)).map(Todo::getTitle).contains("Edited again");
+        assertThat(service.isActive(edited.getId())).isTrue();
+        assertThat(archive.contains(edited.getId())).isFalse();
+
+        assertThat(service.delete(deleted.getId())).isTrue();
+        assertThat(service.existsById(deleted.getId())).isFalse();
+        assertThat(service.delete(deleted.getId())).isFalse();
+    }
+
+    @Test
+    void deleteCompletedPurgesArchivedTodos() throws IOException {
+        TodoArchive archive = new TodoArchive(dir.toString(), objectMapper);
+        TodoService service = service(new InMemoryTodoRepository(), archive);
+        for (long owner : new long[]{10, 10, 11}) {
+            Todo todo = service.create(create("Done"), owner);
+            service.complete(todo.getId());
+        }
+        service.archiveCompletedBefore(LocalDateTime.now().plusMinutes(1));
+        Todo active = service.create(create("Done, not archived"), 10L);
+        service.complete(active.getId());
+
+        assertThat(service.deleteCompleted(10L)).isEqualTo(3);
+        assertThat(service.findAll(true, null)).extracting(Todo::getOwnerId).containsExactly(11L);
+        assertThat(archive.count()).isEqualTo(1);
+    }
+
+    @Test
+    void replicatedDeletesReachLocallyArchivedTodos() throws IOException {
+        TodoArchive archive = new TodoArchive(dir.toString(), objectMapper);
+        TodoService service = service(new InMemoryTodoRepository(), archive);
+        Todo deleted = service.create(create("Deleted on the leader"), 10L);
+        Todo kept = service.create(create("Still archived on the leader"), 10L);
+        Todo gone = service.create(create("Gone from the leader"), 10L);
+        for (Todo todo : List.of(deleted, kept, gone)) {
+            service.complete(todo.getId());
+        }
+        service.archiveCompletedBefore(LocalDateTime.now().plusMinutes(1));
+
+        service.applyReplicatedDelete(deleted.getId());
+        assertThat(service.findById(deleted.getId())).isEmpty();
+
+        // The snapshot lists what the leader archived: other archived copies are stale
+        Todo active = todo(4, 11);
+        service.applyReplicatedSnapshot(List.of(active), List.of(kept.getId()));
+        assertThat(archive.ids()).containsExactly(kept.getId());
+        assertThat(service.findAll(true, null)).extracting(Todo::getId).containsExactly(4L, kept.getId());
+    }
+
+    @Test
+    void archivedTodosMoveWithTheirOwner() throws IOException {
+        TodoArchive archive = new TodoArchive(dir.toString(), objectMapper);
+        TodoService service = service(new InMemoryTodoRepository(), archive);
+        Todo archived = service.create(create("Archived"), 10L);
+        service.complete(archived.getId());
+        service.create(create("Other owner"), 11L);
+        service.archiveCompletedBefore(LocalDateTime.now().plusMinutes(1));
+        Todo active = service.create(create("Active"), 10L);
+
+        assertThat(service.findOwners()).containsExactlyInAnyOrder(10L, 11L);
+        assertThat(service.takeOwnedBy(10L)).extracting(Todo::getId)
+                .containsExactlyInAnyOrder(archived.getId(), active.getId());
+        assertThat(archive.count()).isZero();
+        assertThat(service.findOwners()).containsExactly(11L);
+
+        // Reloaded from disk, the owner index is rebuilt from the segments
+        new TodoArchive(dir.toString(), objectMapper).append(List.of(todo(5, 12)));
+        assertThat(new TodoArchive(dir.toString(), objectMapper).removeOwnedBy(12L))
+                .extracting(Todo::getId).containsExactly(5L);
+    }
+
+    private TodoService service(InMemoryTodoRepository repository, TodoArchive archive) {
+        return new TodoService(repository, archive, new MutationLog("standalone", 1),
+                new OverdueScheduler(repository, event -> {
+                }, "standalone"), new SnowflakeIdGenerator(0, 1000));
+    }
+
+    private static List<Long> ids(TodoArchive archive) {
+        List<Long> ids = new ArrayList<>();
+        archive.forEach(todo -> ids.add(todo.getId()));
+        return ids;
+    }
+
+    private static CreateTodoRequest create(String title) {
+        CreateTodoRequest request = new CreateTodoRequest();
+        request.setTitle(title);
+        return request;
+    }
+
+    private static Todo todo(long id, long ownerId) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle("Todo " + id);
+        todo.setDone(true);
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setUpdatedAt(LocalDateTime.now());
+        todo.setOwnerId(ownerId);
+        return todo;
+    }
+}
@@ -0,0 +1,186 @@
+package kr.ac.jbnu.cr.todoapi.sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.ac.jbnu.cr.todoapi.TodoapiApplication;
+import kr.ac.jbnu.cr.todoapi.security.TokenRevocationList;
+import kr.ac.jbnu.cr.todoapi.service.TodoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs a two-node cluster on localhost, adds a third node under traffic and
+ * checks that every user still sees exactly their todos.
+ */
+class ShardingTest {
+
+    private static final String TOKEN = "test-cluster-token";
+    private static final int USERS = 20;
+
+    @TempDir
+    Path dataDir;
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void usersKeepTheirTodosWhenANodeJoins() throws Exception {
+        int[] ports = {freePort(), freePort(), freePort()};
+        String members = "node1=" + url(ports[0]) + ",node2=" + url(ports[1]);
+        ConfigurableApplicationContext node1 = start("node1", 0, ports[0], members);
+        ConfigurableApplicationContext node2 = start("node2", 1, ports[1], members);
+
+        // Accounts go through node2 to the account node, todos to each user's node
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String username = "shard" + i;
+            send("POST", url(ports[1]) + "/auth/register", null,
+                    "{\"username\":\"" + username + "\",\"password\":\"password123\",\"email\":\"" + username + "@example.com\"}");
+            HttpResponse<String> login = send("POST", url(ports[1]) + "/auth/login", null,
+                    "{\"username\":\"" + username + "\",\"password\":\"password123\"}");
+            String jwt = objectMapper.readTree(login.body()).path("data").path("token").asText();
+            tokens.add(jwt);
+            HttpResponse<String> created = send("POST", url(ports[i % 2]) + "/todos", jwt,
+                    "{\"title\":\"todo of " + username + "\"}");
+            assertThat(created.statusCode()).isEqualTo(201);
+        }
+        assertThat(todoCount(node1) + todoCount(node2)).isEqualTo(USERS);
+
+        ConfigurableApplicationContext node3 = start("node3", 2, ports[2], members);
+        HttpResponse<String> joined = http.send(HttpRequest.newBuilder(URI.create(url(ports[0]) + "/cluster/nodes"))
+                .header(ClusterClient.TOKEN_HEADER, TOKEN)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"id\":\"node3\",\"url\":\"" + url(ports[2]) + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(joined.statusCode()).isEqualTo(200);
+
+        // Reads during and after the rebalance, through the new node
+        for (int i = 0; i < USERS; i++) {
+            JsonNode todos = objectMapper.readTree(send("GET", url(ports[2]) + "/todos", tokens.get(i), null).body())
+                    .path("data");
+            assertThat(todos).hasSize(1);
+            assertThat(todos.get(0).path("title").asText()).isEqualTo("todo of shard" + i);
+        }
+
+        ShardManager manager = node1.getBean(ShardManager.class);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (manager.isRebalancing() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(manager.isRebalancing()).isFalse();
+        assertThat(todoCount(node3)).isPositive();
+        assertThat(todoCount(node1) + todoCount(node2) + todoCount(node3)).isEqualTo(USERS);
+    }
+
+    @Test
+    void logoutIsEnforcedOnEveryNode() throws Exception {
+        int[] ports = {freePort(), freePort()};
+        String members = "node1=" + url(ports[0]) + ",node2=" + url(ports[1]);
+        List<ConfigurableApplicationContext> cluster = List.of(
+                start("node1", 0, ports[0], members), start("node2", 1, ports[1], members));
+
+        send("POST", url(ports[1]) + "/auth/register", null,
+                "{\"username\":\"leaving\",\"password\":\"password123\",\"email\":\"leaving@example.com\"}");
+        HttpResponse<String> login = send("POST", url(ports[1]) + "/auth/login", null,
+                "{\"username\":\"leaving\",\"password\":\"password123\"}");
+        String jwt = objectMapper.readTree(login.body()).path("data").path("token").asText();
+        assertThat(send("POST", url(ports[1]) + "/auth/logout", jwt, null).statusCode()).isEqualTo(204);
+
+        // Handled by the account node, then sent to the other one
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (cluster.stream().anyMatch(node -> node.getBean(TokenRevocationList.class).size() == 0)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        for (int port : ports) {
+            assertThat(send("GET", url(port) + "/auth/me", jwt, null).statusCode()).isEqualTo(401);
+        }
+    }
+
+    @Test
+    void failedJoinLeavesTheClusterOnItsRing() throws Exception {
+        int[] ports = {freePort(), freePort(), freePort()};
+        String members = "node1=" + url(ports[0]) + ",node2=" + url(ports[1]);
+        ConfigurableApplicationContext node1 = start("node1", 0, ports[0], members);
+        ConfigurableApplicationContext node2 = start("node2", 1, ports[1], members);
+
+        HttpResponse<String> unauthorized = send("GET", url(ports[0]) + "/cluster/ring", null, null);
+        assertThat(unauthorized.statusCode()).isEqualTo(401);
+
+        // node3 is not running: node1 and node2 switch rings, then go back
+        HttpResponse<String> joined = http.send(HttpRequest.newBuilder(URI.create(url(ports[0]) + "/cluster/nodes"))
+                .header(ClusterClient.TOKEN_HEADER, TOKEN)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"id\":\"node3\",\"url\":\"" + url(ports[2]) + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(joined.statusCode()).isEqualTo(502);
+
+        for (ConfigurableApplicationContext node : List.of(node1, node2)) {
+            ShardManager manager = node.getBean(ShardManager.class);
+            assertThat(manager.isRebalancing()).isFalse();
+            assertThat(manager.getNodes()).extracting(ShardNode::id).containsExactly("node1", "node2");
+        }
+    }
+
+    private ConfigurableApplicationContext start(String id, int index, int port, String members) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoapiApplication.class)
+                .properties("server.port=" + port,
+                        "sharding.enabled=true",
+                        "sharding.node-id=" + id,
+                        "ids.node-id=" + index,
+                        "sharding.nodes=" + members,
+                        "sharding.token=" + TOKEN,
+                        "ratelimit.auth.capacity=1000",
+                        "todo.archive.dir=" + dataDir.resolve(id))
+                .run();
+        nodes.add(context);
+        return context;
+    }
+
+    private long todoCount(ConfigurableApplicationContext node) {
+        return node.getBean(TodoService.class).count();
+    }
+
+    private HttpResponse<String> send(String method, String url, String jwt, String body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (jwt != null) {
+            builder.header("Authorization", "Bearer " + jwt);
+        }
+        return http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String url(int port) {
+        return "http://localhost:" + port;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package kr.ac.jbnu.cr.todoapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CpuPermitsTest {
+
+    @Test
+    void neverRunsMoreThanItsSizeAtOnce() throws Exception {
+        CpuPermits permits = new CpuPermits("test", 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                threads.submit(() -> permits.call(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return running.decrementAndGet();
+                }));
+            }
+        }
+
+        assertThat(peak.get()).isEqualTo(2);
+        assertThat(permits.getInUse()).isZero();
+    }
+
+    @Test
+    void reportsWaitingThreads() throws Exception {
+        CpuPermits permits = new CpuPermits("test", 1);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            threads.submit(() -> permits.call(() -> {
+                entered.countDown();
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            threads.submit(() -> permits.call(() -> true));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (permits.getWaiting() == 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertThat(permits.getInUse()).isEqualTo(1);
+            assertThat(permits.getWaiting()).isEqualTo(1);
+            release.countDown();
+        }
+
+        assertThat(permits.getWaiting()).isZero();
+    }
+
+    @Test
+    void defaultsToOnePermitPerCpu() {
+        assertThat(new CpuPermits("test", 0).getSize()).isEqualTo(Runtime.getRuntime().availableProcessors());
+    }
+}
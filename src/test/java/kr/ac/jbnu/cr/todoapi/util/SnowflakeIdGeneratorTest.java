@@ -0,0 +1,71 @@
+package kr.ac.jbnu.cr.todoapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long START = SnowflakeIdGenerator.EPOCH_MILLIS + 1_000_000;
+
+    @Test
+    void idsIncreaseAndCarryTheirTimestamp() {
+        AtomicLong clock = new AtomicLong(START);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, 1000, clock::get);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+        clock.addAndGet(3);
+        long third = generator.nextId();
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(third).isGreaterThan(second);
+        assertThat(SnowflakeIdGenerator.timestampOf(first)).isEqualTo(START);
+        assertThat(SnowflakeIdGenerator.timestampOf(third)).isEqualTo(START + 3);
+    }
+
+    @Test
+    void nodesNeverCollide() {
+        AtomicLong clock = new AtomicLong(START);
+        SnowflakeIdGenerator nodeA = new SnowflakeIdGenerator(1, 1000, clock::get);
+        SnowflakeIdGenerator nodeB = new SnowflakeIdGenerator(2, 1000, clock::get);
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(ids.add(nodeA.nextId())).isTrue();
+            assertThat(ids.add(nodeB.nextId())).isTrue();
+        }
+    }
+
+    @Test
+    void staysMonotonicWhenTheClockGoesBack() {
+        AtomicLong clock = new AtomicLong(START);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, 1000, clock::get);
+
+        long before = generator.nextId();
+        clock.addAndGet(-500);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    void reservedBlockMatchesSequentialIds() {
+        AtomicLong clock = new AtomicLong(START);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, 1000, clock::get);
+
+        // Larger than one millisecond worth of sequence numbers
+        SnowflakeIdGenerator.Block block = generator.reserveBlock(5000);
+        long previous = Long.MIN_VALUE;
+        for (int i = 0; i < block.size(); i++) {
+            long id = block.next();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        assertThat(generator.nextId()).isGreaterThan(previous);
+    }
+}
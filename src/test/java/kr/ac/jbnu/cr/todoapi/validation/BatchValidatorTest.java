@@ -0,0 +1,61 @@
+package kr.ac.jbnu.cr.todoapi.validation;
+
+import kr.ac.jbnu.cr.todoapi.dto.request.CreateTodoRequest;
+import kr.ac.jbnu.cr.todoapi.exception.InvalidBatchItemException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class BatchValidatorTest {
+
+    private final BatchValidator validator = new BatchValidator();
+
+    @AfterEach
+    void close() {
+        validator.close();
+    }
+
+    @Test
+    void rejectsTheBatchAtItsFirstInvalidItem() {
+        List<CreateTodoRequest> batch = List.of(todo("valid"), todo(""), todo(null));
+
+        assertThatThrownBy(() -> validator.requireValid(batch))
+                .isInstanceOfSatisfying(InvalidBatchItemException.class, e -> {
+                    assertThat(e.getIndex()).isEqualTo(1);
+                    assertThat(e.getIndexedErrors()).containsOnlyKeys("[1].title");
+                });
+
+        validator.requireValid(List.of(todo("one"), todo("two")));
+    }
+
+    @Test
+    void reportsEveryInvalidItemByIndex() {
+        CreateTodoRequest badTag = todo("tagged");
+        badTag.setTags(List.of("ok", "not a tag"));
+        CreateTodoRequest twoErrors = todo(" ");
+        twoErrors.setDescription("x".repeat(501));
+
+        Map<Integer, Map<String, String>> invalid = validator.validateAll(
+                Arrays.asList(todo("valid"), badTag, null, twoErrors, todo("valid too")));
+
+        assertThat(invalid).containsOnlyKeys(1, 2, 3);
+        assertThat(invalid.get(1)).containsOnlyKeys("tags[1]");
+        assertThat(invalid.get(2)).containsExactly(entry("", "Item must not be null"));
+        // Fail fast: one violation per item
+        assertThat(invalid.get(3)).hasSize(1);
+        assertThat(validator.validateAll(List.of(todo("valid")))).isEmpty();
+    }
+
+    private static CreateTodoRequest todo(String title) {
+        CreateTodoRequest request = new CreateTodoRequest();
+        request.setTitle(title);
+        return request;
+    }
+}